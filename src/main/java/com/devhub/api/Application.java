@@ -4,8 +4,10 @@ import io.swagger.v3.oas.annotations.OpenAPIDefinition;
 import io.swagger.v3.oas.annotations.info.Info;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication(scanBasePackages = "com.devhub.api")
+@EnableScheduling
 @OpenAPIDefinition(info = @Info(title = "API DevHub", version = "1", description = "API desenvolvido para requisiçoes de dados de freelancers e contratantes"))
 public class Application {
 
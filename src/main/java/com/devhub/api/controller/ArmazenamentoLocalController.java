@@ -0,0 +1,40 @@
+package com.devhub.api.controller;
+
+import com.devhub.api.infra.armazenamento.ObjectStoreLocal;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+// Faz o papel do S3 para as URLs de envio do ObjectStoreLocal
+@RestController
+@RequestMapping(value = "/armazenamento")
+@Profile("local")
+public class ArmazenamentoLocalController {
+
+    @Autowired
+    private ObjectStoreLocal objectStore;
+
+    @Value("${api.foto.envio.maximo-bytes:10485760}")
+    private int maximoBytes;
+
+    @PutMapping(value = "/**")
+    public ResponseEntity<Void> receber(@RequestParam long expira, @RequestParam String assinatura,
+                                       HttpServletRequest request) throws IOException {
+        String chave = request.getRequestURI().substring((request.getContextPath() + "/armazenamento/").length());
+        if (!objectStore.assinaturaValida(chave, expira, assinatura)) {
+            return ResponseEntity.status(403).build();
+        }
+        byte[] conteudo = request.getInputStream().readNBytes(maximoBytes + 1);
+        if (conteudo.length > maximoBytes) {
+            return ResponseEntity.status(413).build();
+        }
+        objectStore.gravar(chave, conteudo, request.getHeader(HttpHeaders.CONTENT_TYPE));
+        return ResponseEntity.ok().build();
+    }
+}
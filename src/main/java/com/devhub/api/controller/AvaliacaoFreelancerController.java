@@ -1,6 +1,7 @@
 package com.devhub.api.controller;
 
 import com.devhub.api.domain.avaliacao_freelancer.dto.CreateAvaliacaoDTO;
+import com.devhub.api.domain.avaliacao_freelancer.dto.ResumoAvaliacaoDTO;
 import com.devhub.api.service.AvaliacaoFreelancerService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -25,4 +26,9 @@ public class AvaliacaoFreelancerController {
         return ResponseEntity.created(uri).body(avaliacao);
     }
 
+    @GetMapping("/{idFreelancer}")
+    public ResponseEntity<ResumoAvaliacaoDTO> resumoAvaliacoes(@PathVariable Long idFreelancer) {
+        return ResponseEntity.ok(service.buscarResumo(idFreelancer));
+    }
+
 }
@@ -7,7 +7,16 @@ import com.devhub.api.domain.contratante.dto.ListContratanteDTO;
 import com.devhub.api.domain.contratante.dto.UpdateContratanteDTO;
 import com.devhub.api.domain.freelancer.dto.PerfilFreelancerDTO;
 import com.devhub.api.service.ContratanteService;
-import com.devhub.api.service.EmailService;
+import com.devhub.api.domain.importacao.FormatoImportacao;
+import com.devhub.api.domain.importacao.RelatorioImportacaoDTO;
+import com.devhub.api.domain.usuario.ConclusaoEnvioFotoDTO;
+import com.devhub.api.domain.usuario.EnvioFotoDTO;
+import com.devhub.api.domain.usuario.UserRole;
+import com.devhub.api.domain.usuario.VarianteFoto;
+import com.devhub.api.infra.security.UsuarioAutenticado;
+import com.devhub.api.service.EnvioOriginalService;
+import com.devhub.api.service.FotoUsuarioService;
+import com.devhub.api.service.ImportacaoUsuarioService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -18,16 +27,20 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -40,7 +53,13 @@ public class ContratanteController {
     private ContratanteService service;
 
     @Autowired
-    private EmailService emailService;
+    private FotoUsuarioService fotoService;
+
+    @Autowired
+    private EnvioOriginalService envioOriginalService;
+
+    @Autowired
+    private ImportacaoUsuarioService importacaoService;
 
     @Operation(summary = "Realiza a criação do Contratante", method = "POST")
     @ApiResponses(value = {
@@ -52,21 +71,20 @@ public class ContratanteController {
     @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity createContratante(@Valid @RequestBody CreateContratanteDTO data, UriComponentsBuilder uriBuilder) {
         var contratante = service.cadastrarContratante(data);
-        enviarEmailAssincrono(data);
         var uri = uriBuilder.path("/contratantes/{id}").buildAndExpand(contratante.getId()).toUri();
         return ResponseEntity.created(uri).body(new DetailContratanteDTO(contratante));
     }
 
-    @Async
-    public void enviarEmailAssincrono(CreateContratanteDTO data) {
-        String mensagem = "Olá " + data.nome() + ",\n\n" +
-                "Seja muito bem-vindo à plataforma DevHub!\n\n" +
-                "Estamos muito felizes em tê-lo conosco e gostaríamos de confirmar o seu cadastro em nossa plataforma.\n\n" +
-                "Se você tiver alguma dúvida ou precisar de assistência, não hesite em entrar em contato conosco.\n\n" +
-                "Esperamos que você aproveite ao máximo a sua experiência na DevHub!\n\n" +
-                "Atenciosamente,\n" +
-                "Equipe DevHub";
-        emailService.enviarEmailTexto(data.email(), "Seja bem vindo a DevHub", mensagem);
+    @Operation(summary = "Importa contratantes em massa a partir de CSV ou NDJSON", method = "POST")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Relatório com o resultado de cada linha"),
+            @ApiResponse(responseCode = "415", description = "Formato diferente de text/csv ou application/x-ndjson"),
+    })
+    @PostMapping(value = "/importacao", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<RelatorioImportacaoDTO> importar(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                          InputStream corpo) throws IOException {
+        var formato = FormatoImportacao.doContentType(contentType);
+        return ResponseEntity.ok(importacaoService.importarContratantes(corpo, formato));
     }
 
     @Operation(summary = "Realiza a listagenm dos Contratantes", method = "GET")
@@ -135,8 +153,26 @@ public class ContratanteController {
         return ResponseEntity.status(service.atualizarFoto(novaFoto, codigo)).build();
     }
 
+    @PostMapping(value = "/foto/{codigo}/envio")
+    public ResponseEntity<EnvioFotoDTO> iniciarEnvioFoto(@PathVariable Long codigo,
+                                                         @AuthenticationPrincipal UsuarioAutenticado usuario) {
+        return ResponseEntity.ok(envioOriginalService.iniciarEnvio(usuario, UserRole.CONTRATANTE, codigo));
+    }
+
+    @PostMapping(value = "/foto/{codigo}/envio/concluido", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Void> concluirEnvioFoto(@PathVariable Long codigo,
+                                                  @Valid @RequestBody ConclusaoEnvioFotoDTO dados,
+                                                  @AuthenticationPrincipal UsuarioAutenticado usuario) {
+        envioOriginalService.concluirEnvio(usuario, UserRole.CONTRATANTE, codigo, dados);
+        return ResponseEntity.accepted().build();
+    }
+
     @GetMapping(value = "/foto/{codigo}")
-    public ResponseEntity<byte[]> getFoto(@PathVariable int codigo) {
-        return ResponseEntity.status(200).body(service.getFoto(codigo));
+    public ResponseEntity<StreamingResponseBody> getFoto(@PathVariable Long codigo,
+                                                         @RequestParam(required = false) Integer tamanho,
+                                                         @RequestParam(name = "v", required = false) String versao,
+                                                         WebRequest request) {
+        return fotoService.responder(UserRole.CONTRATANTE, codigo, VarianteFoto.paraTamanho(tamanho), versao, request);
     }
+
 }
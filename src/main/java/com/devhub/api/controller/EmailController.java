@@ -0,0 +1,36 @@
+package com.devhub.api.controller;
+
+import com.devhub.api.domain.email.MetricasEmailDTO;
+import com.devhub.api.infra.email.DespachanteEmails;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+@RestController
+@RequestMapping("/emails")
+public class EmailController {
+
+    @Autowired
+    private DespachanteEmails despachante;
+
+    // Métrica operacional: só para quem tem a chave de operação; sem chave configurada fica fechada
+    @Value("${api.operacao.chave:}")
+    private String chaveOperacao;
+
+    @GetMapping("/metricas")
+    public ResponseEntity<MetricasEmailDTO> metricas(@RequestHeader(name = "X-Chave-Operacao", required = false) String chave) {
+        if (chaveOperacao.isBlank() || chave == null || !MessageDigest.isEqual(
+                chaveOperacao.getBytes(StandardCharsets.UTF_8), chave.getBytes(StandardCharsets.UTF_8))) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(despachante.metricas());
+    }
+}
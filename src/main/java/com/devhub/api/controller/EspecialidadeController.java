@@ -1,15 +1,16 @@
 package com.devhub.api.controller;
 
-import com.devhub.api.domain.especialidade.EspecialidadesEnum;
 import com.devhub.api.service.EspecialidadeService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.Arrays;
+import java.time.Duration;
 import java.util.List;
 
 @RestController
@@ -20,8 +21,14 @@ public class EspecialidadeController {
     private EspecialidadeService service;
 
     @GetMapping("/filtrar")
-    public ResponseEntity<List<String>> filtrarPalavras(@RequestParam String termoPesquisa) {
+    public ResponseEntity<List<String>> filtrarPalavras(@RequestParam String termoPesquisa, WebRequest request) {
+        // o dicionário só muda com um novo deploy, então a versão dele serve de ETag para qualquer termo
+        var cache = CacheControl.maxAge(Duration.ofDays(1)).cachePublic();
+        var versao = service.getVersaoDicionario();
+        if (request.checkNotModified(versao)) {
+            return ResponseEntity.status(304).cacheControl(cache).eTag(versao).build();
+        }
         var especialidades = service.pesquisarEspecialidades(termoPesquisa);
-        return ResponseEntity.status(200).body(especialidades);
+        return ResponseEntity.status(200).cacheControl(cache).eTag(versao).body(especialidades);
     }
-}
\ No newline at end of file
+}
@@ -3,7 +3,18 @@ package com.devhub.api.controller;
 import com.devhub.api.domain.especialidade.EspecialidadeDTO;
 import com.devhub.api.domain.freelancer.*;
 import com.devhub.api.domain.freelancer.dto.*;
-import com.devhub.api.service.EmailService;
+import com.devhub.api.domain.paginacao.PaginaCursorDTO;
+import com.devhub.api.domain.importacao.FormatoImportacao;
+import com.devhub.api.domain.importacao.RelatorioImportacaoDTO;
+import com.devhub.api.domain.usuario.ConclusaoEnvioFotoDTO;
+import com.devhub.api.domain.usuario.EnvioFotoDTO;
+import com.devhub.api.domain.usuario.UserRole;
+import com.devhub.api.domain.usuario.VarianteFoto;
+import com.devhub.api.infra.busca.MetricaSimilaridade;
+import com.devhub.api.infra.security.UsuarioAutenticado;
+import com.devhub.api.service.EnvioOriginalService;
+import com.devhub.api.service.FotoUsuarioService;
+import com.devhub.api.service.ImportacaoUsuarioService;
 import com.devhub.api.service.FreelancerService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -16,15 +27,19 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Arrays;
 import java.util.List;
 
@@ -38,7 +53,13 @@ public class FreelancerController {
     private FreelancerService service;
 
     @Autowired
-    private EmailService emailService;
+    private FotoUsuarioService fotoService;
+
+    @Autowired
+    private EnvioOriginalService envioOriginalService;
+
+    @Autowired
+    private ImportacaoUsuarioService importacaoService;
 
     @Operation(summary = "Realiza a criação do Freelancer", method = "POST")
     @ApiResponses(value = {
@@ -50,21 +71,20 @@ public class FreelancerController {
     @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity createFreelancer(@Valid @RequestBody CreateFreelancerDTO data, UriComponentsBuilder uriBuilder) {
         var freelancer = service.cadastrarFreelancer(data);
-        enviarEmailAssincrono(data);
         var uri = uriBuilder.path("/freelancers/{id}").buildAndExpand(freelancer.getId()).toUri();
         return ResponseEntity.created(uri).body(new DetailFreelancerDTO(freelancer));
     }
 
-    @Async
-    public void enviarEmailAssincrono(CreateFreelancerDTO data) {
-        String mensagem = "Olá " + data.nome() + ",\n\n" +
-                "Seja muito bem-vindo à plataforma DevHub!\n\n" +
-                "Estamos muito felizes em tê-lo conosco e gostaríamos de confirmar o seu cadastro em nossa plataforma.\n\n" +
-                "Se você tiver alguma dúvida ou precisar de assistência, não hesite em entrar em contato conosco.\n\n" +
-                "Esperamos que você aproveite ao máximo a sua experiência na DevHub!\n\n" +
-                "Atenciosamente,\n" +
-                "Equipe DevHub";
-        emailService.enviarEmailTexto(data.email(), "Seja bem vindo a DevHub", mensagem);
+    @Operation(summary = "Importa freelancers em massa a partir de CSV ou NDJSON", method = "POST")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Relatório com o resultado de cada linha"),
+            @ApiResponse(responseCode = "415", description = "Formato diferente de text/csv ou application/x-ndjson"),
+    })
+    @PostMapping(value = "/importacao", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<RelatorioImportacaoDTO> importar(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                          InputStream corpo) throws IOException {
+        var formato = FormatoImportacao.doContentType(contentType);
+        return ResponseEntity.ok(importacaoService.importarFreelancers(corpo, formato));
     }
 
     @PostMapping("/{id}/especialidades")
@@ -81,8 +101,9 @@ public class FreelancerController {
             @ApiResponse(responseCode = "500", description = "Erro ao realizar a listagem dos Freelancers"),
     })
     @GetMapping
-    public ResponseEntity<List<ListaFreelancerDTO>> listar() {
-        var page = service.getFreelancers();
+    public ResponseEntity<PaginaCursorDTO<ListaFreelancerDTO>> listar(@RequestParam(required = false) Long cursor,
+                                                                    @RequestParam(required = false) Integer tamanho) {
+        var page = service.getFreelancers(cursor, tamanho);
         return ResponseEntity.ok(page);
     }
 
@@ -143,8 +164,11 @@ public class FreelancerController {
 //    }
 
     @GetMapping(value = "/foto/{codigo}")
-    public ResponseEntity<byte[]> getFoto(@PathVariable int codigo) {
-        return ResponseEntity.status(200).body(service.getFoto(codigo));
+    public ResponseEntity<StreamingResponseBody> getFoto(@PathVariable Long codigo,
+                                                         @RequestParam(required = false) Integer tamanho,
+                                                         @RequestParam(name = "v", required = false) String versao,
+                                                         WebRequest request) {
+        return fotoService.responder(UserRole.FREELANCER, codigo, VarianteFoto.paraTamanho(tamanho), versao, request);
     }
 
     @PatchMapping(value = "/foto/{codigo}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
@@ -153,9 +177,24 @@ public class FreelancerController {
         return ResponseEntity.status(service.atualizarFoto(novaFoto, codigo)).build();
     }
 
+    @PostMapping(value = "/foto/{codigo}/envio")
+    public ResponseEntity<EnvioFotoDTO> iniciarEnvioFoto(@PathVariable Long codigo,
+                                                         @AuthenticationPrincipal UsuarioAutenticado usuario) {
+        return ResponseEntity.ok(envioOriginalService.iniciarEnvio(usuario, UserRole.FREELANCER, codigo));
+    }
+
+    @PostMapping(value = "/foto/{codigo}/envio/concluido", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Void> concluirEnvioFoto(@PathVariable Long codigo,
+                                                  @Valid @RequestBody ConclusaoEnvioFotoDTO dados,
+                                                  @AuthenticationPrincipal UsuarioAutenticado usuario) {
+        envioOriginalService.concluirEnvio(usuario, UserRole.FREELANCER, codigo, dados);
+        return ResponseEntity.accepted().build();
+    }
+
     @GetMapping(value = "/benchmarking-one", consumes = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<List<PerfilFreelancerDTO>> getFreelancerBySearch(@RequestParam String filter) {
-        var freelancers = service.getFreelancersBySearch(filter);
+    public ResponseEntity<List<PerfilFreelancerDTO>> getFreelancerBySearch(@RequestParam String filter,
+                                                                           @RequestParam(required = false) Integer limite) {
+        var freelancers = service.getFreelancersBySearch(filter, limite);
         return freelancers.isEmpty() ?
             ResponseEntity.status(204).build() :
             ResponseEntity.status(200).body(freelancers);
@@ -164,8 +203,10 @@ public class FreelancerController {
     @GetMapping(value = "/benchmarking-two", consumes = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<List<PerfilFreelancerDTO>> compareFreelancers(
             @RequestBody List<EspecialidadeDTO> filters,
-            @RequestParam Long compareTo) {
-        var freelancers = service.compareFreelancers(filters, compareTo);
+            @RequestParam Long compareTo,
+            @RequestParam(required = false) Integer limite,
+            @RequestParam(defaultValue = "JACCARD") MetricaSimilaridade metrica) {
+        var freelancers = service.compareFreelancers(filters, compareTo, limite, metrica);
         return freelancers.isEmpty() ?
                 ResponseEntity.status(204).build() :
                 ResponseEntity.status(200).body(freelancers);
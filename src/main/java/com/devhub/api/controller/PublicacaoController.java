@@ -3,6 +3,7 @@ package com.devhub.api.controller;
 import com.devhub.api.domain.contratante.Contratante;
 import com.devhub.api.domain.freelancer.Freelancer;
 import com.devhub.api.domain.funcao.Funcao;
+import com.devhub.api.domain.paginacao.PaginaCursorDTO;
 import com.devhub.api.domain.publicacao.dto.CreatePublicacaoAgendadaDTO;
 import com.devhub.api.domain.publicacao.dto.CreatePublicacaoDTO;
 import com.devhub.api.domain.publicacao.dto.DetailPublicacaoDTO;
@@ -65,14 +66,25 @@ public class PublicacaoController {
 //    }
 
     @GetMapping
-    public ResponseEntity<List<ListaPublicacaoDTO>> mostrarPublicacoes() {
-        var publicacoes = service.mostrarPublicacoes();
+    public ResponseEntity<PaginaCursorDTO<ListaPublicacaoDTO>> mostrarPublicacoes(
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer tamanho) {
+        var publicacoes = service.mostrarPublicacoes(cursor, tamanho);
+        return ResponseEntity.status(200).body(publicacoes);
+    }
+
+    @GetMapping("/autor/{role}/{id}")
+    public ResponseEntity<PaginaCursorDTO<ListaPublicacaoDTO>> mostrarPublicacoesDoAutor(
+            @PathVariable String role, @PathVariable Long id,
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer tamanho) {
+        var publicacoes = service.mostrarPublicacoesDoAutor(role, id, cursor, tamanho);
         return ResponseEntity.status(200).body(publicacoes);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<List<Publicacao>> mostrarPublicacoesById(@PathVariable Long id) {
-        var publicacoes = service.mostrarPublicacoesByid(id);
+    public ResponseEntity<PaginaCursorDTO<ListaPublicacaoDTO>> mostrarPublicacoesById(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer tamanho) {
+        var publicacoes = service.mostrarPublicacoesDoAutor(UserRole.CONTRATANTE.getRole(), id, cursor, tamanho);
         return ResponseEntity.status(200).body(publicacoes);
     }
 
@@ -57,7 +57,7 @@ public class ServicoController {
                 "Estamos aqui para ajudar e esperamos que essa oportunidade seja benéfica para ambas as partes.\n\n" +
                 "Atenciosamente,\n" +
                 "Equipe DevHub";
-        emailService.enviarEmailTexto(destinatario, "Nova proposta de Freelancer", mensagem);
+        emailService.agendarEmailTexto(destinatario, "Nova proposta de Freelancer", mensagem);
         return ResponseEntity.created(uri).body(new DetailServicoDTO(servico));
     }
 
@@ -73,7 +73,7 @@ public class ServicoController {
                 "Se tiver alguma dúvida ou precisar de alguma informação adicional, por favor, não hesite em entrar em contato.\n\n" +
                 "Atenciosamente,\n" +
                 "Equipe DevHub";
-        emailService.enviarEmailTexto(data.destinatario(), "Contrato finalizado", mensagem);
+        emailService.agendarEmailTexto(data.destinatario(), "Contrato finalizado", mensagem);
         return ResponseEntity.status(204).build();
     }
 
@@ -93,7 +93,7 @@ public class ServicoController {
                 "Atenciosamente,\n" +
                 "Equipe DevHub";
 
-        emailService.enviarEmailTexto(destinatario, "Contato cancelado", mensagem);
+        emailService.agendarEmailTexto(destinatario, "Contato cancelado", mensagem);
         return ResponseEntity.status(204).build();
     }
 
@@ -1,10 +1,13 @@
 package com.devhub.api.controller;
 
 import com.devhub.api.domain.usuario.AutenticacaoData;
+import com.devhub.api.domain.usuario.RenovacaoTokenDTO;
 import com.devhub.api.domain.usuario.Usuario;
 import com.devhub.api.infra.security.TokenJWTData;
+import com.devhub.api.infra.security.TokenRenovadoDTO;
 import com.devhub.api.infra.security.TokenService;
 import com.devhub.api.service.AuthorizationService;
+import com.devhub.api.service.RefreshTokenService;
 import com.devhub.api.service.UsuarioService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -22,10 +25,17 @@ import org.springframework.web.bind.annotation.*;
 public class UsuarioController {
     @Autowired
     private UsuarioService service;
+    @Autowired
+    private RefreshTokenService refreshTokenService;
 
     @PostMapping
     public ResponseEntity login(@RequestBody @Valid AutenticacaoData loginRequest) {
         return ResponseEntity.ok(service.login(loginRequest));
     }
 
+    @PostMapping("/renovar")
+    public ResponseEntity<TokenRenovadoDTO> renovar(@RequestBody @Valid RenovacaoTokenDTO dados) {
+        return ResponseEntity.ok(refreshTokenService.renovar(dados.refreshToken()));
+    }
+
 }
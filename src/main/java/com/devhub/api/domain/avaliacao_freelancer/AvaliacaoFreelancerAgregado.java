@@ -0,0 +1,48 @@
+package com.devhub.api.domain.avaliacao_freelancer;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "avaliacao_freelancer_agregado")
+@Getter
+@NoArgsConstructor
+public class AvaliacaoFreelancerAgregado {
+
+    @Id
+    @Column(name = "fk_freelancer")
+    private Long idFreelancer;
+
+    private Long quantidade;
+
+    private Double soma;
+
+    @Column(name = "nota_1")
+    private Long nota1;
+    @Column(name = "nota_2")
+    private Long nota2;
+    @Column(name = "nota_3")
+    private Long nota3;
+    @Column(name = "nota_4")
+    private Long nota4;
+    @Column(name = "nota_5")
+    private Long nota5;
+
+    public Double getMedia() {
+        return quantidade == 0 ? null : soma / quantidade;
+    }
+
+    // Média puxada em direção a mediaPrior enquanto o freelancer tem poucas avaliações
+    public Double getMediaBayesiana(double mediaPrior, double peso) {
+        return (peso * mediaPrior + soma) / (peso + quantidade);
+    }
+
+    public long[] getHistograma() {
+        return new long[]{nota1, nota2, nota3, nota4, nota5};
+    }
+
+    public static int faixaDaNota(double nota) {
+        return (int) Math.max(1, Math.min(5, Math.round(nota)));
+    }
+}
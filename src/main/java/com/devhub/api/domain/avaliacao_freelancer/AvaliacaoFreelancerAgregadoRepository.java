@@ -0,0 +1,25 @@
+package com.devhub.api.domain.avaliacao_freelancer;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface AvaliacaoFreelancerAgregadoRepository extends JpaRepository<AvaliacaoFreelancerAgregado, Long> {
+
+    @Modifying
+    @Query(nativeQuery = true, value = """
+    insert into avaliacao_freelancer_agregado
+        (fk_freelancer, quantidade, soma, nota_1, nota_2, nota_3, nota_4, nota_5)
+    values
+        (:idFreelancer, 1, :nota, :faixa = 1, :faixa = 2, :faixa = 3, :faixa = 4, :faixa = 5)
+    on duplicate key update
+        quantidade = quantidade + 1,
+        soma = soma + :nota,
+        nota_1 = nota_1 + (:faixa = 1),
+        nota_2 = nota_2 + (:faixa = 2),
+        nota_3 = nota_3 + (:faixa = 3),
+        nota_4 = nota_4 + (:faixa = 4),
+        nota_5 = nota_5 + (:faixa = 5)
+    """)
+    void registrarNota(Long idFreelancer, double nota, int faixa);
+}
@@ -0,0 +1,5 @@
+package com.devhub.api.domain.avaliacao_freelancer.dto;
+
+public record ResumoAvaliacaoDTO(Long idFreelancer, long quantidade, Double media, Double mediaBayesiana,
+                                 long[] histograma) {
+}
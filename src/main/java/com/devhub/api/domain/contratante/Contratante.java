@@ -7,7 +7,6 @@ import com.devhub.api.domain.usuario.UserRole;
 import com.devhub.api.domain.usuario.Usuario;
 import jakarta.persistence.*;
 import lombok.*;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
 import java.util.List;
 
@@ -35,9 +34,6 @@ public class Contratante extends Usuario {
         if(data.email() != null){
             this.email = data.email();
         }
-        if(data.senha() != null){
-            this.senha = new BCryptPasswordEncoder().encode(data.senha());;
-        }
 
     }
 
@@ -1,6 +1,6 @@
 package com.devhub.api.domain.contratante;
 
-import com.devhub.api.domain.contratante.dto.ContratanteValidacaoDTO;
+import com.devhub.api.domain.usuario.IdentificadoresUsuarioDTO;
 import jakarta.transaction.Transactional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ContratanteRepository extends JpaRepository<Contratante, Long> {
@@ -17,22 +18,38 @@ public interface ContratanteRepository extends JpaRepository<Contratante, Long>
 
     Contratante findByCnpj(String cnpj);
 
+    // telefone e cnpj têm índice único (V2), então o cadastro confere conflitos sem varrer a tabela
+    boolean existsByTelefone(String telefone);
+
+    boolean existsByCnpj(String cnpj);
+
+    @Query("select c.telefone from Contratante c where c.telefone in ?1")
+    List<String> listarTelefonesExistentes(Collection<String> telefones);
+
+    @Query("select c.cnpj from Contratante c where c.cnpj in ?1")
+    List<String> listarCnpjsExistentes(Collection<String> cnpjs);
+
     @Query("""
-    select new com.devhub.api.domain.contratante.dto.ContratanteValidacaoDTO(c.email, c.cnpj, c.telefone)
+    select new com.devhub.api.domain.usuario.IdentificadoresUsuarioDTO(c.id, c.email, c.cnpj)
     from Contratante c
+    where c.id > ?1
+    order by c.id
     """)
-    List<ContratanteValidacaoDTO> validarDadosUnicos();
+    List<IdentificadoresUsuarioDTO> listarIdentificadores(Long depoisDe, Pageable lote);
 
     @Modifying
     @Transactional
     @Query("""
-        update Contratante c set c.imagem = ?1
-        where c.id = ?2     
+        update Contratante c set c.imagemHash = ?1
+        where c.id = ?2
             """)
-    int atualizarFoto(byte[] foto, Long idFreelancer);
+    int atualizarHashFoto(String hash, Long idContratante);
 
+    @Modifying
+    @Transactional
     @Query("""
-    select c.imagem from Contratante c where c.id = ?1
-    """)
-    byte[] getImagemById(int codigo);
+        update Contratante c set c.senha = ?1
+        where c.id = ?2
+            """)
+    int atualizarSenha(String senha, Long idContratante);
 }
@@ -1,13 +1,15 @@
 package com.devhub.api.domain.contratante.dto;
 
 import com.devhub.api.domain.contratante.Contratante;
+import com.devhub.api.domain.usuario.FotoUsuario;
+import com.devhub.api.domain.usuario.VarianteFoto;
 
 public record ListContratanteDTO(Long id, String nome, String cnpj, String telefone,
-                                 String email, byte[] imagem, Integer contratacoes
+                                 String email, String urlImagem, Integer contratacoes
                                 ) {
     public ListContratanteDTO(Contratante contratante) {
         this(contratante.getId(), contratante.getNome(),
             contratante.getCnpj(), contratante.getTelefone(),
-            contratante.getEmail(), contratante.getImagem(), contratante.getContratacoes());
+            contratante.getEmail(), FotoUsuario.url(contratante.getRole(), contratante.getId(), contratante.getImagemHash(), VarianteFoto.MEDIA), contratante.getContratacoes());
     }
 }
@@ -0,0 +1,76 @@
+package com.devhub.api.domain.email;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/*
+ * Linha da caixa de saída de e-mails. É gravada na mesma transação da operação que gera o e-mail e
+ * enviada depois pelo DespachanteEmails, então um cadastro não espera o SMTP nem perde o e-mail se
+ * o servidor estiver fora.
+ */
+@Entity
+@Table(name = "email_pendente")
+@Getter
+@NoArgsConstructor
+public class EmailPendente {
+
+    private static final int TAMANHO_ERRO = 500;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String destinatario;
+
+    private String assunto;
+
+    private String corpo;
+
+    @Enumerated(EnumType.STRING)
+    private StatusEmail status;
+
+    private int tentativas;
+
+    private LocalDateTime criadoEm;
+
+    private LocalDateTime proximaTentativa;
+
+    private LocalDateTime enviadoEm;
+
+    private String ultimoErro;
+
+    public EmailPendente(String destinatario, String assunto, String corpo) {
+        this.destinatario = destinatario;
+        this.assunto = assunto;
+        this.corpo = corpo;
+        this.status = StatusEmail.PENDENTE;
+        this.criadoEm = LocalDateTime.now();
+        this.proximaTentativa = this.criadoEm;
+    }
+
+    public void reservar(LocalDateTime ate) {
+        this.status = StatusEmail.EM_ENVIO;
+        this.proximaTentativa = ate;
+    }
+
+    public void marcarEnviado(LocalDateTime agora) {
+        this.status = StatusEmail.ENVIADO;
+        this.tentativas++;
+        this.enviadoEm = agora;
+        this.ultimoErro = null;
+    }
+
+    public void registrarFalha(String erro, LocalDateTime proximaTentativa) {
+        this.status = StatusEmail.PENDENTE;
+        this.tentativas++;
+        this.proximaTentativa = proximaTentativa;
+        this.ultimoErro = erro == null || erro.length() <= TAMANHO_ERRO ? erro : erro.substring(0, TAMANHO_ERRO);
+    }
+
+    public void descartar() {
+        this.status = StatusEmail.DESCARTADO;
+    }
+}
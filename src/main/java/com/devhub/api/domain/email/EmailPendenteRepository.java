@@ -0,0 +1,39 @@
+package com.devhub.api.domain.email;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface EmailPendenteRepository extends JpaRepository<EmailPendente, Long> {
+
+    // FOR UPDATE SKIP LOCKED: instâncias concorrentes pulam as linhas que outra está reservando
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("""
+        select e from EmailPendente e
+        where e.status in (com.devhub.api.domain.email.StatusEmail.PENDENTE, com.devhub.api.domain.email.StatusEmail.EM_ENVIO)
+          and e.proximaTentativa <= ?1
+        order by e.proximaTentativa
+            """)
+    List<EmailPendente> listarProntos(LocalDateTime agora, Pageable pagina);
+
+    long countByStatus(StatusEmail status);
+
+    @Modifying
+    @Transactional
+    @Query("""
+        delete from EmailPendente e
+        where e.status = com.devhub.api.domain.email.StatusEmail.ENVIADO
+          and e.enviadoEm < ?1
+            """)
+    int removerEnviadosAntes(LocalDateTime limite);
+}
@@ -0,0 +1,6 @@
+package com.devhub.api.domain.email;
+
+// Contadores desde a subida da aplicação, mais o tamanho atual da fila
+public record MetricasEmailDTO(long enviados, long falhas, long descartados, long lotes,
+                               long pendentes, Double atrasoMedioMs, Double duracaoMediaLoteMs) {
+}
@@ -0,0 +1,10 @@
+package com.devhub.api.domain.email;
+
+public enum StatusEmail {
+    PENDENTE,
+    // reservado por um despachante até proxima_tentativa; se ele cair, a reserva vence e outro retoma
+    EM_ENVIO,
+    ENVIADO,
+    // esgotou as tentativas; fica na tabela para consulta
+    DESCARTADO
+}
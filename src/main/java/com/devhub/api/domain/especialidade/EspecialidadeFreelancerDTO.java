@@ -0,0 +1,4 @@
+package com.devhub.api.domain.especialidade;
+
+public record EspecialidadeFreelancerDTO(Long idFreelancer, String descricao) {
+}
@@ -1,6 +1,25 @@
 package com.devhub.api.domain.especialidade;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface EspecialidadeRepository extends JpaRepository<Especialidade, Long> {
+
+    @Query("""
+    select new com.devhub.api.domain.especialidade.EspecialidadeFreelancerDTO(e.freelancer.id, e.descricao)
+    from Especialidade e
+    where e.freelancer.id in :ids
+    """)
+    List<EspecialidadeFreelancerDTO> listarPorFreelancers(Collection<Long> ids);
+
+    @Query("""
+    select new com.devhub.api.domain.especialidade.EspecialidadeFreelancerDTO(f.id, e.descricao)
+    from Especialidade e
+    join e.freelancer f
+    where f.ativo = true
+    """)
+    List<EspecialidadeFreelancerDTO> listarDeFreelancersAtivos();
 }
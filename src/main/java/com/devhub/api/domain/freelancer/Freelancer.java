@@ -53,9 +53,6 @@ public class Freelancer extends Usuario {
         if (data.telefone() != null) {
             this.telefone = data.telefone();
         }
-        if(data.senha() != null){
-            this.senha = data.senha();
-        }
         if (data.descricao() != null) {
             this.descricao = data.descricao();
         }
@@ -1,70 +1,81 @@
 package com.devhub.api.domain.freelancer;
 
-import com.devhub.api.domain.freelancer.dto.FreelancerValidacaoDTO;
-import com.devhub.api.domain.freelancer.dto.ListaFreelancerDTO;
-import com.devhub.api.domain.freelancer.dto.PerfilFreelancerDTO;
+import com.devhub.api.domain.freelancer.dto.FreelancerIndexacaoDTO;
+import com.devhub.api.domain.freelancer.dto.FreelancerResumoDTO;
+import com.devhub.api.domain.usuario.IdentificadoresUsuarioDTO;
 import jakarta.transaction.Transactional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface FreelancerRepository extends JpaRepository<Freelancer, Long> {
-    List<Freelancer> findAllByAtivoTrue();
     List<Freelancer> findAll();
 
+    @Query("""
+    select new com.devhub.api.domain.freelancer.dto.FreelancerResumoDTO(
+        f.id, f.nome, f.imagemHash, f.funcao, f.senioridade, f.valorHora,
+        a.soma / a.quantidade, f.descricao, f.telefone
+    )
+    from Freelancer f
+    left join AvaliacaoFreelancerAgregado a on a.idFreelancer = f.id
+    where f.ativo = true and f.id > :cursor
+    order by f.id
+    """)
+    List<FreelancerResumoDTO> listarAtivosAposId(Long cursor, Pageable limite);
+
     UserDetails findByEmail(String email);
 
     Freelancer findByNomeAndTelefoneAndEmailAndValorHoraAndSenioridade(String nomeFreelancer, String telefone, String email, Double valorHora, String senioridade);
 
+    // telefone e cpf têm índice único (V1), então o cadastro confere conflitos sem varrer a tabela
+    boolean existsByTelefone(String telefone);
+
+    boolean existsByCpf(String cpf);
+
+    @Query("select f.telefone from Freelancer f where f.telefone in ?1")
+    List<String> listarTelefonesExistentes(Collection<String> telefones);
+
+    @Query("select f.cpf from Freelancer f where f.cpf in ?1")
+    List<String> listarCpfsExistentes(Collection<String> cpfs);
+
     @Query("""
-    select new com.devhub.api.domain.freelancer.dto.FreelancerValidacaoDTO(f.email, f.cpf, f.telefone)
+    select new com.devhub.api.domain.usuario.IdentificadoresUsuarioDTO(f.id, f.email, f.cpf)
     from Freelancer f
+    where f.id > ?1
+    order by f.id
     """)
-    List<FreelancerValidacaoDTO> validarDadosUnicos();
+    List<IdentificadoresUsuarioDTO> listarIdentificadores(Long depoisDe, Pageable lote);
 
     @Modifying
     @Transactional
     @Query("""
-        update Freelancer f set f.imagem = ?1
+        update Freelancer f set f.imagemHash = ?1
         where f.id = ?2
             """)
-    int atualizarFoto(byte[] foto, Long idFreelancer);
+    int atualizarHashFoto(String hash, Long idFreelancer);
 
     @Query("""
-    select
-        f
-    from
-        Especialidade e
-    join
-        e.freelancer f
-    where
-        LOWER(f.funcao) like LOWER(CONCAT(:pesquisa, '%'))
-    or
-        LOWER(e.descricao) like LOWER(CONCAT(:pesquisa, '%'))
+    select new com.devhub.api.domain.freelancer.dto.FreelancerIndexacaoDTO(f.id, f.nome, f.funcao)
+    from Freelancer f
+    where f.ativo = true
     """)
-    List<Freelancer> getFreelancersBySearch(String pesquisa);
+    List<FreelancerIndexacaoDTO> listarAtivosParaIndexacao();
 
-    @Query("""
-    select
-        f
-    from
-        Especialidade e
-    join
-        e.freelancer f
-    where
-        LOWER(e.descricao) in :especialidades
-    and
-        f.id <> :compareTo
-    """)
-    List<Freelancer> compareFreelancerBySpecialties(List<String> especialidades, Long compareTo);
+    @EntityGraph(attributePaths = "especialidades")
+    List<Freelancer> findByIdIn(Collection<Long> ids);
 
+    @Modifying
+    @Transactional
     @Query("""
-    select f.imagem from Freelancer f where f.id = ?1
-    """)
-    byte[] getImagemById(int codigo);
+        update Freelancer f set f.senha = ?1
+        where f.id = ?2
+            """)
+    int atualizarSenha(String senha, Long idFreelancer);
 }
@@ -0,0 +1,6 @@
+package com.devhub.api.domain.freelancer.dto;
+
+import com.devhub.api.domain.funcao.Funcao;
+
+public record FreelancerIndexacaoDTO(Long id, String nome, Funcao funcao) {
+}
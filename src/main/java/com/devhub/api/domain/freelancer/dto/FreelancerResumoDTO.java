@@ -0,0 +1,7 @@
+package com.devhub.api.domain.freelancer.dto;
+
+import com.devhub.api.domain.funcao.Funcao;
+
+public record FreelancerResumoDTO(Long id, String nome, String imagemHash, Funcao funcao, String senioridade,
+                                  Double valorHora, Double nota, String descricao, String telefone) {
+}
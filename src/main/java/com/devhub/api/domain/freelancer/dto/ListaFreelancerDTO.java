@@ -1,11 +1,11 @@
 package com.devhub.api.domain.freelancer.dto;
 
-import com.devhub.api.domain.avaliacao_freelancer.AvaliacaoFreelancer;
-import com.devhub.api.domain.especialidade.Especialidade;
+import com.devhub.api.domain.especialidade.EspecialidadeDTO;
 import com.devhub.api.domain.freelancer.Freelancer;
 import com.devhub.api.domain.funcao.Funcao;
-import lombok.Data;
-import lombok.Getter;
+import com.devhub.api.domain.usuario.FotoUsuario;
+import com.devhub.api.domain.usuario.UserRole;
+import com.devhub.api.domain.usuario.VarianteFoto;
 
 import java.util.List;
 
@@ -13,9 +13,9 @@ import java.util.List;
 public record ListaFreelancerDTO (
         Long id,
         String nome,
-        byte[] imagem,
+        String urlImagem,
         Funcao funcao,
-        List<Especialidade> especialidades,
+        List<EspecialidadeDTO> especialidades,
         String senioridade,
         Double valorHora,
         Double nota,
@@ -23,8 +23,15 @@ public record ListaFreelancerDTO (
         String telefone
 ){
     public ListaFreelancerDTO(Freelancer freelancer, Double nota) {
-        this(freelancer.getId(), freelancer.getNome(), freelancer.getImagem(),
-                freelancer.getFuncao(),freelancer.getEspecialidades(), freelancer.getSenioridade(), freelancer.getValorHora(),
+        this(freelancer.getId(), freelancer.getNome(), FotoUsuario.url(freelancer.getRole(), freelancer.getId(), freelancer.getImagemHash(), VarianteFoto.MEDIA),
+                freelancer.getFuncao(),
+                freelancer.getEspecialidades().stream().map(e -> new EspecialidadeDTO(e.getDescricao())).toList(),
+                freelancer.getSenioridade(), freelancer.getValorHora(),
                 nota, freelancer.getDescricao(),freelancer.getTelefone());
     }
+
+    public ListaFreelancerDTO(FreelancerResumoDTO resumo, List<EspecialidadeDTO> especialidades) {
+        this(resumo.id(), resumo.nome(), FotoUsuario.url(UserRole.FREELANCER, resumo.id(), resumo.imagemHash(), VarianteFoto.MEDIA), resumo.funcao(), especialidades,
+                resumo.senioridade(), resumo.valorHora(), resumo.nota(), resumo.descricao(), resumo.telefone());
+    }
 }
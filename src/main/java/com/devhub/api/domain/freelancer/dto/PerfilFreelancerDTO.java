@@ -9,6 +9,6 @@ import java.util.List;
 public record PerfilFreelancerDTO(Long id, String nome, String email, Funcao funcao,
                                   List<Especialidade> especialidades, Double valorHora,
                                   String senioridade, String descricao, String telefone,
-                                  byte[] imagem, Double nota) {
+                                  String urlImagem, Double nota) {
 
 }
@@ -0,0 +1,30 @@
+package com.devhub.api.domain.importacao;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.server.ResponseStatusException;
+
+public enum FormatoImportacao {
+    CSV("text/csv"),
+    NDJSON("application/x-ndjson");
+
+    private final String tipo;
+
+    FormatoImportacao(String tipo) {
+        this.tipo = tipo;
+    }
+
+    public String getTipo() {
+        return tipo;
+    }
+
+    public static FormatoImportacao doContentType(String contentType) {
+        var recebido = MediaType.parseMediaType(contentType);
+        for (FormatoImportacao formato : values()) {
+            if (MediaType.parseMediaType(formato.tipo).equalsTypeAndSubtype(recebido)) {
+                return formato;
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "Envie text/csv ou application/x-ndjson");
+    }
+}
@@ -0,0 +1,14 @@
+package com.devhub.api.domain.importacao;
+
+import java.util.Comparator;
+import java.util.List;
+
+public record RelatorioImportacaoDTO(int total, int importados, int rejeitados, List<ResultadoLinhaImportacaoDTO> linhas) {
+
+    public RelatorioImportacaoDTO(List<ResultadoLinhaImportacaoDTO> linhas) {
+        this(linhas.size(),
+                (int) linhas.stream().filter(ResultadoLinhaImportacaoDTO::importado).count(),
+                (int) linhas.stream().filter(l -> !l.importado()).count(),
+                linhas.stream().sorted(Comparator.comparingLong(ResultadoLinhaImportacaoDTO::linha)).toList());
+    }
+}
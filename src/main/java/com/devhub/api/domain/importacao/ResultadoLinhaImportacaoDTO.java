@@ -0,0 +1,13 @@
+package com.devhub.api.domain.importacao;
+
+// linha é a posição do registro no arquivo, sem contar o cabeçalho do CSV
+public record ResultadoLinhaImportacaoDTO(long linha, boolean importado, Long id, String erro) {
+
+    public static ResultadoLinhaImportacaoDTO importado(long linha, Long id) {
+        return new ResultadoLinhaImportacaoDTO(linha, true, id, null);
+    }
+
+    public static ResultadoLinhaImportacaoDTO rejeitado(long linha, String erro) {
+        return new ResultadoLinhaImportacaoDTO(linha, false, null, erro);
+    }
+}
@@ -0,0 +1,6 @@
+package com.devhub.api.domain.paginacao;
+
+import java.util.List;
+
+public record PaginaCursorDTO<T>(List<T> conteudo, String proximoCursor) {
+}
@@ -0,0 +1,28 @@
+package com.devhub.api.domain.publicacao;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+// Posição no feed: a última publicação entregue, ordenada por (createdAt, id) decrescente
+public record CursorPublicacao(LocalDateTime createdAt, Long id) {
+
+    public static CursorPublicacao decodificar(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        int separador = cursor.lastIndexOf('_');
+        try {
+            return new CursorPublicacao(LocalDateTime.parse(cursor.substring(0, separador)),
+                    Long.parseLong(cursor.substring(separador + 1)));
+        } catch (DateTimeParseException | NumberFormatException | IndexOutOfBoundsException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor inválido");
+        }
+    }
+
+    public String codificar() {
+        return createdAt + "_" + id;
+    }
+}
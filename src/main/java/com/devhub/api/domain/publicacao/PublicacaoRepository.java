@@ -1,51 +1,60 @@
 package com.devhub.api.domain.publicacao;
 
-import com.devhub.api.domain.contratante.Contratante;
-import com.devhub.api.domain.publicacao.dto.ListaPublicacaoDTO;
+import com.devhub.api.domain.publicacao.dto.PublicacaoResumoDTO;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface PublicacaoRepository extends JpaRepository<Publicacao, Long> {
 
+    // Linha do tempo de um autor sobre idx_publicacao_autor (role, id_usuario, created_at)
     @Query("""
-SELECT new com.devhub.api.domain.publicacao.dto.ListaPublicacaoDTO(
-    p.id,
-    c.nome,
-    c.imagem,
-    p.descricao,
-    p.id_usuario,
-    p.createdAt,
-    p.role
-)
-FROM Publicacao p 
-JOIN Contratante c ON p.id_usuario = c.id 
-WHERE c.id = ?1 AND p.role = 'CONTRATANTE'
-ORDER BY p.createdAt DESC
+SELECT p FROM Publicacao p
+WHERE p.role = ?1 AND p.id_usuario = ?2
+ORDER BY p.createdAt DESC, p.id DESC
 """)
-    List<ListaPublicacaoDTO> findByContratante(Long id);
+    List<Publicacao> listarDoAutor(String role, Long idUsuario, Pageable pageable);
 
     @Query("""
-SELECT new com.devhub.api.domain.publicacao.dto.ListaPublicacaoDTO(
+SELECT p FROM Publicacao p
+WHERE p.role = ?1 AND p.id_usuario = ?2
+AND (p.createdAt < ?3 OR (p.createdAt = ?3 AND p.id < ?4))
+ORDER BY p.createdAt DESC, p.id DESC
+""")
+    List<Publicacao> listarDoAutorAntesDe(String role, Long idUsuario, LocalDateTime createdAt, Long id, Pageable pageable);
+
+    // Feed em keyset sobre idx_publicacao_feed (created_at, id): só as linhas da página são lidas e juntadas
+    @Query("""
+SELECT new com.devhub.api.domain.publicacao.dto.PublicacaoResumoDTO(
     p.id,
-    f.nome,
-    f.imagem,
+    CASE 
+        WHEN p.role = 'CONTRATANTE' THEN c.nome
+        WHEN p.role = 'FREELANCER' THEN f.nome
+        ELSE NULL 
+    END,
+    CASE 
+        WHEN p.role = 'CONTRATANTE' THEN c.imagemHash
+        WHEN p.role = 'FREELANCER' THEN f.imagemHash
+        ELSE NULL 
+    END,
     p.descricao,
     p.id_usuario,
     p.createdAt,
     p.role
 )
 FROM Publicacao p 
-JOIN Freelancer f ON p.id_usuario = f.id 
-WHERE f.id = ?1 AND p.role = 'FREELANCER'
-ORDER BY p.createdAt DESC
+LEFT JOIN Contratante c ON p.id_usuario = c.id AND p.role = 'CONTRATANTE'
+LEFT JOIN Freelancer f ON p.id_usuario = f.id AND p.role = 'FREELANCER'
+WHERE p.role IN ('CONTRATANTE', 'FREELANCER')
+ORDER BY p.createdAt DESC, p.id DESC
 """)
-    List<ListaPublicacaoDTO> findByFreelancer(Long id);
-    List<Publicacao> findAllByOrderByCreatedAtDesc();
+    List<PublicacaoResumoDTO> listarFeed(Pageable pageable);
 
     @Query("""
-SELECT new com.devhub.api.domain.publicacao.dto.ListaPublicacaoDTO(
+SELECT new com.devhub.api.domain.publicacao.dto.PublicacaoResumoDTO(
     p.id,
     CASE 
         WHEN p.role = 'CONTRATANTE' THEN c.nome
@@ -53,8 +62,8 @@ SELECT new com.devhub.api.domain.publicacao.dto.ListaPublicacaoDTO(
         ELSE NULL 
     END,
     CASE 
-        WHEN p.role = 'CONTRATANTE' THEN c.imagem
-        WHEN p.role = 'FREELANCER' THEN f.imagem
+        WHEN p.role = 'CONTRATANTE' THEN c.imagemHash
+        WHEN p.role = 'FREELANCER' THEN f.imagemHash
         ELSE NULL 
     END,
     p.descricao,
@@ -66,8 +75,9 @@ FROM Publicacao p
 LEFT JOIN Contratante c ON p.id_usuario = c.id AND p.role = 'CONTRATANTE'
 LEFT JOIN Freelancer f ON p.id_usuario = f.id AND p.role = 'FREELANCER'
 WHERE p.role IN ('CONTRATANTE', 'FREELANCER')
-ORDER BY p.createdAt DESC
+AND (p.createdAt < ?1 OR (p.createdAt = ?1 AND p.id < ?2))
+ORDER BY p.createdAt DESC, p.id DESC
 """)
-    List<ListaPublicacaoDTO> findAllPublicacoes();
+    List<PublicacaoResumoDTO> listarFeedAntesDe(LocalDateTime createdAt, Long id, Pageable pageable);
 
 }
@@ -1,18 +1,16 @@
 package com.devhub.api.domain.publicacao.dto;
 
-import com.devhub.api.domain.especialidade.Especialidade;
-import com.devhub.api.domain.freelancer.Freelancer;
-import com.devhub.api.domain.funcao.Funcao;
 import com.devhub.api.domain.publicacao.Publicacao;
+import com.devhub.api.domain.usuario.FotoUsuario;
 import com.devhub.api.domain.usuario.Usuario;
+import com.devhub.api.domain.usuario.VarianteFoto;
 
 import java.time.LocalDateTime;
-import java.util.List;
 
 public record ListaPublicacaoDTO(
     Long id,
     String nome,
-    byte[] imagem,
+    String urlImagem,
     String descricao,
     Long id_usuario,
     LocalDateTime getCreatedAt,
@@ -20,7 +18,13 @@ public record ListaPublicacaoDTO(
 
 ){
     public ListaPublicacaoDTO(Usuario usuario, Publicacao publicacao) {
-            this(publicacao.getId(), usuario.getNome(), usuario.getImagem(),
+            this(publicacao.getId(), usuario.getNome(),
+                    FotoUsuario.url(usuario.getRole(), usuario.getId(), usuario.getImagemHash(), VarianteFoto.PEQUENA),
                     publicacao.getDescricao(), publicacao.getId_usuario(), publicacao.getCreatedAt(), publicacao.getRole());
         }
+
+    public ListaPublicacaoDTO(PublicacaoResumoDTO resumo) {
+        this(resumo.id(), resumo.nome(), FotoUsuario.url(resumo.role(), resumo.id_usuario(), resumo.imagemHash(), VarianteFoto.PEQUENA),
+                resumo.descricao(), resumo.id_usuario(), resumo.createdAt(), resumo.role());
+    }
 }
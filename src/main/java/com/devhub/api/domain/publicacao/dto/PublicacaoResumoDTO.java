@@ -0,0 +1,7 @@
+package com.devhub.api.domain.publicacao.dto;
+
+import java.time.LocalDateTime;
+
+public record PublicacaoResumoDTO(Long id, String nome, String imagemHash, String descricao,
+                                  Long id_usuario, LocalDateTime createdAt, String role) {
+}
@@ -0,0 +1,6 @@
+package com.devhub.api.domain.usuario;
+
+import java.time.Instant;
+
+public record EnvioFotoDTO(String url, String chave, Instant expiraEm) {
+}
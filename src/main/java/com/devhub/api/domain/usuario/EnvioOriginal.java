@@ -0,0 +1,65 @@
+package com.devhub.api.domain.usuario;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/*
+ * Foto original enviada direto ao armazenamento. AGUARDANDO: a URL foi emitida e o cliente ainda não
+ * concluiu; se a URL vencer assim, a varredura apaga o objeto. RECEBIDO: o cliente concluiu e as
+ * variantes são geradas em segundo plano a partir do objeto, que é apagado no fim.
+ */
+@Entity
+@Table(name = "envio_original")
+@Getter
+@NoArgsConstructor
+public class EnvioOriginal {
+
+    private static final int TAMANHO_ERRO = 500;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String chave;
+
+    private Long idUsuario;
+
+    @Enumerated(EnumType.STRING)
+    private UserRole role;
+
+    @Enumerated(EnumType.STRING)
+    private StatusEnvioOriginal status;
+
+    private String imagemHash;
+
+    private LocalDateTime expiraEm;
+
+    private int tentativas;
+
+    private LocalDateTime proximaTentativa;
+
+    private String ultimoErro;
+
+    public EnvioOriginal(String chave, Long idUsuario, UserRole role, LocalDateTime expiraEm) {
+        this.chave = chave;
+        this.idUsuario = idUsuario;
+        this.role = role;
+        this.status = StatusEnvioOriginal.AGUARDANDO;
+        this.expiraEm = expiraEm;
+    }
+
+    public void receber(String imagemHash) {
+        this.status = StatusEnvioOriginal.RECEBIDO;
+        this.imagemHash = imagemHash;
+        this.proximaTentativa = LocalDateTime.now();
+    }
+
+    public void registrarFalha(String erro, LocalDateTime proximaTentativa) {
+        this.tentativas++;
+        this.proximaTentativa = proximaTentativa;
+        this.ultimoErro = erro == null || erro.length() <= TAMANHO_ERRO ? erro : erro.substring(0, TAMANHO_ERRO);
+    }
+}
@@ -0,0 +1,38 @@
+package com.devhub.api.domain.usuario;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface EnvioOriginalRepository extends JpaRepository<EnvioOriginal, Long> {
+
+    Optional<EnvioOriginal> findByChaveAndIdUsuarioAndRoleAndStatus(String chave, Long idUsuario, UserRole role,
+                                                                   StatusEnvioOriginal status);
+
+    @Query("""
+    select count(e) from EnvioOriginal e
+    where e.idUsuario = ?1 and e.role = ?2
+      and e.status = com.devhub.api.domain.usuario.StatusEnvioOriginal.AGUARDANDO and e.expiraEm > ?3
+    """)
+    long contarAguardando(Long idUsuario, UserRole role, LocalDateTime agora);
+
+    @Query("""
+    select e from EnvioOriginal e
+    where e.status = com.devhub.api.domain.usuario.StatusEnvioOriginal.RECEBIDO
+      and e.proximaTentativa <= ?1 and e.tentativas < ?2
+    order by e.proximaTentativa
+    """)
+    List<EnvioOriginal> listarRecebidos(LocalDateTime agora, int maximoTentativas, Pageable limite);
+
+    @Query("""
+    select e from EnvioOriginal e
+    where e.status = com.devhub.api.domain.usuario.StatusEnvioOriginal.AGUARDANDO
+      and e.expiraEm < ?1
+    order by e.expiraEm
+    """)
+    List<EnvioOriginal> listarVencidos(LocalDateTime antesDe, Pageable limite);
+}
@@ -0,0 +1,35 @@
+package com.devhub.api.domain.usuario;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/*
+ * As listagens não carregam mais os bytes da foto: levam uma URL versionada pelo hash do conteúdo,
+ * que o navegador pode guardar para sempre (uma foto nova gera outro hash, logo outra URL).
+ */
+public final class FotoUsuario {
+
+    private FotoUsuario() {
+    }
+
+    public static String hash(byte[] imagem) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(imagem));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static String url(String role, Long idUsuario, String hash, VarianteFoto variante) {
+        if (hash == null || idUsuario == null) {
+            return null;
+        }
+        var base = UserRole.CONTRATANTE.getRole().equals(role) ? "/contratantes/foto/" : "/freelancers/foto/";
+        return base + idUsuario + "?tamanho=" + variante.getTamanho() + "&v=" + hash;
+    }
+
+    public static String url(UserRole role, Long idUsuario, String hash, VarianteFoto variante) {
+        return url(role == null ? null : role.getRole(), idUsuario, hash, variante);
+    }
+}
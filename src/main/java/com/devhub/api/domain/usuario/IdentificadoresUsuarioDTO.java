@@ -0,0 +1,5 @@
+package com.devhub.api.domain.usuario;
+
+// documento é o CPF do freelancer ou o CNPJ do contratante
+public record IdentificadoresUsuarioDTO(Long id, String email, String documento) {
+}
@@ -0,0 +1,46 @@
+package com.devhub.api.domain.usuario;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/*
+ * Refresh token guardado só pelo SHA-256. Cada renovação marca o token como usado e emite outro
+ * na mesma família; apresentar de novo um token já usado indica vazamento e derruba a família toda.
+ */
+@Entity
+@Table(name = "refresh_token")
+@Getter
+@NoArgsConstructor
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String tokenHash;
+
+    private String familia;
+
+    private Long idUsuario;
+
+    @Enumerated(EnumType.STRING)
+    private UserRole role;
+
+    private LocalDateTime criadoEm;
+
+    private LocalDateTime expiraEm;
+
+    private LocalDateTime usadoEm;
+
+    public RefreshToken(String tokenHash, String familia, Long idUsuario, UserRole role, LocalDateTime expiraEm) {
+        this.tokenHash = tokenHash;
+        this.familia = familia;
+        this.idUsuario = idUsuario;
+        this.role = role;
+        this.criadoEm = LocalDateTime.now();
+        this.expiraEm = expiraEm;
+    }
+}
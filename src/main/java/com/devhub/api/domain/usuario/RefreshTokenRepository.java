@@ -0,0 +1,37 @@
+package com.devhub.api.domain.usuario;
+
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    RefreshToken findByTokenHash(String tokenHash);
+
+    // só um pedido concorrente consegue marcar o token; o outro vê 0 e é tratado como reuso
+    @Modifying
+    @Transactional
+    @Query("""
+    update RefreshToken r set r.usadoEm = :agora
+    where r.id = :id and r.usadoEm is null
+    """)
+    int marcarUsado(Long id, LocalDateTime agora);
+
+    @Modifying
+    @Transactional
+    @Query("delete from RefreshToken r where r.familia = :familia")
+    int removerFamilia(String familia);
+
+    @Modifying
+    @Transactional
+    @Query("delete from RefreshToken r where r.idUsuario = :idUsuario and r.role = :role")
+    int removerDoUsuario(Long idUsuario, UserRole role);
+
+    @Modifying
+    @Transactional
+    @Query("delete from RefreshToken r where r.expiraEm < :agora")
+    int removerExpirados(LocalDateTime agora);
+}
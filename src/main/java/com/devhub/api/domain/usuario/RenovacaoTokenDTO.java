@@ -0,0 +1,6 @@
+package com.devhub.api.domain.usuario;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record RenovacaoTokenDTO(@NotBlank String refreshToken) {
+}
@@ -0,0 +1,6 @@
+package com.devhub.api.domain.usuario;
+
+public enum StatusEnvioOriginal {
+    AGUARDANDO,
+    RECEBIDO
+}
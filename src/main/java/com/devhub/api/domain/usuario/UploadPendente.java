@@ -0,0 +1,49 @@
+package com.devhub.api.domain.usuario;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/*
+ * Envio de foto para o S3 ainda não confirmado. Os bytes não ficam aqui: a variante continua em
+ * usuario_imagem e é relida pelo hash quando o envio precisa ser refeito (inclusive após um restart).
+ */
+@Entity
+@Table(name = "upload_pendente")
+@Getter
+@NoArgsConstructor
+public class UploadPendente {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String chave;
+
+    private Long idUsuario;
+
+    @Enumerated(EnumType.STRING)
+    private UserRole role;
+
+    private Integer tamanho;
+
+    private String imagemHash;
+
+    private int tentativas;
+
+    private LocalDateTime proximaTentativa;
+
+    private String ultimoErro;
+
+    public UploadPendente(String chave, Long idUsuario, UserRole role, Integer tamanho, String imagemHash) {
+        this.chave = chave;
+        this.idUsuario = idUsuario;
+        this.role = role;
+        this.tamanho = tamanho;
+        this.imagemHash = imagemHash;
+        this.tentativas = 0;
+        this.proximaTentativa = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,35 @@
+package com.devhub.api.domain.usuario;
+
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface UploadPendenteRepository extends JpaRepository<UploadPendente, Long> {
+
+    @Query("""
+    select u from UploadPendente u
+    where u.proximaTentativa <= :agora and u.tentativas < :maximoTentativas
+    order by u.proximaTentativa
+    """)
+    List<UploadPendente> listarProntos(LocalDateTime agora, int maximoTentativas, Pageable limite);
+
+    // por id, e não por merge: se o registro já foi apagado por um envio mais novo, não é recriado
+    @Modifying
+    @Transactional
+    @Query("""
+    update UploadPendente u
+    set u.tentativas = u.tentativas + 1, u.proximaTentativa = :proximaTentativa, u.ultimoErro = :erro
+    where u.id = :id
+    """)
+    int registrarFalha(Long id, LocalDateTime proximaTentativa, String erro);
+
+    // um envio novo torna obsoletos os pendentes anteriores do mesmo usuário
+    @Modifying
+    @Query("delete from UploadPendente u where u.idUsuario = :idUsuario and u.role = :role")
+    void removerDoUsuario(Long idUsuario, UserRole role);
+}
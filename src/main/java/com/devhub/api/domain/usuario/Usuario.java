@@ -30,10 +30,7 @@ public abstract class Usuario implements UserDetails {
     protected Boolean ativo;
 
     @JsonIgnore
-    @Lob
-    @Basic(fetch = FetchType.LAZY)
-    @Column(length = 10 * 1024 * 1024)
-    private byte[] imagem;
+    private String imagemHash;
 
     @Getter
     @Enumerated(EnumType.STRING)
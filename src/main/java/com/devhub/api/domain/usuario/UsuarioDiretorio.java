@@ -0,0 +1,90 @@
+package com.devhub.api.domain.usuario;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/*
+ * Uma linha por conta, de freelancer ou contratante, com índice único no e-mail: o login e a
+ * checagem de e-mail no cadastro resolvem e-mail -> (role, id, senha) numa consulta só, sem
+ * procurar nas duas tabelas. O e-mail é guardado em minúsculas. Contas excluídas ficam inativas
+ * e o login as recusa.
+ */
+@Entity
+@Table(name = "usuario_diretorio")
+@Getter
+@NoArgsConstructor
+public class UsuarioDiretorio implements UserDetails {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String email;
+
+    @Enumerated(EnumType.STRING)
+    private UserRole role;
+
+    private Long idUsuario;
+
+    private String senha;
+
+    private boolean ativo;
+
+    // tokens emitidos antes deste instante deixam de valer (senha trocada, conta excluída)
+    private LocalDateTime revogadoEm;
+
+    public UsuarioDiretorio(Usuario usuario) {
+        this.email = normalizarEmail(usuario.getEmail());
+        this.role = usuario.getRole();
+        this.idUsuario = usuario.getId();
+        this.senha = usuario.getSenha();
+        this.ativo = true;
+    }
+
+    public static String normalizarEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase();
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.getRole()));
+    }
+
+    @Override
+    public String getPassword() {
+        return senha;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return ativo;
+    }
+}
@@ -0,0 +1,56 @@
+package com.devhub.api.domain.usuario;
+
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface UsuarioDiretorioRepository extends JpaRepository<UsuarioDiretorio, Long> {
+
+    // o e-mail deve vir de UsuarioDiretorio.normalizarEmail
+    UsuarioDiretorio findByEmail(String email);
+
+    boolean existsByEmail(String email);
+
+    Optional<UsuarioDiretorio> findByRoleAndIdUsuario(UserRole role, Long idUsuario);
+
+    @Query("select u.email from UsuarioDiretorio u where u.email in ?1")
+    List<String> listarEmailsExistentes(Collection<String> emails);
+
+    @Modifying
+    @Transactional
+    @Query("""
+        update UsuarioDiretorio u set u.email = ?3
+        where u.role = ?1 and u.idUsuario = ?2
+            """)
+    int atualizarEmail(UserRole role, Long idUsuario, String email);
+
+    @Modifying
+    @Transactional
+    @Query("""
+        update UsuarioDiretorio u set u.senha = ?3
+        where u.role = ?1 and u.idUsuario = ?2
+            """)
+    int atualizarSenha(UserRole role, Long idUsuario, String senha);
+
+    @Modifying
+    @Transactional
+    @Query("""
+        update UsuarioDiretorio u set u.revogadoEm = ?3
+        where u.role = ?1 and u.idUsuario = ?2
+            """)
+    int revogar(UserRole role, Long idUsuario, LocalDateTime revogadoEm);
+
+    @Modifying
+    @Transactional
+    @Query("""
+        update UsuarioDiretorio u set u.ativo = false, u.revogadoEm = ?3
+        where u.role = ?1 and u.idUsuario = ?2
+            """)
+    int desativar(UserRole role, Long idUsuario, LocalDateTime revogadoEm);
+}
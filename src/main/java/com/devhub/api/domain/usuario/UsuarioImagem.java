@@ -0,0 +1,25 @@
+package com.devhub.api.domain.usuario;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/*
+ * A foto fica fora das tabelas freelancer/contratante: carregar um usuário (login, filtro de
+ * segurança, listagens) nunca traz o LONGBLOB junto. Só o hash fica na linha do usuário.
+ */
+@Entity
+@Table(name = "usuario_imagem")
+@Getter
+@NoArgsConstructor
+public class UsuarioImagem {
+
+    @EmbeddedId
+    private UsuarioImagemId id;
+
+    @Lob
+    @Column(length = 10 * 1024 * 1024)
+    private byte[] imagem;
+
+    private String imagemHash;
+}
@@ -0,0 +1,28 @@
+package com.devhub.api.domain.usuario;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Embeddable
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class UsuarioImagemId implements Serializable {
+
+    @Column(name = "id_usuario")
+    private Long idUsuario;
+
+    @Enumerated(EnumType.STRING)
+    private UserRole role;
+
+    private Integer tamanho;
+}
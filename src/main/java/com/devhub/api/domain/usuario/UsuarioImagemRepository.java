@@ -0,0 +1,19 @@
+package com.devhub.api.domain.usuario;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface UsuarioImagemRepository extends JpaRepository<UsuarioImagem, UsuarioImagemId> {
+
+    // values() reaproveita o que foi enviado no insert, então a foto trafega uma vez só
+    @Modifying
+    @Query(nativeQuery = true, value = """
+    insert into usuario_imagem (id_usuario, role, tamanho, imagem, imagem_hash)
+    values (:idUsuario, :role, :tamanho, :imagem, :hash)
+    on duplicate key update
+        imagem = values(imagem),
+        imagem_hash = values(imagem_hash)
+    """)
+    void salvar(Long idUsuario, String role, int tamanho, byte[] imagem, String hash);
+}
@@ -0,0 +1,30 @@
+package com.devhub.api.domain.usuario;
+
+public enum VarianteFoto {
+    PEQUENA(64),
+    MEDIA(256),
+    GRANDE(1024);
+
+    private final int tamanho;
+
+    VarianteFoto(int tamanho) {
+        this.tamanho = tamanho;
+    }
+
+    public int getTamanho() {
+        return tamanho;
+    }
+
+    // Menor variante que atende ao tamanho pedido; pedidos acima do máximo recebem a maior
+    public static VarianteFoto paraTamanho(Integer tamanho) {
+        if (tamanho == null) {
+            return GRANDE;
+        }
+        for (VarianteFoto variante : values()) {
+            if (variante.tamanho >= tamanho) {
+                return variante;
+            }
+        }
+        return GRANDE;
+    }
+}
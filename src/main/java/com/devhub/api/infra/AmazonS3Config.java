@@ -9,6 +9,7 @@ import lombok.*;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.context.annotation.PropertySource;
 
 @Configuration
@@ -39,6 +40,7 @@ public class AmazonS3Config {
     }
 
     @Bean
+    @Profile("!local")
     public AmazonS3 s3() {
         AWSCredentials credentials = new BasicSessionCredentials(accessKey, secret, sessionToken);
         return AmazonS3ClientBuilder.standard().withRegion(region).withCredentials(new AWSStaticCredentialsProvider(credentials)).build();
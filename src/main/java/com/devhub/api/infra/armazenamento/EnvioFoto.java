@@ -0,0 +1,137 @@
+package com.devhub.api.infra.armazenamento;
+
+import com.devhub.api.domain.usuario.UploadPendente;
+import com.devhub.api.domain.usuario.UploadPendenteRepository;
+import com.devhub.api.domain.usuario.UserRole;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.*;
+
+/*
+ * Envia as fotos ao ObjectStore fora da thread da requisição. Cada envio tem um registro em upload_pendente
+ * gravado junto com a foto; ele só é apagado quando o armazenamento confirma. Falhas reagendam o registro com
+ * espera exponencial e a varredura periódica retoma o que ficou para trás (fila cheia, restart); na última
+ * tentativa o registro é apagado e o erro vai para o log.
+ */
+@Slf4j
+@Component
+public class EnvioFoto {
+
+    @Autowired
+    private ObjectStore objectStore;
+    @Autowired
+    private UploadPendenteRepository repository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${api.upload.threads:2}")
+    private int threads;
+    @Value("${api.upload.fila:100}")
+    private int capacidadeFila;
+    @Value("${api.upload.maximo-tentativas:8}")
+    private int maximoTentativas;
+    @Value("${api.upload.espera-inicial:PT5S}")
+    private Duration esperaInicial;
+    @Value("${api.upload.espera-maxima:PT30M}")
+    private Duration esperaMaxima;
+
+    private final Set<Long> emAndamento = ConcurrentHashMap.newKeySet();
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void iniciar() {
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidadeFila), r -> {
+                    var thread = new Thread(r, "envio-foto");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executor.shutdown();
+    }
+
+    public static String chave(UserRole role, Long idUsuario, String nome) {
+        String arquivo = nome == null ? "" : nome.replaceAll("\\s+", "");
+        if (arquivo.isBlank()) arquivo = "desconhecido";
+        String pasta = role == UserRole.CONTRATANTE ? "contratantes" : "freelancers";
+        return pasta + "/images/" + idUsuario + "_" + nome + "/" + arquivo + "_profile-photo.jpg";
+    }
+
+    public void enviar(UploadPendente pendente, byte[] bytes) {
+        if (!emAndamento.add(pendente.getId())) {
+            return;
+        }
+        try {
+            executor.execute(() -> tentar(pendente, bytes));
+        } catch (RejectedExecutionException e) {
+            // fila cheia: o registro continua pendente e a próxima varredura tenta de novo
+            emAndamento.remove(pendente.getId());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${api.upload.intervalo-varredura:30000}")
+    public void reprocessar() {
+        var prontos = repository.listarProntos(LocalDateTime.now(), maximoTentativas, PageRequest.of(0, capacidadeFila));
+        for (UploadPendente pendente : prontos) {
+            if (emAndamento.contains(pendente.getId())) {
+                continue;
+            }
+            var bytes = jdbcTemplate.query(
+                    "select imagem from usuario_imagem where id_usuario = ? and role = ? and tamanho = ? and imagem_hash = ?",
+                    rs -> rs.next() ? rs.getBytes(1) : null,
+                    pendente.getIdUsuario(), pendente.getRole().getRole(), pendente.getTamanho(), pendente.getImagemHash());
+            if (bytes == null) {
+                // a foto foi trocada depois deste envio; o envio da versão nova tem registro próprio
+                repository.delete(pendente);
+                continue;
+            }
+            enviar(pendente, bytes);
+        }
+    }
+
+    void tentar(UploadPendente pendente, byte[] bytes) {
+        try {
+            // apagado enquanto esperava na fila = substituído por uma foto mais nova, que não deve ser sobrescrita
+            if (!repository.existsById(pendente.getId())) {
+                return;
+            }
+            objectStore.gravar(pendente.getChave(), bytes, MediaType.IMAGE_JPEG_VALUE);
+            repository.deleteById(pendente.getId());
+        } catch (RuntimeException e) {
+            String erro = String.valueOf(e.getMessage());
+            int tentativa = pendente.getTentativas() + 1;
+            if (tentativa >= maximoTentativas) {
+                // a foto segue no banco; sem o registro a varredura para de tentar este envio
+                repository.deleteById(pendente.getId());
+                log.error("Envio de {} abandonado após {} tentativas: {}", pendente.getChave(), tentativa, erro);
+                return;
+            }
+            repository.registrarFalha(pendente.getId(), LocalDateTime.now().plus(espera(pendente.getTentativas())),
+                    erro.substring(0, Math.min(erro.length(), 500)));
+            log.warn("Falha ao enviar {} (tentativa {}): {}", pendente.getChave(), tentativa, erro);
+        } finally {
+            emAndamento.remove(pendente.getId());
+        }
+    }
+
+    Duration espera(int tentativasAnteriores) {
+        long fator = 1L << Math.min(tentativasAnteriores, 20);
+        var espera = esperaInicial.multipliedBy(fator);
+        return espera.compareTo(esperaMaxima) > 0 ? esperaMaxima : espera;
+    }
+}
@@ -0,0 +1,25 @@
+package com.devhub.api.infra.armazenamento;
+
+import java.net.URL;
+import java.time.Instant;
+
+/*
+ * Armazenamento de objetos usado para as fotos. A implementação é escolhida pelo profile:
+ * ObjectStoreS3 por padrão e ObjectStoreLocal com o profile "local" (instalações de um nó só,
+ * desenvolvimento e benchmarks sem rede). Falhas são lançadas como RuntimeException.
+ */
+public interface ObjectStore {
+
+    void gravar(String chave, byte[] conteudo, String contentType);
+
+    // Conteúdo do objeto, ou null se ele não existe
+    byte[] ler(String chave);
+
+    // Tamanho em bytes, ou -1 se o objeto não existe
+    long tamanho(String chave);
+
+    void apagar(String chave);
+
+    // URL assinada para o cliente enviar o objeto com um PUT direto, sem passar pela API
+    URL urlEnvio(String chave, Instant expiraEm);
+}
@@ -0,0 +1,135 @@
+package com.devhub.api.infra.armazenamento;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.HexFormat;
+
+/*
+ * Grava os objetos em disco (raiz/chave). Cada escrita vai para um arquivo temporário no mesmo
+ * diretório e é publicada com um rename atômico, então um leitor nunca vê um arquivo pela metade.
+ * As URLs de envio imitam as pré-assinadas do S3: HMAC da chave e da expiração, conferido pelo
+ * ArmazenamentoLocalController que recebe o PUT.
+ */
+@Component
+@Profile("local")
+public class ObjectStoreLocal implements ObjectStore {
+
+    private final Path raiz;
+    private final byte[] segredo;
+    private final String urlBase;
+
+    public ObjectStoreLocal(@Value("${api.armazenamento.local.diretorio:armazenamento}") String diretorio,
+                            @Value("${api.armazenamento.local.segredo:}") String segredo,
+                            @Value("${api.armazenamento.local.url-base:http://localhost:8080}") String urlBase) {
+        this.raiz = Path.of(diretorio).toAbsolutePath().normalize();
+        // sem segredo configurado as URLs valem só até o próximo restart
+        this.segredo = segredo.isEmpty() ? new SecureRandom().generateSeed(32) : segredo.getBytes(StandardCharsets.UTF_8);
+        this.urlBase = urlBase;
+    }
+
+    @Override
+    public void gravar(String chave, byte[] conteudo, String contentType) {
+        Path destino = caminho(chave);
+        try {
+            Files.createDirectories(destino.getParent());
+            Path temporario = Files.createTempFile(destino.getParent(), ".envio", ".tmp");
+            try {
+                Files.write(temporario, conteudo);
+                Files.move(temporario, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporario);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao gravar " + chave, e);
+        }
+    }
+
+    @Override
+    public byte[] ler(String chave) {
+        try {
+            return Files.readAllBytes(caminho(chave));
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao ler " + chave, e);
+        }
+    }
+
+    @Override
+    public long tamanho(String chave) {
+        try {
+            return Files.size(caminho(chave));
+        } catch (NoSuchFileException e) {
+            return -1;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao ler " + chave, e);
+        }
+    }
+
+    @Override
+    public void apagar(String chave) {
+        try {
+            Files.deleteIfExists(caminho(chave));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao apagar " + chave, e);
+        }
+    }
+
+    @Override
+    public URL urlEnvio(String chave, Instant expiraEm) {
+        caminho(chave);
+        long expira = expiraEm.getEpochSecond();
+        try {
+            return UriComponentsBuilder.fromHttpUrl(urlBase)
+                    .path("/armazenamento/").path(chave)
+                    .queryParam("expira", expira)
+                    .queryParam("assinatura", assinar(chave, expira))
+                    .build().toUri().toURL();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public boolean assinaturaValida(String chave, long expira, String assinatura) {
+        if (assinatura == null || Instant.now().getEpochSecond() > expira) {
+            return false;
+        }
+        return MessageDigest.isEqual(assinar(chave, expira).getBytes(StandardCharsets.US_ASCII),
+                assinatura.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private String assinar(String chave, long expira) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(segredo, "HmacSHA256"));
+            return HexFormat.of().formatHex(mac.doFinal((chave + "\n" + expira).getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Path caminho(String chave) {
+        Path caminho = raiz.resolve(chave).normalize();
+        if (!caminho.startsWith(raiz) || caminho.equals(raiz)) {
+            throw new IllegalArgumentException("Chave inválida: " + chave);
+        }
+        return caminho;
+    }
+}
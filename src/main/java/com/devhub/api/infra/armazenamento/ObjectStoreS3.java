@@ -0,0 +1,76 @@
+package com.devhub.api.infra.armazenamento;
+
+import com.amazonaws.HttpMethod;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+@Component
+@Profile("!local")
+public class ObjectStoreS3 implements ObjectStore {
+
+    private static final ObjectTagging TAGGING = new ObjectTagging(List.of(new Tag("environment", "public")));
+
+    @Autowired
+    private AmazonS3 s3;
+
+    @Value("${bucketName}")
+    private String bucketName;
+
+    @Override
+    public void gravar(String chave, byte[] conteudo, String contentType) {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(conteudo.length);
+        metadata.setContentType(contentType);
+        s3.putObject(new PutObjectRequest(bucketName, chave, new ByteArrayInputStream(conteudo), metadata)
+                .withTagging(TAGGING));
+    }
+
+    @Override
+    public byte[] ler(String chave) {
+        try (S3Object objeto = s3.getObject(bucketName, chave)) {
+            return objeto.getObjectContent().readAllBytes();
+        } catch (AmazonS3Exception e) {
+            if (e.getStatusCode() == 404) {
+                return null;
+            }
+            throw e;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao ler " + chave, e);
+        }
+    }
+
+    @Override
+    public long tamanho(String chave) {
+        try {
+            return s3.getObjectMetadata(bucketName, chave).getContentLength();
+        } catch (AmazonS3Exception e) {
+            if (e.getStatusCode() == 404) {
+                return -1;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void apagar(String chave) {
+        s3.deleteObject(bucketName, chave);
+    }
+
+    @Override
+    public URL urlEnvio(String chave, Instant expiraEm) {
+        return s3.generatePresignedUrl(new GeneratePresignedUrlRequest(bucketName, chave, HttpMethod.PUT)
+                .withExpiration(Date.from(expiraEm)));
+    }
+}
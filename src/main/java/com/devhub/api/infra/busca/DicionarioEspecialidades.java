@@ -0,0 +1,118 @@
+package com.devhub.api.infra.busca;
+
+import com.devhub.api.domain.especialidade.EspecialidadesEnum;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/*
+ * Dicionário imutável com os nomes de exibição de EspecialidadesEnum, montado uma única vez.
+ * Guarda todos os sufixos normalizados em ordem, então prefixo e infixo são uma busca binária
+ * seguida de uma varredura curta; as respostas reutilizam as Strings pré-computadas.
+ */
+@Component
+public class DicionarioEspecialidades {
+
+    private final String[] nomes;
+    private final String[] sufixos;
+    private final int[] entradaDoSufixo;
+    private final boolean[] sufixoInicial;
+    private final List<String> todos;
+    private final String versao;
+
+    public DicionarioEspecialidades() {
+        var especialidades = Arrays.stream(EspecialidadesEnum.values())
+                .sorted(Comparator.comparing((EspecialidadesEnum e) -> NormalizadorTexto.normalizar(e.getEspecialidade()))
+                        .thenComparing(EspecialidadesEnum::getEspecialidade))
+                .toArray(EspecialidadesEnum[]::new);
+        var entradas = Arrays.stream(especialidades).map(EspecialidadesEnum::getEspecialidade).toArray(String[]::new);
+        this.nomes = entradas;
+
+        record Sufixo(String texto, int entrada, boolean inicial) {
+        }
+        List<Sufixo> lista = new ArrayList<>();
+        for (int i = 0; i < especialidades.length; i++) {
+            // o nome da constante (C_SHARP -> "c sharp") continua valendo como busca, como era antes
+            Set<String> formas = new LinkedHashSet<>();
+            formas.add(NormalizadorTexto.normalizar(especialidades[i].getEspecialidade()));
+            formas.add(NormalizadorTexto.normalizar(especialidades[i].name().replace('_', ' ')));
+            for (String forma : formas) {
+                for (int inicio = 0; inicio < forma.length(); inicio++) {
+                    lista.add(new Sufixo(forma.substring(inicio), i, inicio == 0));
+                }
+            }
+        }
+        lista.sort(Comparator.comparing(Sufixo::texto));
+
+        this.sufixos = new String[lista.size()];
+        this.entradaDoSufixo = new int[lista.size()];
+        this.sufixoInicial = new boolean[lista.size()];
+        for (int i = 0; i < lista.size(); i++) {
+            sufixos[i] = lista.get(i).texto();
+            entradaDoSufixo[i] = lista.get(i).entrada();
+            sufixoInicial[i] = lista.get(i).inicial();
+        }
+
+        this.todos = List.of(entradas);
+        this.versao = "\"" + Integer.toHexString(todos.hashCode()) + "\"";
+    }
+
+    public List<String> pesquisar(String termo) {
+        String consulta = termo == null ? "" : NormalizadorTexto.normalizar(termo.replace('_', ' '));
+        if (consulta.isEmpty()) {
+            return todos;
+        }
+
+        long[] prefixos = new long[(nomes.length + Long.SIZE - 1) / Long.SIZE];
+        long[] infixos = new long[prefixos.length];
+        int total = 0;
+        for (int i = primeiroSufixoMaiorOuIgual(consulta); i < sufixos.length && sufixos[i].startsWith(consulta); i++) {
+            int entrada = entradaDoSufixo[i];
+            long bit = 1L << (entrada % Long.SIZE);
+            int palavra = entrada / Long.SIZE;
+            if (((prefixos[palavra] | infixos[palavra]) & bit) == 0) {
+                total++;
+            }
+            if (sufixoInicial[i]) {
+                prefixos[palavra] |= bit;
+                infixos[palavra] &= ~bit;
+            } else if ((prefixos[palavra] & bit) == 0) {
+                infixos[palavra] |= bit;
+            }
+        }
+
+        List<String> resultado = new ArrayList<>(total);
+        adicionarMarcados(prefixos, resultado);
+        adicionarMarcados(infixos, resultado);
+        return resultado;
+    }
+
+    public String getVersao() {
+        return versao;
+    }
+
+    private void adicionarMarcados(long[] mascara, List<String> resultado) {
+        for (int palavra = 0; palavra < mascara.length; palavra++) {
+            long bits = mascara[palavra];
+            while (bits != 0) {
+                int bit = Long.numberOfTrailingZeros(bits);
+                resultado.add(nomes[palavra * Long.SIZE + bit]);
+                bits &= bits - 1;
+            }
+        }
+    }
+
+    private int primeiroSufixoMaiorOuIgual(String consulta) {
+        int baixo = 0;
+        int alto = sufixos.length;
+        while (baixo < alto) {
+            int meio = (baixo + alto) >>> 1;
+            if (sufixos[meio].compareTo(consulta) < 0) {
+                baixo = meio + 1;
+            } else {
+                alto = meio;
+            }
+        }
+        return baixo;
+    }
+}
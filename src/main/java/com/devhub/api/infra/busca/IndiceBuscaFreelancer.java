@@ -0,0 +1,158 @@
+package com.devhub.api.infra.busca;
+
+import com.devhub.api.domain.especialidade.EspecialidadeFreelancerDTO;
+import com.devhub.api.domain.especialidade.EspecialidadeRepository;
+import com.devhub.api.domain.freelancer.FreelancerRepository;
+import com.devhub.api.domain.freelancer.dto.FreelancerIndexacaoDTO;
+import com.devhub.api.domain.funcao.Funcao;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/*
+ * Índice invertido em memória sobre função, especialidades e nome dos freelancers ativos.
+ * Os termos ficam num dicionário ordenado, então a busca por prefixo é um subMap.
+ * Escritas são serializadas; leituras não bloqueiam.
+ */
+@Component
+public class IndiceBuscaFreelancer {
+
+    private static final int PESO_FUNCAO = 3;
+    private static final int PESO_ESPECIALIDADE = 2;
+    private static final int PESO_NOME = 1;
+    private static final int BONUS_TERMO_EXATO = 1;
+
+    private static final Pattern SEPARADORES = Pattern.compile("[\\s_\\-/,;]+");
+
+    @Autowired
+    private FreelancerRepository freelancerRepository;
+    @Autowired
+    private EspecialidadeRepository especialidadeRepository;
+
+    private final ConcurrentSkipListMap<String, Map<Long, Integer>> termos = new ConcurrentSkipListMap<>();
+    private final Map<Long, Documento> documentos = new ConcurrentHashMap<>();
+
+    private record Documento(String nome, Funcao funcao, List<String> especialidades, Map<String, Integer> termos) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        Map<Long, List<String>> especialidades = new HashMap<>();
+        for (EspecialidadeFreelancerDTO e : especialidadeRepository.listarDeFreelancersAtivos()) {
+            especialidades.computeIfAbsent(e.idFreelancer(), id -> new ArrayList<>()).add(e.descricao());
+        }
+        for (FreelancerIndexacaoDTO f : freelancerRepository.listarAtivosParaIndexacao()) {
+            indexar(f.id(), f.nome(), f.funcao(), especialidades.getOrDefault(f.id(), List.of()));
+        }
+    }
+
+    public synchronized void indexar(Long id, String nome, Funcao funcao, List<String> especialidades) {
+        remover(id);
+        Map<String, Integer> termosDoc = new HashMap<>();
+        adicionarTermos(termosDoc, nome, PESO_NOME);
+        if (funcao != null) {
+            adicionarTermos(termosDoc, funcao.name(), PESO_FUNCAO);
+            adicionarTermos(termosDoc, funcao.getFuncao(), PESO_FUNCAO);
+        }
+        for (String especialidade : especialidades) {
+            adicionarTermos(termosDoc, especialidade, PESO_ESPECIALIDADE);
+        }
+        termosDoc.forEach((termo, peso) ->
+                termos.computeIfAbsent(termo, t -> new ConcurrentHashMap<>()).put(id, peso));
+        documentos.put(id, new Documento(nome, funcao, List.copyOf(especialidades), termosDoc));
+    }
+
+    public synchronized void atualizarDados(Long id, String nome, Funcao funcao) {
+        var documento = documentos.get(id);
+        indexar(id, nome, funcao, documento == null ? List.of() : documento.especialidades());
+    }
+
+    public synchronized void adicionarEspecialidades(Long id, List<String> novasEspecialidades) {
+        var documento = documentos.get(id);
+        if (documento == null) {
+            return;
+        }
+        List<String> especialidades = new ArrayList<>(documento.especialidades());
+        especialidades.addAll(novasEspecialidades);
+        indexar(id, documento.nome(), documento.funcao(), especialidades);
+    }
+
+    public synchronized void remover(Long id) {
+        var documento = documentos.remove(id);
+        if (documento == null) {
+            return;
+        }
+        for (String termo : documento.termos().keySet()) {
+            termos.computeIfPresent(termo, (t, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    public List<Long> buscar(String pesquisa, int limite) {
+        List<String> tokens = tokenizar(pesquisa);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Integer> pontuacao = null;
+        for (String token : tokens) {
+            Map<Long, Integer> doToken = pontuarToken(token);
+            if (pontuacao == null) {
+                pontuacao = doToken;
+            } else {
+                pontuacao.keySet().retainAll(doToken.keySet());
+                pontuacao.replaceAll((id, pontos) -> pontos + doToken.get(id));
+            }
+            if (pontuacao.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        return pontuacao.entrySet().stream()
+                .sorted(Map.Entry.<Long, Integer>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limite)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    public int tamanho() {
+        return documentos.size();
+    }
+
+    private Map<Long, Integer> pontuarToken(String token) {
+        Map<Long, Integer> melhores = new HashMap<>();
+        ConcurrentNavigableMap<String, Map<Long, Integer>> candidatos =
+                termos.subMap(token, true, token + Character.MAX_VALUE, true);
+        for (var termo : candidatos.entrySet()) {
+            int bonus = termo.getKey().equals(token) ? BONUS_TERMO_EXATO : 0;
+            termo.getValue().forEach((id, peso) -> melhores.merge(id, peso + bonus, Math::max));
+        }
+        return melhores;
+    }
+
+    private static void adicionarTermos(Map<String, Integer> termosDoc, String texto, int peso) {
+        for (String termo : tokenizar(texto)) {
+            termosDoc.merge(termo, peso, Math::max);
+        }
+    }
+
+    static List<String> tokenizar(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(SEPARADORES.split(NormalizadorTexto.normalizar(texto)))
+                .filter(t -> !t.isEmpty())
+                .distinct()
+                .toList();
+    }
+}
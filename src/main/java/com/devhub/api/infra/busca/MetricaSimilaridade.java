@@ -0,0 +1,13 @@
+package com.devhub.api.infra.busca;
+
+public enum MetricaSimilaridade {
+    JACCARD,
+    SOBREPOSICAO;
+
+    double calcular(int intersecao, int tamanhoFiltro, int tamanhoPerfil) {
+        return switch (this) {
+            case JACCARD -> (double) intersecao / (tamanhoFiltro + tamanhoPerfil - intersecao);
+            case SOBREPOSICAO -> (double) intersecao / Math.min(tamanhoFiltro, tamanhoPerfil);
+        };
+    }
+}
@@ -0,0 +1,196 @@
+package com.devhub.api.infra.busca;
+
+import com.devhub.api.domain.especialidade.EspecialidadeFreelancerDTO;
+import com.devhub.api.domain.especialidade.EspecialidadeRepository;
+import com.devhub.api.domain.especialidade.EspecialidadesEnum;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+ * Guarda as especialidades de cada freelancer como um bitset sobre os ordinais de EspecialidadesEnum.
+ * Os bitsets ficam lado a lado num long[] (PALAVRAS longs por perfil), então comparar com um filtro
+ * é uma varredura sequencial de AND/OR + bitCount, sem objetos por perfil.
+ */
+@Component
+public class MotorSimilaridadeEspecialidades {
+
+    private static final int PALAVRAS = (EspecialidadesEnum.values().length + Long.SIZE - 1) / Long.SIZE;
+    private static final Map<String, Integer> ORDINAIS = new HashMap<>();
+
+    static {
+        for (EspecialidadesEnum especialidade : EspecialidadesEnum.values()) {
+            ORDINAIS.put(NormalizadorTexto.normalizar(especialidade.getEspecialidade()), especialidade.ordinal());
+            ORDINAIS.put(NormalizadorTexto.normalizar(especialidade.name().replace('_', ' ')), especialidade.ordinal());
+        }
+    }
+
+    @Autowired
+    private EspecialidadeRepository especialidadeRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> posicoes = new HashMap<>();
+    private long[] ids = new long[256];
+    private long[] mascaras = new long[256 * PALAVRAS];
+    private int tamanho;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        Map<Long, List<String>> especialidades = new HashMap<>();
+        for (EspecialidadeFreelancerDTO e : especialidadeRepository.listarDeFreelancersAtivos()) {
+            especialidades.computeIfAbsent(e.idFreelancer(), id -> new ArrayList<>()).add(e.descricao());
+        }
+        especialidades.forEach(this::adicionarEspecialidades);
+    }
+
+    public void adicionarEspecialidades(Long idFreelancer, List<String> descricoes) {
+        long[] mascara = paraMascara(descricoes);
+        if (tamanhoDa(mascara) == 0) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Integer posicao = posicoes.get(idFreelancer);
+            if (posicao == null) {
+                posicao = tamanho++;
+                garantirCapacidade(tamanho);
+                ids[posicao] = idFreelancer;
+                posicoes.put(idFreelancer, posicao);
+            }
+            int base = posicao * PALAVRAS;
+            for (int i = 0; i < PALAVRAS; i++) {
+                mascaras[base + i] |= mascara[i];
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remover(Long idFreelancer) {
+        lock.writeLock().lock();
+        try {
+            Integer posicao = posicoes.remove(idFreelancer);
+            if (posicao == null) {
+                return;
+            }
+            int ultima = --tamanho;
+            if (posicao != ultima) {
+                ids[posicao] = ids[ultima];
+                System.arraycopy(mascaras, ultima * PALAVRAS, mascaras, posicao * PALAVRAS, PALAVRAS);
+                posicoes.put(ids[posicao], posicao);
+            }
+            Arrays.fill(mascaras, ultima * PALAVRAS, (ultima + 1) * PALAVRAS, 0L);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Long> maisSimilares(List<String> filtros, Long ignorar, int k, MetricaSimilaridade metrica) {
+        long[] filtro = paraMascara(filtros);
+        int tamanhoFiltro = tamanhoDa(filtro);
+        if (tamanhoFiltro == 0 || k < 1) {
+            return List.of();
+        }
+
+        long[] melhoresIds = new long[k];
+        double[] melhoresNotas = new double[k];
+        int[] melhoresIntersecoes = new int[k];
+        int encontrados = 0;
+        long idIgnorado = ignorar == null ? Long.MIN_VALUE : ignorar;
+
+        lock.readLock().lock();
+        try {
+            for (int p = 0; p < tamanho; p++) {
+                int base = p * PALAVRAS;
+                int intersecao = 0;
+                int tamanhoPerfil = 0;
+                for (int i = 0; i < PALAVRAS; i++) {
+                    long palavra = mascaras[base + i];
+                    intersecao += Long.bitCount(palavra & filtro[i]);
+                    tamanhoPerfil += Long.bitCount(palavra);
+                }
+                if (intersecao == 0 || ids[p] == idIgnorado) {
+                    continue;
+                }
+                double nota = metrica.calcular(intersecao, tamanhoFiltro, tamanhoPerfil);
+                if (encontrados == k && !melhor(nota, intersecao, ids[p],
+                        melhoresNotas[k - 1], melhoresIntersecoes[k - 1], melhoresIds[k - 1])) {
+                    continue;
+                }
+                int j = encontrados < k ? encontrados++ : k - 1;
+                while (j > 0 && melhor(nota, intersecao, ids[p],
+                        melhoresNotas[j - 1], melhoresIntersecoes[j - 1], melhoresIds[j - 1])) {
+                    melhoresIds[j] = melhoresIds[j - 1];
+                    melhoresNotas[j] = melhoresNotas[j - 1];
+                    melhoresIntersecoes[j] = melhoresIntersecoes[j - 1];
+                    j--;
+                }
+                melhoresIds[j] = ids[p];
+                melhoresNotas[j] = nota;
+                melhoresIntersecoes[j] = intersecao;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Long> resultado = new ArrayList<>(encontrados);
+        for (int i = 0; i < encontrados; i++) {
+            resultado.add(melhoresIds[i]);
+        }
+        return resultado;
+    }
+
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return tamanho;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static boolean melhor(double nota, int intersecao, long id,
+                                  double outraNota, int outraIntersecao, long outroId) {
+        if (nota != outraNota) {
+            return nota > outraNota;
+        }
+        if (intersecao != outraIntersecao) {
+            return intersecao > outraIntersecao;
+        }
+        return id < outroId;
+    }
+
+    private static long[] paraMascara(List<String> descricoes) {
+        long[] mascara = new long[PALAVRAS];
+        for (String descricao : descricoes) {
+            if (descricao == null) {
+                continue;
+            }
+            Integer ordinal = ORDINAIS.get(NormalizadorTexto.normalizar(descricao));
+            if (ordinal != null) {
+                mascara[ordinal / Long.SIZE] |= 1L << (ordinal % Long.SIZE);
+            }
+        }
+        return mascara;
+    }
+
+    private static int tamanhoDa(long[] mascara) {
+        int total = 0;
+        for (long palavra : mascara) {
+            total += Long.bitCount(palavra);
+        }
+        return total;
+    }
+
+    private void garantirCapacidade(int perfis) {
+        if (perfis > ids.length) {
+            int novaCapacidade = Math.max(perfis, ids.length * 2);
+            ids = Arrays.copyOf(ids, novaCapacidade);
+            mascaras = Arrays.copyOf(mascaras, novaCapacidade * PALAVRAS);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.devhub.api.infra.cadastro;
+
+import com.devhub.api.domain.contratante.ContratanteRepository;
+import com.devhub.api.domain.freelancer.FreelancerRepository;
+import com.devhub.api.domain.usuario.IdentificadoresUsuarioDTO;
+import com.devhub.api.domain.usuario.UsuarioDiretorio;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.BiFunction;
+
+/*
+ * Filtro de Bloom sobre e-mails, CPFs e CNPJs já cadastrados. Um "não" faz o cadastro pular a consulta
+ * ao banco; um "talvez" cai na consulta por índice. Bits só são ligados, então exclusões e alterações
+ * deixam falsos positivos. O filtro só vê as escritas desta instância: um "não" errado (cadastro feito
+ * em outro nó) é segurado pela constraint única da coluna, que vira 409 no insert. Por isso o telefone,
+ * que precisa ser único entre freelancers e contratantes sem constraint que cubra as duas tabelas, não
+ * passa por aqui e é sempre consultado. Enquanto a carga inicial não termina, tudo responde "talvez".
+ */
+@Slf4j
+@Component
+public class FiltroIdentificadores {
+
+    public enum Campo { EMAIL, CPF, CNPJ }
+
+    @Value("${api.cadastro.filtro.capacidade:1000000}")
+    private long capacidade;
+    @Value("${api.cadastro.filtro.falsos-positivos:0.01}")
+    private double taxaFalsosPositivos;
+    @Value("${api.cadastro.filtro.lote-carga:10000}")
+    private int tamanhoLote;
+
+    @Autowired
+    private FreelancerRepository freelancerRepository;
+    @Autowired
+    private ContratanteRepository contratanteRepository;
+
+    private AtomicLongArray bits;
+    private long totalBits;
+    private int funcoesHash;
+    private final AtomicLong elementos = new AtomicLong();
+    private volatile boolean pronto;
+
+    @PostConstruct
+    void iniciar() {
+        double ln2 = Math.log(2);
+        totalBits = Math.max(64, (long) Math.ceil(-capacidade * Math.log(taxaFalsosPositivos) / (ln2 * ln2)));
+        funcoesHash = Math.max(1, (int) Math.round((double) totalBits / capacidade * ln2));
+        bits = new AtomicLongArray((int) ((totalBits + 63) / 64));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        carregar(freelancerRepository::listarIdentificadores, Campo.CPF);
+        carregar(contratanteRepository::listarIdentificadores, Campo.CNPJ);
+        pronto = true;
+        log.info("Filtro de identificadores carregado com {} valores ({} bits, {} funções de hash)",
+                elementos.get(), totalBits, funcoesHash);
+    }
+
+    // Lê a tabela em lotes por id, para a carga não manter todos os usuários em memória de uma vez
+    private void carregar(BiFunction<Long, Pageable, List<IdentificadoresUsuarioDTO>> consulta, Campo documento) {
+        long ultimo = 0;
+        List<IdentificadoresUsuarioDTO> lote;
+        do {
+            lote = consulta.apply(ultimo, PageRequest.of(0, tamanhoLote));
+            for (IdentificadoresUsuarioDTO usuario : lote) {
+                adicionar(usuario.email(), documento, usuario.documento());
+                ultimo = usuario.id();
+            }
+        } while (lote.size() == tamanhoLote);
+    }
+
+    public boolean talvezContenha(Campo campo, String valor) {
+        if (!pronto) {
+            return true;
+        }
+        var chave = normalizar(campo, valor);
+        if (chave == null) {
+            return false;
+        }
+        long hash = hash(chave);
+        long h1 = hash;
+        long h2 = (hash >>> 32) | 1;
+        for (int i = 0; i < funcoesHash; i++) {
+            long posicao = Math.floorMod(h1 + i * h2, totalBits);
+            if ((bits.get((int) (posicao >>> 6)) & (1L << posicao)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void adicionar(Campo campo, String valor) {
+        var chave = normalizar(campo, valor);
+        if (chave == null) {
+            return;
+        }
+        long hash = hash(chave);
+        long h1 = hash;
+        long h2 = (hash >>> 32) | 1;
+        for (int i = 0; i < funcoesHash; i++) {
+            long posicao = Math.floorMod(h1 + i * h2, totalBits);
+            int palavra = (int) (posicao >>> 6);
+            long mascara = 1L << posicao;
+            long atual;
+            do {
+                atual = bits.get(palavra);
+            } while ((atual & mascara) == 0 && !bits.compareAndSet(palavra, atual, atual | mascara));
+        }
+        if (elementos.incrementAndGet() == capacidade) {
+            log.warn("Filtro de identificadores atingiu a capacidade de {}; a taxa de falsos positivos vai subir", capacidade);
+        }
+    }
+
+    public void adicionar(String email, Campo documento, String valorDocumento) {
+        adicionar(Campo.EMAIL, email);
+        adicionar(documento, valorDocumento);
+    }
+
+    // Documentos perdem a máscara; juntar valores só aumenta os "talvez", que o banco resolve
+    private static String normalizar(Campo campo, String valor) {
+        if (valor == null) {
+            return null;
+        }
+        var normalizado = campo == Campo.EMAIL
+                ? UsuarioDiretorio.normalizarEmail(valor)
+                : valor.replaceAll("\\D", "");
+        return campo.name() + ":" + (normalizado.isEmpty() ? valor : normalizado);
+    }
+
+    // FNV-1a de 64 bits seguido da finalização do MurmurHash3 para espalhar os bits altos
+    private static long hash(String chave) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : chave.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
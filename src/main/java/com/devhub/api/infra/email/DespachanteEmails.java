@@ -0,0 +1,177 @@
+package com.devhub.api.infra.email;
+
+import com.devhub.api.domain.email.EmailPendente;
+import com.devhub.api.domain.email.EmailPendenteRepository;
+import com.devhub.api.domain.email.MetricasEmailDTO;
+import com.devhub.api.domain.email.StatusEmail;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Esvazia a caixa de saída em lotes. Cada lote é reservado numa transação curta (FOR UPDATE SKIP LOCKED,
+ * status EM_ENVIO com prazo em proxima_tentativa), então outra instância não pega as mesmas linhas; se
+ * este processo cair no meio, a reserva vence e o lote volta à fila. O lote vai numa única chamada a
+ * JavaMailSender.send, que abre uma conexão SMTP e manda todas as mensagens por ela, e o resultado de
+ * cada mensagem é gravado separadamente. Falhas voltam para a fila com espera exponencial; depois de
+ * tentativas-maximas o e-mail é descartado. Nenhuma transação fica aberta durante a conversa com o SMTP.
+ */
+@Slf4j
+@Component
+public class DespachanteEmails {
+
+    @Autowired
+    private EmailPendenteRepository repository;
+    @Autowired
+    private JavaMailSender mailSender;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${spring.mail.username:}")
+    private String remetente;
+    @Value("${api.email.lote:50}")
+    private int tamanhoLote;
+    @Value("${api.email.tentativas-maximas:8}")
+    private int tentativasMaximas;
+    @Value("${api.email.espera-inicial:PT30S}")
+    private Duration esperaInicial;
+    @Value("${api.email.espera-maxima:PT1H}")
+    private Duration esperaMaxima;
+    @Value("${api.email.reserva:PT5M}")
+    private Duration reserva;
+    @Value("${api.email.retencao:P7D}")
+    private Duration retencao;
+
+    private final AtomicLong enviados = new AtomicLong();
+    private final AtomicLong falhas = new AtomicLong();
+    private final AtomicLong descartados = new AtomicLong();
+    private final AtomicLong lotes = new AtomicLong();
+    private final AtomicLong atrasoTotalMs = new AtomicLong();
+    private final AtomicLong duracaoTotalLotesMs = new AtomicLong();
+
+    @Scheduled(fixedDelayString = "${api.email.intervalo-envio:5000}")
+    public void despachar() {
+        List<EmailPendente> lote;
+        do {
+            lote = reservar();
+            if (!lote.isEmpty()) {
+                enviar(lote);
+            }
+        } while (lote.size() == tamanhoLote);
+    }
+
+    List<EmailPendente> reservar() {
+        return transactionTemplate.execute(status -> {
+            var agora = LocalDateTime.now();
+            var lote = repository.listarProntos(agora, PageRequest.of(0, tamanhoLote));
+            lote.forEach(email -> email.reservar(agora.plus(reserva)));
+            return lote;
+        });
+    }
+
+    void enviar(List<EmailPendente> lote) {
+        var mensagens = new SimpleMailMessage[lote.size()];
+        for (int i = 0; i < lote.size(); i++) {
+            var email = lote.get(i);
+            var mensagem = new SimpleMailMessage();
+            if (!remetente.isBlank()) {
+                mensagem.setFrom(remetente);
+            }
+            mensagem.setTo(email.getDestinatario());
+            mensagem.setSubject(email.getAssunto());
+            mensagem.setText(email.getCorpo());
+            mensagens[i] = mensagem;
+        }
+
+        Map<Object, Exception> falhasDoLote = Map.of();
+        long inicio = System.nanoTime();
+        try {
+            mailSender.send(mensagens);
+        } catch (MailSendException e) {
+            // inclui a falha de conexão, que chega com todas as mensagens do lote
+            falhasDoLote = e.getFailedMessages();
+        } catch (MailException e) {
+            Map<Object, Exception> todas = new IdentityHashMap<>();
+            for (SimpleMailMessage mensagem : mensagens) {
+                todas.put(mensagem, e);
+            }
+            falhasDoLote = todas;
+        }
+        duracaoTotalLotesMs.addAndGet((System.nanoTime() - inicio) / 1_000_000);
+        lotes.incrementAndGet();
+
+        var agora = LocalDateTime.now();
+        for (int i = 0; i < lote.size(); i++) {
+            var email = lote.get(i);
+            var erro = falhasDoLote.get(mensagens[i]);
+            if (erro == null) {
+                email.marcarEnviado(agora);
+                enviados.incrementAndGet();
+                atrasoTotalMs.addAndGet(Duration.between(email.getCriadoEm(), agora).toMillis());
+                gravar(email);
+                continue;
+            }
+            falhas.incrementAndGet();
+            email.registrarFalha(erro.getMessage(), agora.plus(espera(email.getTentativas() + 1)));
+            if (email.getTentativas() >= tentativasMaximas) {
+                email.descartar();
+                descartados.incrementAndGet();
+                log.warn("E-mail {} para {} descartado após {} tentativas: {}",
+                        email.getId(), email.getDestinatario(), email.getTentativas(), erro.getMessage());
+            }
+            gravar(email);
+        }
+        if (!falhasDoLote.isEmpty()) {
+            log.info("Lote de {} e-mails enviado com {} falhas", lote.size(), falhasDoLote.size());
+        }
+    }
+
+    // Cada resultado numa transação própria: uma gravação que falha não faz o lote inteiro ser reenviado,
+    // só aquela mensagem, quando a reserva vencer
+    private void gravar(EmailPendente email) {
+        try {
+            repository.save(email);
+        } catch (RuntimeException e) {
+            log.error("Não foi possível gravar o resultado do e-mail {}; será reenviado quando a reserva vencer",
+                    email.getId(), e);
+        }
+    }
+
+    // espera-inicial dobrando a cada tentativa, limitada a espera-maxima
+    Duration espera(int tentativa) {
+        var espera = esperaInicial.multipliedBy(1L << Math.min(tentativa - 1, 20));
+        return espera.compareTo(esperaMaxima) > 0 ? esperaMaxima : espera;
+    }
+
+    @Scheduled(fixedDelayString = "${api.email.intervalo-limpeza:3600000}")
+    public void limpar() {
+        int removidos = repository.removerEnviadosAntes(LocalDateTime.now().minus(retencao));
+        if (removidos > 0) {
+            log.info("{} e-mails enviados removidos da caixa de saída", removidos);
+        }
+    }
+
+    public MetricasEmailDTO metricas() {
+        long totalEnviados = enviados.get();
+        long totalLotes = lotes.get();
+        return new MetricasEmailDTO(totalEnviados, falhas.get(), descartados.get(), totalLotes,
+                repository.countByStatus(StatusEmail.PENDENTE),
+                totalEnviados == 0 ? null : (double) atrasoTotalMs.get() / totalEnviados,
+                totalLotes == 0 ? null : (double) duracaoTotalLotesMs.get() / totalLotes);
+    }
+}
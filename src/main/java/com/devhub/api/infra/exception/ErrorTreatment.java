@@ -2,11 +2,13 @@ package com.devhub.api.infra.exception;
 
 import jakarta.persistence.EntityNotFoundException;
 import org.apache.coyote.Response;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.validation.FieldError;
@@ -34,7 +36,8 @@ public class ErrorTreatment {
         return ResponseEntity.badRequest().body(ex.getMessage());
     }
 
-    @ExceptionHandler(BadCredentialsException.class)
+    // conta desativada responde igual a senha errada, para não revelar quais e-mails existem
+    @ExceptionHandler({BadCredentialsException.class, DisabledException.class})
     public ResponseEntity tratarErroBadCredentials() {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Email e/ou senha inválidos");
     }
@@ -47,6 +50,16 @@ public class ErrorTreatment {
         return ResponseEntity.status(ex.getStatusCode()).body(ex.getBody().getDetail());
     }
 
+    // Dois cadastros simultâneos passam pela checagem prévia; o índice único decide e o perdedor recebe 409.
+    // As demais violações (NOT NULL, chave estrangeira, valor longo) são erros de verdade e seguem como 500
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity tratarErroIntegridade(DataIntegrityViolationException ex) {
+        if (!ViolacaoIntegridade.chaveDuplicada(ex)) {
+            return tratarErro500(ex);
+        }
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(ViolacaoIntegridade.descrever(ex));
+    }
+
     @ExceptionHandler(AccessDeniedException.class)
     public ResponseEntity tratarErroAcessoNegado() {
         return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Acesso negado");
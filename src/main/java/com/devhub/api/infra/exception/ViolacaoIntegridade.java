@@ -0,0 +1,99 @@
+package com.devhub.api.infra.exception;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/*
+ * Traduz violações de integridade do banco. Só chave duplicada vira conflito de cadastro; NOT NULL,
+ * valor longo demais e chave estrangeira são erros de dados ou de código e precisam aparecer como tal.
+ * Reconhece as mensagens do MySQL e do H2.
+ */
+public final class ViolacaoIntegridade {
+
+    private static final int MYSQL_CHAVE_DUPLICADA = 1062;
+    private static final int MYSQL_COLUNA_NULA = 1048;
+    private static final int MYSQL_VALOR_LONGO = 1406;
+    private static final String H2_CHAVE_DUPLICADA = "23505";
+    private static final String H2_COLUNA_NULA = "23502";
+    private static final String VALOR_LONGO = "22001";
+
+    // MySQL: "for key 'freelancer.telefone'"; H2: "ON PUBLIC.FREELANCER(TELEFONE NULLS FIRST)"
+    private static final Pattern CHAVE_MYSQL = Pattern.compile("for key '(?:[^'.]+\\.)?([^']+)'");
+    private static final Pattern CHAVE_H2 = Pattern.compile("ON [\\w.\"]+\\(\"?(\\w+)");
+    // MySQL: "column 'nome'"; H2: "column \"NOME\"" ou "column \"PUBLIC.FREELANCER.NOME ..."
+    private static final Pattern COLUNA = Pattern.compile("column ['\"](?:[\\w]+\\.)*([\\w]+)", Pattern.CASE_INSENSITIVE);
+
+    private ViolacaoIntegridade() {
+    }
+
+    public static boolean chaveDuplicada(DataIntegrityViolationException e) {
+        if (e instanceof DuplicateKeyException) {
+            return true;
+        }
+        var sql = causaSql(e);
+        return sql != null && (sql.getErrorCode() == MYSQL_CHAVE_DUPLICADA || H2_CHAVE_DUPLICADA.equals(sql.getSQLState()));
+    }
+
+    // Campo em conflito no formato das mensagens de cadastro ("E-mail", "Telefone", "CPF"...), ou null
+    public static String campoDuplicado(DataIntegrityViolationException e) {
+        var mensagem = mensagem(e);
+        var chave = CHAVE_MYSQL.matcher(mensagem);
+        String nome = chave.find() ? chave.group(1) : null;
+        if (nome == null) {
+            var h2 = CHAVE_H2.matcher(mensagem);
+            nome = h2.find() ? h2.group(1) : null;
+        }
+        if (nome == null) {
+            return null;
+        }
+        return switch (nome.toLowerCase(Locale.ROOT)) {
+            case "email", "uk_usuario_diretorio_email" -> "E-mail";
+            case "telefone" -> "Telefone";
+            case "cpf" -> "CPF";
+            case "cnpj" -> "CNPJ";
+            default -> nome;
+        };
+    }
+
+    public static String descrever(DataIntegrityViolationException e) {
+        if (chaveDuplicada(e)) {
+            var campo = campoDuplicado(e);
+            return campo == null ? "Dados já cadastrados" : "Dados já cadastrados: " + campo;
+        }
+        var sql = causaSql(e);
+        var coluna = coluna(e);
+        if (sql != null && coluna != null) {
+            if (sql.getErrorCode() == MYSQL_VALOR_LONGO || VALOR_LONGO.equals(sql.getSQLState())) {
+                return coluna + ": valor maior que o permitido";
+            }
+            if (sql.getErrorCode() == MYSQL_COLUNA_NULA || H2_COLUNA_NULA.equals(sql.getSQLState())) {
+                return coluna + ": não deve ser nulo";
+            }
+        }
+        return "Violação de integridade: " + mensagem(e);
+    }
+
+    private static String coluna(DataIntegrityViolationException e) {
+        var coluna = COLUNA.matcher(mensagem(e));
+        return coluna.find() ? coluna.group(1).toLowerCase(Locale.ROOT) : null;
+    }
+
+    private static String mensagem(DataIntegrityViolationException e) {
+        var sql = causaSql(e);
+        var mensagem = sql != null ? sql.getMessage() : e.getMostSpecificCause().getMessage();
+        return mensagem == null ? "" : mensagem;
+    }
+
+    private static SQLException causaSql(Throwable e) {
+        for (Throwable causa = e; causa != null; causa = causa.getCause()) {
+            if (causa instanceof SQLException sql) {
+                return sql;
+            }
+        }
+        return null;
+    }
+}
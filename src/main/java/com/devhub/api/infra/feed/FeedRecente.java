@@ -0,0 +1,141 @@
+package com.devhub.api.infra.feed;
+
+import com.devhub.api.domain.publicacao.PublicacaoRepository;
+import com.devhub.api.domain.publicacao.dto.ListaPublicacaoDTO;
+import com.devhub.api.domain.usuario.FotoUsuario;
+import com.devhub.api.domain.usuario.UserRole;
+import com.devhub.api.domain.usuario.VarianteFoto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/*
+ * As publicações mais novas do feed, em memória, na mesma ordem do keyset (createdAt, id decrescentes).
+ * Guarda no máximo api.feed.capacidade itens; a mais antiga sai quando entra uma nova. Leitores pegam o
+ * vetor atual por uma referência volatile, sem trava; escritas são serializadas e trocam o vetor inteiro.
+ * As escritas desta instância chegam depois do commit; as de outras instâncias (e qualquer divergência)
+ * só aparecem na recarga periódica, a cada api.feed.intervalo-recarga.
+ */
+@Component
+public class FeedRecente {
+
+    private static final Comparator<ListaPublicacaoDTO> ORDEM_FEED =
+            Comparator.comparing(ListaPublicacaoDTO::getCreatedAt)
+                    .thenComparing(ListaPublicacaoDTO::id)
+                    .reversed();
+
+    @Value("${api.feed.capacidade:200}")
+    private int capacidade;
+
+    @Autowired
+    private PublicacaoRepository repository;
+
+    // completo = o vetor contém todas as publicações existentes, não só as mais novas
+    private record Estado(ListaPublicacaoDTO[] itens, boolean completo) {
+    }
+
+    private volatile Estado estado;
+
+    // a consulta roda dentro da trava: uma escrita pós-commit que chegue durante a recarga entra depois dela
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${api.feed.intervalo-recarga:60000}", fixedDelayString = "${api.feed.intervalo-recarga:60000}")
+    public synchronized void carregar() {
+        var itens = repository.listarFeed(PageRequest.of(0, capacidade)).stream()
+                .map(ListaPublicacaoDTO::new)
+                .toArray(ListaPublicacaoDTO[]::new);
+        estado = new Estado(itens, itens.length < capacidade);
+    }
+
+    // As `quantidade` publicações mais novas, ou null se a memória não garante a página inteira
+    public List<ListaPublicacaoDTO> recentes(int quantidade) {
+        var atual = estado;
+        if (atual == null || (atual.itens().length < quantidade && !atual.completo())) {
+            return null;
+        }
+        return List.of(Arrays.copyOf(atual.itens(), Math.min(quantidade, atual.itens().length)));
+    }
+
+    public synchronized void adicionar(ListaPublicacaoDTO publicacao) {
+        var atual = estado;
+        if (atual == null || !feed(publicacao.role())) {
+            return;
+        }
+        var itens = atual.itens();
+        int posicao = Arrays.binarySearch(itens, publicacao, ORDEM_FEED);
+        if (posicao >= 0) {
+            return;
+        }
+        posicao = -posicao - 1;
+        // sem cobertura completa, o que vier depois da mais antiga pode ter vizinhos que não estão aqui
+        if (posicao == itens.length && !atual.completo() && itens.length > 0) {
+            return;
+        }
+        var novos = new ListaPublicacaoDTO[itens.length + 1];
+        System.arraycopy(itens, 0, novos, 0, posicao);
+        novos[posicao] = publicacao;
+        System.arraycopy(itens, posicao, novos, posicao + 1, itens.length - posicao);
+        boolean completo = atual.completo();
+        if (novos.length > capacidade) {
+            novos = Arrays.copyOf(novos, capacidade);
+            completo = false;
+        }
+        estado = new Estado(novos, completo);
+    }
+
+    public synchronized void remover(Long idPublicacao) {
+        var atual = estado;
+        if (atual == null) {
+            return;
+        }
+        var itens = atual.itens();
+        var restantes = Arrays.stream(itens)
+                .filter(p -> !p.id().equals(idPublicacao))
+                .toArray(ListaPublicacaoDTO[]::new);
+        if (restantes.length != itens.length) {
+            estado = new Estado(restantes, atual.completo());
+        }
+    }
+
+    public void renomearAutor(UserRole role, Long idUsuario, String nome) {
+        atualizarAutor(role, idUsuario, p -> new ListaPublicacaoDTO(p.id(), nome, p.urlImagem(),
+                p.descricao(), p.id_usuario(), p.getCreatedAt(), p.role()));
+    }
+
+    public void trocarFotoAutor(UserRole role, Long idUsuario, String imagemHash) {
+        var url = FotoUsuario.url(role, idUsuario, imagemHash, VarianteFoto.PEQUENA);
+        atualizarAutor(role, idUsuario, p -> new ListaPublicacaoDTO(p.id(), p.nome(), url,
+                p.descricao(), p.id_usuario(), p.getCreatedAt(), p.role()));
+    }
+
+    private synchronized void atualizarAutor(UserRole role, Long idUsuario, UnaryOperator<ListaPublicacaoDTO> alteracao) {
+        var atual = estado;
+        if (atual == null) {
+            return;
+        }
+        var itens = atual.itens().clone();
+        boolean alterou = false;
+        for (int i = 0; i < itens.length; i++) {
+            if (role.getRole().equals(itens[i].role()) && idUsuario.equals(itens[i].id_usuario())) {
+                itens[i] = alteracao.apply(itens[i]);
+                alterou = true;
+            }
+        }
+        if (alterou) {
+            estado = new Estado(itens, atual.completo());
+        }
+    }
+
+    // mesmo filtro de role da consulta do feed
+    private static boolean feed(String role) {
+        return UserRole.CONTRATANTE.getRole().equals(role) || UserRole.FREELANCER.getRole().equals(role);
+    }
+}
@@ -0,0 +1,176 @@
+package com.devhub.api.infra.imagem;
+
+import com.devhub.api.domain.usuario.UserRole;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/*
+ * Cache de fotos em dois níveis, chaveado por usuário, variante e hash do conteúdo. O nível quente fica
+ * em ByteBuffers diretos (fora do heap) com LRU por orçamento de bytes; o que sai dele desce para
+ * arquivos em disco lidos via mmap. Como o hash faz parte da chave, uma entrada nunca fica desatualizada:
+ * invalidar só libera espaço das versões antigas.
+ */
+@Slf4j
+@Component
+public class CacheImagens {
+
+    @Value("${api.foto.cache.memoria-bytes:67108864}")
+    private long orcamentoMemoria;
+    @Value("${api.foto.cache.disco-bytes:1073741824}")
+    private long orcamentoDisco;
+    @Value("${api.foto.cache.maximo-entrada:2097152}")
+    private long maximoEntrada;
+    @Value("${api.foto.cache.diretorio:${java.io.tmpdir}/devhub-fotos}")
+    private String diretorio;
+
+    private final LinkedHashMap<String, ByteBuffer> memoria = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<String, Long> disco = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytesMemoria;
+    private long bytesDisco;
+    private Path raiz;
+
+    @PostConstruct
+    void iniciar() throws IOException {
+        raiz = Path.of(diretorio);
+        Files.createDirectories(raiz);
+        // o índice do disco só existe em memória, então arquivos de uma execução anterior são descartados
+        try (var arquivos = Files.list(raiz)) {
+            for (Path arquivo : (Iterable<Path>) arquivos::iterator) {
+                Files.deleteIfExists(arquivo);
+            }
+        }
+    }
+
+    public static String chave(UserRole role, Long idUsuario, int tamanho, String hash) {
+        return role.getRole() + "-" + idUsuario + "-" + tamanho + "-" + hash;
+    }
+
+    public boolean aceita(long tamanho) {
+        return tamanho <= maximoEntrada && tamanho <= orcamentoMemoria;
+    }
+
+    // Retorna uma visão somente leitura da foto, ou null se não está em nenhum dos níveis
+    public ByteBuffer buscar(String chave) {
+        synchronized (this) {
+            var emMemoria = memoria.get(chave);
+            if (emMemoria != null) {
+                return emMemoria.asReadOnlyBuffer();
+            }
+            if (!disco.containsKey(chave)) {
+                return null;
+            }
+        }
+        ByteBuffer promovido;
+        try (var canal = FileChannel.open(raiz.resolve(chave), StandardOpenOption.READ)) {
+            var mapeado = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            promovido = ByteBuffer.allocateDirect(mapeado.remaining()).put(mapeado).flip();
+        } catch (IOException e) {
+            // removido por uma evicção concorrente
+            return null;
+        }
+        guardarEmMemoria(chave, promovido);
+        return promovido.asReadOnlyBuffer();
+    }
+
+    public ByteBuffer guardar(String chave, byte[] bytes) {
+        var buffer = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+        if (aceita(bytes.length)) {
+            guardarEmMemoria(chave, buffer);
+        }
+        return buffer.asReadOnlyBuffer();
+    }
+
+    public void invalidar(UserRole role, Long idUsuario) {
+        String prefixo = role.getRole() + "-" + idUsuario + "-";
+        List<String> arquivos = new ArrayList<>();
+        synchronized (this) {
+            for (var it = memoria.entrySet().iterator(); it.hasNext(); ) {
+                var entrada = it.next();
+                if (entrada.getKey().startsWith(prefixo)) {
+                    bytesMemoria -= entrada.getValue().capacity();
+                    it.remove();
+                }
+            }
+            for (var it = disco.entrySet().iterator(); it.hasNext(); ) {
+                var entrada = it.next();
+                if (entrada.getKey().startsWith(prefixo)) {
+                    bytesDisco -= entrada.getValue();
+                    arquivos.add(entrada.getKey());
+                    it.remove();
+                }
+            }
+        }
+        arquivos.forEach(this::apagarArquivo);
+    }
+
+    private void guardarEmMemoria(String chave, ByteBuffer buffer) {
+        Map<String, ByteBuffer> rebaixados = new LinkedHashMap<>();
+        synchronized (this) {
+            var anterior = memoria.put(chave, buffer);
+            bytesMemoria += buffer.capacity() - (anterior == null ? 0 : anterior.capacity());
+            var it = memoria.entrySet().iterator();
+            while (bytesMemoria > orcamentoMemoria && it.hasNext()) {
+                var maisAntigo = it.next();
+                bytesMemoria -= maisAntigo.getValue().capacity();
+                it.remove();
+                if (!disco.containsKey(maisAntigo.getKey())) {
+                    rebaixados.put(maisAntigo.getKey(), maisAntigo.getValue());
+                }
+            }
+        }
+        // a escrita em disco acontece fora do lock
+        rebaixados.forEach(this::guardarEmDisco);
+    }
+
+    private void guardarEmDisco(String chave, ByteBuffer buffer) {
+        long tamanho = buffer.capacity();
+        if (tamanho > orcamentoDisco) {
+            return;
+        }
+        try {
+            Path temporario = Files.createTempFile(raiz, ".cache", ".tmp");
+            try (var canal = FileChannel.open(temporario, StandardOpenOption.WRITE)) {
+                var leitura = buffer.duplicate().clear();
+                while (leitura.hasRemaining()) {
+                    canal.write(leitura);
+                }
+            }
+            Files.move(temporario, raiz.resolve(chave), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Não foi possível gravar {} no cache em disco: {}", chave, e.getMessage());
+            return;
+        }
+        List<String> removidos = new ArrayList<>();
+        synchronized (this) {
+            var anterior = disco.put(chave, tamanho);
+            bytesDisco += tamanho - (anterior == null ? 0 : anterior);
+            var it = disco.entrySet().iterator();
+            while (bytesDisco > orcamentoDisco && it.hasNext()) {
+                var maisAntigo = it.next();
+                bytesDisco -= maisAntigo.getValue();
+                removidos.add(maisAntigo.getKey());
+                it.remove();
+            }
+        }
+        removidos.forEach(this::apagarArquivo);
+    }
+
+    private void apagarArquivo(String chave) {
+        try {
+            Files.deleteIfExists(raiz.resolve(chave));
+        } catch (IOException e) {
+            log.warn("Não foi possível apagar {} do cache em disco: {}", chave, e.getMessage());
+        }
+    }
+}
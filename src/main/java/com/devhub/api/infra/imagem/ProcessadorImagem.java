@@ -0,0 +1,122 @@
+package com.devhub.api.infra.imagem;
+
+import com.devhub.api.domain.usuario.VarianteFoto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/*
+ * Decodifica a foto enviada uma única vez e gera as variantes de VarianteFoto, todas em JPEG com
+ * qualidade limitada. Cada variante é reduzida a partir da anterior (1024 -> 256 -> 64), o que
+ * mantém o custo proporcional ao tamanho da saída e não ao da foto original.
+ */
+@Component
+public class ProcessadorImagem {
+
+    @Value("${api.foto.qualidade-jpeg:0.82}")
+    private float qualidade;
+
+    @Value("${api.foto.maximo-pixels:40000000}")
+    private long maximoPixels;
+
+    public Map<VarianteFoto, byte[]> gerarVariantes(byte[] original) {
+        var imagem = decodificar(original);
+        Map<VarianteFoto, byte[]> variantes = new EnumMap<>(VarianteFoto.class);
+        VarianteFoto[] todas = VarianteFoto.values();
+        for (int i = todas.length - 1; i >= 0; i--) {
+            imagem = reduzir(imagem, todas[i].getTamanho());
+            variantes.put(todas[i], codificarJpeg(imagem));
+        }
+        return variantes;
+    }
+
+    private BufferedImage decodificar(byte[] original) {
+        try (ImageInputStream entrada = ImageIO.createImageInputStream(new ByteArrayInputStream(original))) {
+            var leitores = entrada == null ? null : ImageIO.getImageReaders(entrada);
+            if (leitores == null || !leitores.hasNext()) {
+                throw new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE,
+                        "Formato de imagem não suportado");
+            }
+            ImageReader leitor = leitores.next();
+            try {
+                leitor.setInput(entrada, true, true);
+                // confere as dimensões pelo cabeçalho antes de alocar os pixels
+                if ((long) leitor.getWidth(0) * leitor.getHeight(0) > maximoPixels) {
+                    throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                            "A imagem excede o limite de resolução");
+                }
+                return leitor.read(0);
+            } finally {
+                leitor.dispose();
+            }
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY, "Não foi possível ler a imagem");
+        }
+    }
+
+    // Reduz para caber num quadrado de lado "tamanho", sem ampliar; reduções grandes vão pela metade
+    // em passos bilineares, que é barato e evita o serrilhado de uma redução direta
+    private static BufferedImage reduzir(BufferedImage imagem, int tamanho) {
+        int largura = imagem.getWidth();
+        int altura = imagem.getHeight();
+        double escala = Math.min(1.0, (double) tamanho / Math.max(largura, altura));
+        int larguraFinal = Math.max(1, (int) Math.round(largura * escala));
+        int alturaFinal = Math.max(1, (int) Math.round(altura * escala));
+
+        BufferedImage atual = imagem;
+        do {
+            largura = Math.max(larguraFinal, largura / 2);
+            altura = Math.max(alturaFinal, altura / 2);
+            atual = desenhar(atual, largura, altura);
+        } while (largura != larguraFinal || altura != alturaFinal);
+        return atual;
+    }
+
+    private static BufferedImage desenhar(BufferedImage origem, int largura, int altura) {
+        var destino = new BufferedImage(largura, altura, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = destino.createGraphics();
+        try {
+            // JPEG não tem transparência: o fundo transparente de PNG/GIF vira branco
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, largura, altura);
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(origem, 0, 0, largura, altura, null);
+        } finally {
+            g.dispose();
+        }
+        return destino;
+    }
+
+    private byte[] codificarJpeg(BufferedImage imagem) {
+        var escritor = ImageIO.getImageWritersByFormatName("jpeg").next();
+        var saida = new ByteArrayOutputStream();
+        try (var stream = new MemoryCacheImageOutputStream(saida)) {
+            escritor.setOutput(stream);
+            ImageWriteParam parametros = escritor.getDefaultWriteParam();
+            parametros.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            parametros.setCompressionQuality(qualidade);
+            escritor.write(null, new IIOImage(imagem, null, null), parametros);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            escritor.dispose();
+        }
+        return saida.toByteArray();
+    }
+}
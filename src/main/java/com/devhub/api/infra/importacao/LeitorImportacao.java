@@ -0,0 +1,168 @@
+package com.devhub.api.infra.importacao;
+
+import com.devhub.api.domain.importacao.FormatoImportacao;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Consumer;
+
+/*
+ * Lê uploads de importação registro a registro, sem carregar o arquivo inteiro. O CSV tem cabeçalho com
+ * os nomes dos campos do DTO (vírgula ou ponto e vírgula, aspas no padrão RFC 4180); o NDJSON tem um
+ * objeto JSON por linha. Cada registro é convertido e validado com as mesmas anotações do cadastro.
+ */
+@Component
+public class LeitorImportacao {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private Validator validator;
+
+    public <T> void ler(InputStream entrada, FormatoImportacao formato, Class<T> tipo,
+                        Consumer<LinhaImportacao<T>> destino) throws IOException {
+        var leitor = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+        if (formato == FormatoImportacao.CSV) {
+            lerCsv(leitor, tipo, destino);
+        } else {
+            lerNdjson(leitor, tipo, destino);
+        }
+    }
+
+    private <T> void lerCsv(BufferedReader leitor, Class<T> tipo, Consumer<LinhaImportacao<T>> destino) throws IOException {
+        leitor.mark(4096);
+        var primeiraLinha = leitor.readLine();
+        if (primeiraLinha == null) {
+            return;
+        }
+        leitor.reset();
+        char separador = primeiraLinha.indexOf(';') >= 0 && primeiraLinha.indexOf(',') < 0 ? ';' : ',';
+        var cabecalho = proximoRegistro(leitor, separador).stream()
+                .map(c -> c.replace("\uFEFF", "").trim())
+                .toList();
+
+        long numero = 0;
+        List<String> valores;
+        while ((valores = proximoRegistro(leitor, separador)) != null) {
+            if (valores.size() == 1 && valores.get(0).isBlank()) {
+                continue;
+            }
+            numero++;
+            if (valores.size() != cabecalho.size()) {
+                destino.accept(new LinhaImportacao<>(numero, null,
+                        "Esperadas " + cabecalho.size() + " colunas, encontradas " + valores.size()));
+                continue;
+            }
+            Map<String, String> campos = new HashMap<>();
+            for (int i = 0; i < cabecalho.size(); i++) {
+                var valor = valores.get(i).trim();
+                campos.put(cabecalho.get(i), valor.isEmpty() ? null : valor);
+            }
+            T dados;
+            try {
+                dados = objectMapper.convertValue(campos, tipo);
+            } catch (IllegalArgumentException e) {
+                destino.accept(new LinhaImportacao<>(numero, null, descrever(e.getCause())));
+                continue;
+            }
+            destino.accept(validar(numero, dados));
+        }
+    }
+
+    private <T> void lerNdjson(BufferedReader leitor, Class<T> tipo, Consumer<LinhaImportacao<T>> destino) throws IOException {
+        long numero = 0;
+        String linha;
+        while ((linha = leitor.readLine()) != null) {
+            if (linha.isBlank()) {
+                continue;
+            }
+            numero++;
+            T dados;
+            try {
+                dados = objectMapper.readValue(linha, tipo);
+            } catch (JsonProcessingException e) {
+                destino.accept(new LinhaImportacao<>(numero, null, descrever(e)));
+                continue;
+            }
+            destino.accept(validar(numero, dados));
+        }
+    }
+
+    private <T> LinhaImportacao<T> validar(long numero, T dados) {
+        if (dados == null) {
+            return new LinhaImportacao<>(numero, null, "Registro vazio");
+        }
+        var violacoes = validator.validate(dados);
+        if (violacoes.isEmpty()) {
+            return new LinhaImportacao<>(numero, dados, null);
+        }
+        var erro = violacoes.stream()
+                .map(LeitorImportacao::descrever)
+                .sorted()
+                .reduce((a, b) -> a + " | " + b)
+                .orElseThrow();
+        return new LinhaImportacao<>(numero, null, erro);
+    }
+
+    // Lê um registro CSV; aspas permitem separador e quebra de linha dentro do campo. Null no fim do arquivo.
+    static List<String> proximoRegistro(BufferedReader leitor, char separador) throws IOException {
+        int c = leitor.read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> campos = new ArrayList<>();
+        var campo = new StringBuilder();
+        boolean entreAspas = false;
+        while (c != -1) {
+            if (entreAspas) {
+                if (c == '"') {
+                    leitor.mark(1);
+                    int seguinte = leitor.read();
+                    if (seguinte == '"') {
+                        campo.append('"');
+                    } else {
+                        entreAspas = false;
+                        if (seguinte == -1) {
+                            break;
+                        }
+                        leitor.reset();
+                    }
+                } else {
+                    campo.append((char) c);
+                }
+            } else if (c == '"' && campo.isEmpty()) {
+                entreAspas = true;
+            } else if (c == separador) {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                campo.append((char) c);
+            }
+            c = leitor.read();
+        }
+        campos.add(campo.toString());
+        return campos;
+    }
+
+    private static String descrever(ConstraintViolation<?> violacao) {
+        return violacao.getPropertyPath() + ": " + violacao.getMessage();
+    }
+
+    private static String descrever(Throwable erro) {
+        if (erro instanceof JsonMappingException mapeamento && !mapeamento.getPath().isEmpty()
+                && mapeamento.getPath().get(0).getFieldName() != null) {
+            return mapeamento.getPath().get(0).getFieldName() + ": valor inválido";
+        }
+        return "Registro em formato inválido";
+    }
+}
@@ -0,0 +1,5 @@
+package com.devhub.api.infra.importacao;
+
+// Registro lido do arquivo: ou os dados convertidos e validados, ou o motivo da recusa
+public record LinhaImportacao<T>(long numero, T dados, String erro) {
+}
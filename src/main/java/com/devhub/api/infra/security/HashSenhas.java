@@ -0,0 +1,145 @@
+package com.devhub.api.infra.security;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/*
+ * PasswordEncoder da aplicação. O BCrypt roda num pool próprio do tamanho dos núcleos, com fila
+ * limitada: um pico de logins ocupa no máximo esses núcleos, e o que não cabe na fila recebe 503
+ * na hora em vez de segurar threads do Tomcat que atendem o resto da API. O custo configurado vale
+ * para os hashes novos; hashes com custo menor são refeitos no próximo login (upgradeEncoding).
+ */
+@Component
+public class HashSenhas implements PasswordEncoder {
+
+    @Value("${api.security.bcrypt.custo:10}")
+    private int custo;
+    @Value("${api.security.bcrypt.threads:0}")
+    private int threads;
+    @Value("${api.security.bcrypt.fila:64}")
+    private int capacidadeFila;
+    @Value("${api.security.bcrypt.espera-maxima:PT5S}")
+    private Duration esperaMaxima;
+
+    private BCryptPasswordEncoder bcrypt;
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void iniciar() {
+        bcrypt = new BCryptPasswordEncoder(custo);
+        int tamanho = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        executor = new ThreadPoolExecutor(tamanho, tamanho, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidadeFila), r -> {
+                    var thread = new Thread(r, "hash-senha");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executor.shutdown();
+    }
+
+    @Override
+    public String encode(CharSequence senha) {
+        return executar(() -> bcrypt.encode(senha));
+    }
+
+    @Override
+    public boolean matches(CharSequence senha, String hash) {
+        return executar(() -> bcrypt.matches(senha, hash));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String hash) {
+        return bcrypt.upgradeEncoding(hash);
+    }
+
+    // Hash em lote para importações: ocupa no máximo metade do pool e espera vaga em vez de receber 503,
+    // então os logins concorrentes continuam cabendo
+    public List<String> encodeTodos(List<? extends CharSequence> senhas) {
+        var vagas = new Semaphore(Math.max(1, executor.getCorePoolSize() / 2));
+        List<Future<String>> futuros = new ArrayList<>(senhas.size());
+        try {
+            for (CharSequence senha : senhas) {
+                vagas.acquire();
+                futuros.add(submeterQuandoHouverVaga(() -> {
+                    try {
+                        return bcrypt.encode(senha);
+                    } finally {
+                        vagas.release();
+                    }
+                }));
+            }
+            List<String> hashes = new ArrayList<>(senhas.size());
+            for (Future<String> futuro : futuros) {
+                hashes.add(futuro.get());
+            }
+            return hashes;
+        } catch (InterruptedException e) {
+            futuros.forEach(f -> f.cancel(true));
+            Thread.currentThread().interrupt();
+            throw ocupado();
+        } catch (ExecutionException e) {
+            futuros.forEach(f -> f.cancel(true));
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private <T> Future<T> submeterQuandoHouverVaga(Callable<T> tarefa) throws InterruptedException {
+        while (true) {
+            try {
+                return executor.submit(tarefa);
+            } catch (RejectedExecutionException e) {
+                if (executor.isShutdown()) {
+                    throw ocupado();
+                }
+                // fila cheia de logins; eles têm prioridade
+                Thread.sleep(10);
+            }
+        }
+    }
+
+    <T> T executar(Callable<T> tarefa) {
+        Future<T> futuro;
+        try {
+            futuro = executor.submit(tarefa);
+        } catch (RejectedExecutionException e) {
+            throw ocupado();
+        }
+        try {
+            return futuro.get(esperaMaxima.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            futuro.cancel(true);
+            throw ocupado();
+        } catch (InterruptedException e) {
+            futuro.cancel(true);
+            Thread.currentThread().interrupt();
+            throw ocupado();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static ResponseStatusException ocupado() {
+        return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Servidor ocupado, tente novamente em instantes");
+    }
+}
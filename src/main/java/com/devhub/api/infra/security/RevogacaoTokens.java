@@ -0,0 +1,100 @@
+package com.devhub.api.infra.security;
+
+import com.devhub.api.domain.usuario.UserRole;
+import com.devhub.api.domain.usuario.UsuarioDiretorioRepository;
+import com.devhub.api.infra.transacao.AposCommit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * A revogação fica gravada em usuario_diretorio (revogado_em e ativo), na mesma transação que a
+ * troca de senha ou a exclusão. Aqui só há um cache curto por usuário para a validação do JWT não
+ * consultar o banco a cada requisição: nesta instância a entrada é descartada no commit, nas
+ * demais a revogação passa a valer em no máximo api.security.token.cache-revogacao.
+ */
+@Component
+public class RevogacaoTokens {
+
+    @Autowired
+    private UsuarioDiretorioRepository repository;
+
+    @Value("${api.security.token.cache-revogacao:PT30S}")
+    private Duration validadeCache;
+    @Value("${api.security.token.cache-revogacao-maximo:10000}")
+    private int maximoCache;
+
+    private record Situacao(boolean ativo, Instant revogadoEm, Instant consultadoEm) {
+    }
+
+    private final Map<String, Situacao> situacoes = new ConcurrentHashMap<>();
+
+    public void revogar(UserRole role, Long idUsuario) {
+        repository.revogar(role, idUsuario, agora());
+        AposCommit.executar(() -> situacoes.remove(chave(role, idUsuario)));
+    }
+
+    // conta excluída: nenhum token dela vale mais, nem os emitidos depois deste instante
+    public void desativar(UserRole role, Long idUsuario) {
+        repository.desativar(role, idUsuario, agora());
+        AposCommit.executar(() -> situacoes.remove(chave(role, idUsuario)));
+    }
+
+    public boolean revogado(UserRole role, Long idUsuario, Instant emitidoEm) {
+        var situacao = situacao(role, idUsuario);
+        if (!situacao.ativo()) {
+            return true;
+        }
+        var revogadoEm = situacao.revogadoEm();
+        return revogadoEm != null && (emitidoEm == null || emitidoEm.isBefore(revogadoEm));
+    }
+
+    @Scheduled(fixedDelayString = "${api.security.token.intervalo-limpeza:3600000}")
+    public void limpar() {
+        var limite = Instant.now().minus(validadeCache);
+        situacoes.values().removeIf(situacao -> situacao.consultadoEm().isBefore(limite));
+    }
+
+    private Situacao situacao(UserRole role, Long idUsuario) {
+        var chave = chave(role, idUsuario);
+        var agora = Instant.now();
+        var situacao = situacoes.get(chave);
+        if (situacao != null && agora.isBefore(situacao.consultadoEm().plus(validadeCache))) {
+            return situacao;
+        }
+        // sem linha no diretório (contas antigas com e-mail repetido) não há o que revogar
+        situacao = repository.findByRoleAndIdUsuario(role, idUsuario)
+                .map(conta -> new Situacao(conta.isEnabled(), instante(conta.getRevogadoEm()), agora))
+                .orElse(new Situacao(true, null, agora));
+        if (situacoes.size() >= maximoCache) {
+            limpar();
+            if (situacoes.size() >= maximoCache) {
+                situacoes.clear();
+            }
+        }
+        situacoes.put(chave, situacao);
+        return situacao;
+    }
+
+    // o iat do JWT tem resolução de segundos
+    private static LocalDateTime agora() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    private static Instant instante(LocalDateTime data) {
+        return data == null ? null : data.atZone(ZoneId.systemDefault()).toInstant();
+    }
+
+    private static String chave(UserRole role, Long idUsuario) {
+        return role.getRole() + ":" + idUsuario;
+    }
+}
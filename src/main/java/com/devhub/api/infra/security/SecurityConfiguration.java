@@ -11,8 +11,6 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
@@ -33,7 +31,12 @@ public class SecurityConfiguration {
                 .authorizeHttpRequests(req -> {
                     //LOGIN
                     req.requestMatchers(HttpMethod.POST, "/login").permitAll();
+                    req.requestMatchers(HttpMethod.POST, "/login/renovar").permitAll();
                     //CADASTRO
+                    req.requestMatchers(HttpMethod.POST, "/freelancers/importacao", "/contratantes/importacao").authenticated();
+                    //ENVIO DIRETO DA FOTO (só o próprio usuário, conferido no serviço)
+                    req.requestMatchers(HttpMethod.POST, "/freelancers/foto/*/envio", "/freelancers/foto/*/envio/concluido",
+                            "/contratantes/foto/*/envio", "/contratantes/foto/*/envio/concluido").authenticated();
                     req.requestMatchers(HttpMethod.POST, "/freelancers").permitAll();
                     req.requestMatchers(HttpMethod.POST, "/freelancers/**").permitAll();
                     req.requestMatchers(HttpMethod.POST, "/contratantes").permitAll();
@@ -43,6 +46,7 @@ public class SecurityConfiguration {
                     req.requestMatchers(HttpMethod.POST, "/publicacoes/*").permitAll();
                     req.requestMatchers(HttpMethod.DELETE, "/publicacoes/*").permitAll();
                     req.requestMatchers(HttpMethod.GET, "/publicacoes").permitAll();
+                    req.requestMatchers(HttpMethod.GET, "/publicacoes/autor/**").permitAll();
                     //SWAGGER
                     req.requestMatchers(HttpMethod.GET, "/swagger-ui/**").permitAll();
                     req.requestMatchers("/v3/api-docs/**").permitAll();
@@ -59,6 +63,10 @@ public class SecurityConfiguration {
                     req.requestMatchers("/servicos").permitAll();
                     req.requestMatchers("/avaliacoes-freelancer/**").permitAll();
                     req.requestMatchers("/h2-console").permitAll();
+                    //OPERAÇÃO (protegido pela chave de operação, não por token de usuário)
+                    req.requestMatchers(HttpMethod.GET, "/emails/metricas").permitAll();
+                    //ARMAZENAMENTO LOCAL (URLs de envio assinadas)
+                    req.requestMatchers(HttpMethod.PUT, "/armazenamento/**").permitAll();
 
                     req.anyRequest().authenticated();
                 })
@@ -70,9 +78,4 @@ public class SecurityConfiguration {
     public AuthenticationManager authenticationManager(AuthenticationConfiguration authenticationConfiguration) throws Exception{
         return authenticationConfiguration.getAuthenticationManager();
     }
-
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
 }
\ No newline at end of file
@@ -1,7 +1,5 @@
 package com.devhub.api.infra.security;
 
-import com.devhub.api.domain.contratante.ContratanteRepository;
-import com.devhub.api.domain.freelancer.FreelancerRepository;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,7 +7,6 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -21,20 +18,11 @@ public class SecurityFilter extends OncePerRequestFilter {
     @Autowired
     private TokenService tokenService;
 
-    @Autowired
-    private FreelancerRepository freelancerRepository;
-    @Autowired
-    private ContratanteRepository contratanteRepository;
-
-
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         var tokenJWT = recuperarToken(request);
         if (tokenJWT != null) {
-            var subject = tokenService.getSubject(tokenJWT);
-            var user = freelancerRepository.findByEmail(subject) != null ?
-                    freelancerRepository.findByEmail(subject) : contratanteRepository.findByEmail(subject);
-
+            var user = tokenService.validar(tokenJWT);
             var authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
             SecurityContextHolder.getContext().setAuthentication(authentication);
         }
@@ -0,0 +1,4 @@
+package com.devhub.api.infra.security;
+
+public record TokenRenovadoDTO(String token, String refreshToken) {
+}
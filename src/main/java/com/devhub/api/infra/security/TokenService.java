@@ -4,13 +4,19 @@ import com.auth0.jwt.JWT;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.JWTVerifier;
+import com.devhub.api.domain.usuario.UserRole;
 import com.devhub.api.domain.usuario.Usuario;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class TokenService {
@@ -18,12 +24,38 @@ public class TokenService {
     @Value("${api.security.token.secret}")
     private String secret;
 
+    @Value("${api.security.token.cache-maximo:10000}")
+    private int maximoCache;
+
+    @Autowired
+    private RevogacaoTokens revogacao;
+
+    private Algorithm algoritmo;
+    private JWTVerifier verificador;
+    // tokens já verificados -> claims, para a mesma sessão não refazer HMAC e parse a cada requisição
+    private final Map<String, TokenVerificado> verificados = new ConcurrentHashMap<>();
+
+    private record TokenVerificado(UsuarioAutenticado usuario, Instant emitidoEm, Instant expiraEm) {
+    }
+
+    @PostConstruct
+    void iniciar() {
+        algoritmo = Algorithm.HMAC256(secret);
+        verificador = JWT.require(algoritmo)
+                .withIssuer("DevHub")
+                .withClaimPresence("id")
+                .withClaimPresence("role")
+                .build();
+    }
+
     public String gerarToken(Usuario usuario) {
         try {
-            var algoritmo = Algorithm.HMAC256(secret);
             String token = JWT.create()
                     .withIssuer("DevHub")
                     .withSubject(usuario.getEmail())
+                    .withClaim("id", usuario.getId())
+                    .withClaim("role", usuario.getRole().getRole())
+                    .withIssuedAt(Instant.now())
                     .withExpiresAt(dataExpiracao())
                     .sign(algoritmo);
             return token;
@@ -32,20 +64,48 @@ public class TokenService {
         }
     }
 
-    public String getSubject(String tokenJWT) {
-        try {
-            var algoritmo = Algorithm.HMAC256(secret);
-            return JWT.require(algoritmo)
-                    .withIssuer("DevHub")
-                    .build()
-                    .verify(tokenJWT)
-                    .getSubject();
+    // Monta o usuário só a partir do token; tokens sem id/role (emitidos antes das claims) são recusados
+    public UsuarioAutenticado validar(String tokenJWT) {
+        var verificado = verificados.get(tokenJWT);
+        if (verificado == null || !Instant.now().isBefore(verificado.expiraEm())) {
+            verificados.remove(tokenJWT);
+            verificado = verificar(tokenJWT);
+            guardar(tokenJWT, verificado);
+        }
+        var usuario = verificado.usuario();
+        // a revogação é conferida mesmo nos acertos do cache
+        if (revogacao.revogado(usuario.role(), usuario.id(), verificado.emitidoEm())) {
+            throw new RuntimeException("Token JWT inválido ou expirado");
+        }
+        return usuario;
+    }
 
-        } catch (JWTVerificationException exception){
+    private TokenVerificado verificar(String tokenJWT) {
+        try {
+            var token = verificador.verify(tokenJWT);
+            var usuario = new UsuarioAutenticado(token.getClaim("id").asLong(),
+                    UserRole.valueOf(token.getClaim("role").asString()), token.getSubject());
+            return new TokenVerificado(usuario, token.getIssuedAtAsInstant(), token.getExpiresAtAsInstant());
+        } catch (JWTVerificationException | IllegalArgumentException exception){
             throw new RuntimeException("Token JWT inválido ou expirado");
         }
     }
 
+    private void guardar(String tokenJWT, TokenVerificado verificado) {
+        if (verificado.expiraEm() == null) {
+            return;
+        }
+        if (verificados.size() >= maximoCache) {
+            var agora = Instant.now();
+            verificados.values().removeIf(t -> !agora.isBefore(t.expiraEm()));
+            // ainda cheio só com tokens válidos: recomeça do zero em vez de manter uma ordem de uso
+            if (verificados.size() >= maximoCache) {
+                verificados.clear();
+            }
+        }
+        verificados.put(tokenJWT, verificado);
+    }
+
     private Instant dataExpiracao() {
         return LocalDateTime.now().plusHours(3).toInstant(ZoneOffset.of("-03:00"));
     }
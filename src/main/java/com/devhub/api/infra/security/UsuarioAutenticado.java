@@ -0,0 +1,16 @@
+package com.devhub.api.infra.security;
+
+import com.devhub.api.domain.usuario.UserRole;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collection;
+import java.util.List;
+
+// Principal montado só com as claims do token, sem carregar a entidade do usuário
+public record UsuarioAutenticado(Long id, UserRole role, String email) {
+
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.getRole()));
+    }
+}
@@ -2,39 +2,46 @@ package com.devhub.api.service;
 
 import com.devhub.api.domain.contratante.ContratanteRepository;
 import com.devhub.api.domain.freelancer.FreelancerRepository;
-import com.devhub.api.domain.usuario.AutenticacaoData;
-import com.devhub.api.domain.usuario.Usuario;
-import com.devhub.api.infra.security.TokenJWTData;
-import com.devhub.api.infra.security.TokenService;
-import lombok.AllArgsConstructor;
+import com.devhub.api.domain.usuario.UserRole;
+import com.devhub.api.domain.usuario.UsuarioDiretorio;
+import com.devhub.api.domain.usuario.UsuarioDiretorioRepository;
+import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 @Service
-public class AuthorizationService implements UserDetailsService {
+public class AuthorizationService implements UserDetailsService, UserDetailsPasswordService {
+    @Autowired
+    private UsuarioDiretorioRepository diretorioRepository;
     @Autowired
     private FreelancerRepository freelancerRepository;
     @Autowired
     private ContratanteRepository contratanteRepository;
 
-
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        try {
-            if (freelancerRepository.findByEmail(username) != null) {
-                return freelancerRepository.findByEmail(username);
-            } else if (contratanteRepository.findByEmail(username) != null) {
-                return contratanteRepository.findByEmail(username);
-            } else {
-                throw new UsernameNotFoundException("E-mail e/ou senha inválidos");
-            }
-        } catch (Exception e){
-            return null;
+        var usuario = diretorioRepository.findByEmail(UsuarioDiretorio.normalizarEmail(username));
+        if (usuario == null) {
+            throw new UsernameNotFoundException("E-mail e/ou senha inválidos");
+        }
+        return usuario;
+    }
+
+    // Chamado pelo Spring Security depois de um login válido com hash de custo menor que o configurado
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        var conta = (UsuarioDiretorio) user;
+        diretorioRepository.atualizarSenha(conta.getRole(), conta.getIdUsuario(), newPassword);
+        if (conta.getRole() == UserRole.CONTRATANTE) {
+            contratanteRepository.atualizarSenha(newPassword, conta.getIdUsuario());
+        } else {
+            freelancerRepository.atualizarSenha(newPassword, conta.getIdUsuario());
         }
+        return conta;
     }
 }
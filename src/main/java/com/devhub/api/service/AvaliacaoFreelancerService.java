@@ -1,11 +1,16 @@
 package com.devhub.api.service;
 
 import com.devhub.api.domain.avaliacao_freelancer.AvaliacaoFreelancer;
+import com.devhub.api.domain.avaliacao_freelancer.AvaliacaoFreelancerAgregado;
+import com.devhub.api.domain.avaliacao_freelancer.AvaliacaoFreelancerAgregadoRepository;
 import com.devhub.api.domain.avaliacao_freelancer.AvaliacaoFreelancerRepository;
 import com.devhub.api.domain.avaliacao_freelancer.dto.CreateAvaliacaoDTO;
+import com.devhub.api.domain.avaliacao_freelancer.dto.ResumoAvaliacaoDTO;
 import com.devhub.api.domain.contratante.ContratanteRepository;
 import com.devhub.api.domain.freelancer.FreelancerRepository;
+import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
@@ -16,10 +21,18 @@ public class AvaliacaoFreelancerService {
     @Autowired
     private AvaliacaoFreelancerRepository repo;
     @Autowired
+    private AvaliacaoFreelancerAgregadoRepository agregadoRepo;
+    @Autowired
     private FreelancerRepository freelancerRepo;
     @Autowired
     private ContratanteRepository contratanteRepo;
 
+    @Value("${api.avaliacao.media-prior:3.0}")
+    private double mediaPrior;
+    @Value("${api.avaliacao.peso-prior:5}")
+    private double pesoPrior;
+
+    @Transactional
     public AvaliacaoFreelancer avaliarFreelancer(Long idContratante, Long idFreelancer, CreateAvaliacaoDTO data) {
         var contratante = contratanteRepo.findById(idContratante);
         var freelancer = freelancerRepo.findById(idFreelancer);
@@ -29,8 +42,21 @@ public class AvaliacaoFreelancerService {
                     "ID do avaliador ou do avaliado não existe!");
         }
 
-        return repo.save(new AvaliacaoFreelancer(
+        var avaliacao = repo.save(new AvaliacaoFreelancer(
             contratante.get(), freelancer.get(), data.nota()
         ));
+        agregadoRepo.registrarNota(idFreelancer, data.nota(),
+                AvaliacaoFreelancerAgregado.faixaDaNota(data.nota()));
+        return avaliacao;
+    }
+
+    public ResumoAvaliacaoDTO buscarResumo(Long idFreelancer) {
+        if (!freelancerRepo.existsById(idFreelancer)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        }
+        return agregadoRepo.findById(idFreelancer)
+                .map(a -> new ResumoAvaliacaoDTO(idFreelancer, a.getQuantidade(), a.getMedia(),
+                        a.getMediaBayesiana(mediaPrior, pesoPrior), a.getHistograma()))
+                .orElse(new ResumoAvaliacaoDTO(idFreelancer, 0, null, mediaPrior, new long[5]));
     }
 }
@@ -1,37 +1,35 @@
 package com.devhub.api.service;
 
-import com.amazonaws.services.s3.AmazonS3;
-import com.amazonaws.services.s3.model.ObjectTagging;
-import com.amazonaws.services.s3.model.PutObjectRequest;
-import com.amazonaws.services.s3.model.PutObjectResult;
-import com.amazonaws.services.s3.model.Tag;
 import com.devhub.api.domain.contratante.Contratante;
 import com.devhub.api.domain.contratante.ContratanteRepository;
-import com.devhub.api.domain.contratante.dto.ContratanteValidacaoDTO;
 import com.devhub.api.domain.contratante.dto.CreateContratanteDTO;
 import com.devhub.api.domain.contratante.dto.ListContratanteDTO;
 import com.devhub.api.domain.contratante.dto.UpdateContratanteDTO;
 import com.devhub.api.domain.freelancer.FreelancerRepository;
-import com.devhub.api.domain.freelancer.dto.FreelancerValidacaoDTO;
+import com.devhub.api.domain.usuario.FotoUsuario;
+import com.devhub.api.domain.usuario.UserRole;
+import com.devhub.api.domain.usuario.UsuarioDiretorio;
+import com.devhub.api.domain.usuario.UsuarioDiretorioRepository;
+import com.devhub.api.domain.usuario.VarianteFoto;
+import com.devhub.api.infra.cadastro.FiltroIdentificadores;
+import com.devhub.api.infra.cadastro.FiltroIdentificadores.Campo;
+import com.devhub.api.infra.feed.FeedRecente;
+import com.devhub.api.infra.security.HashSenhas;
+import com.devhub.api.infra.security.RevogacaoTokens;
+import com.devhub.api.infra.transacao.AposCommit;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
-import java.util.Objects;
 
 @Service
 public class ContratanteService {
@@ -40,25 +38,27 @@ public class ContratanteService {
     private ContratanteRepository repository;
     @Autowired
     private FreelancerRepository freelancerRepository;
-
-    @Value("${bucketName}")
-    private String bucketName;
-    private final AmazonS3 s3;
-    public ContratanteService(AmazonS3 s3) {
-        this.s3 = s3;
-    }
+    @Autowired
+    private FotoUsuarioService fotoService;
+    @Autowired
+    private RevogacaoTokens revogacaoTokens;
+    @Autowired
+    private UsuarioDiretorioRepository diretorioRepository;
+    @Autowired
+    private HashSenhas hashSenhas;
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+    @Autowired
+    private FiltroIdentificadores filtroIdentificadores;
+    @Autowired
+    private FeedRecente feedRecente;
+    @Autowired
+    private EmailService emailService;
 
     @Transactional
     public Contratante cadastrarContratante(CreateContratanteDTO data) {
 
-        List<FreelancerValidacaoDTO> dadosFreelancer = freelancerRepository.validarDadosUnicos();
-        List<ContratanteValidacaoDTO> dadosContratante = repository.validarDadosUnicos();
-
-        List<Object> contasCadastradas = new ArrayList<>();
-        contasCadastradas.addAll(dadosFreelancer);
-        contasCadastradas.addAll(dadosContratante);
-
-        var camposJaCadastrados = validarCamposCadastrados(contasCadastradas, data);
+        var camposJaCadastrados = validarCamposCadastrados(data);
 
         if (!camposJaCadastrados.equals("Dados já cadastrados: ")) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, camposJaCadastrados);
@@ -66,37 +66,33 @@ public class ContratanteService {
 
         var contratante = new Contratante(data);
 
-        String encryptedPassword = new BCryptPasswordEncoder().encode(data.senha());
+        String encryptedPassword = hashSenhas.encode(data.senha());
 
         contratante.setSenha(encryptedPassword);
 
         repository.save(contratante);
+        diretorioRepository.save(new UsuarioDiretorio(contratante));
+        filtroIdentificadores.adicionar(contratante.getEmail(), Campo.CNPJ, contratante.getCnpj());
+        emailService.agendarBoasVindas(contratante.getNome(), contratante.getEmail());
 
         return contratante;
     }
 
-    protected String validarCamposCadastrados(List<Object> contasCadastradas, CreateContratanteDTO data) {
+    // O filtro descarta em memória o que certamente é novo; só os "talvez" viram consulta por índice único
+    protected String validarCamposCadastrados(CreateContratanteDTO data) {
         String camposJaCadastrados = "Dados já cadastrados: ";
         List<String> listaCampos = new ArrayList<>();
-        for (Object conta: contasCadastradas) {
-            if (conta instanceof FreelancerValidacaoDTO f) {
-                if (f.getEmail().equalsIgnoreCase(data.email())) {
-                    listaCampos.add("E-mail");
-                }
-                if (f.getTelefone().equalsIgnoreCase(data.telefone())) {
-                    listaCampos.add("Telefone");
-                }
-            } else if (conta instanceof ContratanteValidacaoDTO c) {
-                if (c.getEmail().equalsIgnoreCase(data.email())) {
-                    listaCampos.add("E-mail");
-                }
-                if (c.getTelefone().equalsIgnoreCase(data.telefone())) {
-                    listaCampos.add("Telefone");
-                }
-                if (c.getCnpj().equalsIgnoreCase(data.cnpj())) {
-                    listaCampos.add("CNPJ");
-                }
-            }
+        if (filtroIdentificadores.talvezContenha(Campo.EMAIL, data.email())
+                && diretorioRepository.existsByEmail(UsuarioDiretorio.normalizarEmail(data.email()))) {
+            listaCampos.add("E-mail");
+        }
+        // telefone não passa pelo filtro: não há constraint entre as duas tabelas para segurar um "não" errado
+        if (freelancerRepository.existsByTelefone(data.telefone()) || repository.existsByTelefone(data.telefone())) {
+            listaCampos.add("Telefone");
+        }
+        if (filtroIdentificadores.talvezContenha(Campo.CNPJ, data.cnpj())
+                && repository.existsByCnpj(data.cnpj())) {
+            listaCampos.add("CNPJ");
         }
         String campos = String.join(" | ", listaCampos);
         return camposJaCadastrados += campos;
@@ -106,7 +102,7 @@ public class ContratanteService {
         List<Contratante > contratantes = repository.findAllByAtivoTrue();
         List<ListContratanteDTO> dtos = contratantes.stream().map(c -> new ListContratanteDTO(
                         c.getId(), c.getNome(), c.getCnpj(),
-                        c.getTelefone(), c.getEmail(), c.getImagem(),
+                        c.getTelefone(), c.getEmail(), FotoUsuario.url(c.getRole(), c.getId(), c.getImagemHash(), VarianteFoto.MEDIA),
                         c.getContratacoes()
                 )).toList();
         return dtos;
@@ -119,7 +115,8 @@ public class ContratanteService {
         }
         return new ListContratanteDTO(
                 contratante.getId(), contratante.getNome(), contratante.getCnpj(),
-                contratante.getTelefone(), contratante.getEmail(), contratante.getImagem(),
+                contratante.getTelefone(), contratante.getEmail(),
+                FotoUsuario.url(contratante.getRole(), contratante.getId(), contratante.getImagemHash(), VarianteFoto.GRANDE),
                 contratante.getContratacoes());
     }
 
@@ -130,83 +127,42 @@ public class ContratanteService {
             throw new EntityNotFoundException();
         }
 
+        var email = UsuarioDiretorio.normalizarEmail(data.email());
+        if (email != null && !email.equals(UsuarioDiretorio.normalizarEmail(contratante.getEmail()))) {
+            if (filtroIdentificadores.talvezContenha(Campo.EMAIL, email) && diretorioRepository.existsByEmail(email)) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Dados já cadastrados: E-mail");
+            }
+            diretorioRepository.atualizarEmail(UserRole.CONTRATANTE, id, email);
+        }
+
         if(data.senha() != null) {
-            String encryptedPassword = new BCryptPasswordEncoder().encode(data.senha());
+            String encryptedPassword = hashSenhas.encode(data.senha());
             contratante.setSenha(encryptedPassword);
+            diretorioRepository.atualizarSenha(UserRole.CONTRATANTE, id, encryptedPassword);
+            revogacaoTokens.revogar(UserRole.CONTRATANTE, id);
+            refreshTokenService.revogarDoUsuario(UserRole.CONTRATANTE, id);
         }
 
         contratante.atuallizarInformacoes(data);
+        filtroIdentificadores.adicionar(Campo.EMAIL, contratante.getEmail());
+        var nome = contratante.getNome();
+        AposCommit.executar(() -> feedRecente.renomearAutor(UserRole.CONTRATANTE, id, nome));
 
         return contratante;
     }
 
+    @Transactional
     public void excluir(Long id) {
         var contratante = repository.getReferenceById(id);
         if (contratante == null) {
             throw new EntityNotFoundException();
         }
         contratante.excluir();
+        revogacaoTokens.desativar(UserRole.CONTRATANTE, id);
+        refreshTokenService.revogarDoUsuario(UserRole.CONTRATANTE, id);
     }
 
     public Integer atualizarFoto(MultipartFile novaFoto, Long idContratante) throws IOException {
-        byte[] novaFotoByte = novaFoto.getBytes();
-        int atualizados = repository.atualizarFoto(novaFotoByte, idContratante);
-
-        ObjectTagging tagging = new ObjectTagging(Arrays.asList(new Tag("environment", "public")));
-        Contratante contratante = repository.getReferenceById(idContratante);
-        if (contratante == null) {
-            throw new EntityNotFoundException();
-        }
-
-        Boolean savedInS3 = savePhotoInS3(contratante, novaFoto, tagging);
-        int status = atualizados == 1 && savedInS3? 200 : 404;
-
-        return status;
-    }
-
-    private Boolean savePhotoInS3(Contratante contratante, MultipartFile photo, ObjectTagging tagging) {
-        String fileName = generateFileName(contratante.getNome());
-        String fullPath = "contratantes/images/" + contratante.getId() + "_" + contratante.getNome() + "/" + fileName;
-        try {
-            uploadFile(fullPath, photo, tagging);
-            return true;
-        } catch (Exception e) {
-            System.out.println(e.getMessage());
-            return false;
-        }
-    }
-
-    private String uploadFile(String fullPath, MultipartFile photo, ObjectTagging tagging) {
-        int count = 0;
-        int maxTries = 3;
-        while (true) {
-            try {
-                File multiPartFile = convertMultPartToFile(photo);
-                PutObjectRequest putObjectRequest = new PutObjectRequest(bucketName, fullPath, multiPartFile)
-                        .withTagging(tagging);
-                PutObjectResult putObjectResult = s3.putObject(putObjectRequest);
-                return putObjectResult.getContentMd5();
-            } catch (IOException e) {
-                if (++count == maxTries) throw new RuntimeException(e);
-            }
-        }
-    }
-
-    private File convertMultPartToFile(MultipartFile file) throws IOException {
-        File convertFile = new File(Objects.requireNonNull(file.getOriginalFilename()));
-        FileOutputStream fos = new FileOutputStream(convertFile);
-        fos.write(file.getBytes());
-        fos.close();
-        return convertFile;
-    }
-
-    private String generateFileName(String nome) {
-        if (nome != null) nome = nome.replaceAll("\\s+", "");
-        if (nome.isBlank()) nome = "desconhecido";
-        return nome + "_profile-photo.jpg";
-    }
-    public byte[] getFoto(int codigo) {
-        var imagem = repository.getImagemById(codigo);
-        return imagem;
+        return fotoService.salvar(UserRole.CONTRATANTE, idContratante, novaFoto.getBytes()) ? 200 : 404;
     }
 }
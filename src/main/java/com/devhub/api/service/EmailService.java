@@ -1,31 +1,35 @@
 package com.devhub.api.service;
 
+import com.devhub.api.domain.email.EmailPendente;
+import com.devhub.api.domain.email.EmailPendenteRepository;
+import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
+// Os e-mails entram na caixa de saída na transação de quem chama; o envio é do DespachanteEmails
 @Service
 public class EmailService {
     @Autowired
-    private JavaMailSender javaMailSender;
+    private EmailPendenteRepository repository;
 
-    @Value("${spring.email.username")
-    private String remetente;
-
-    public String enviarEmailTexto(String destinatario, String assunto, String mensagem){
-        try{
-            SimpleMailMessage simpleMailMessage = new SimpleMailMessage();
-            simpleMailMessage.setFrom(remetente);
-            simpleMailMessage.setTo(destinatario);
-            simpleMailMessage.setSubject(assunto);
-            simpleMailMessage.setText(mensagem);
-            javaMailSender.send(simpleMailMessage);
-            return "Email enviado";
-        }catch (Exception e){
-            return "Erro ao tentar enviar email" + e.getLocalizedMessage();
+    @Transactional
+    public void agendarEmailTexto(String destinatario, String assunto, String mensagem) {
+        if (destinatario == null || destinatario.isBlank()) {
+            return;
         }
+        repository.save(new EmailPendente(destinatario, assunto, mensagem));
+    }
+
+    @Transactional
+    public void agendarBoasVindas(String nome, String destinatario) {
+        String mensagem = "Olá " + nome + ",\n\n" +
+                "Seja muito bem-vindo à plataforma DevHub!\n\n" +
+                "Estamos muito felizes em tê-lo conosco e gostaríamos de confirmar o seu cadastro em nossa plataforma.\n\n" +
+                "Se você tiver alguma dúvida ou precisar de assistência, não hesite em entrar em contato conosco.\n\n" +
+                "Esperamos que você aproveite ao máximo a sua experiência na DevHub!\n\n" +
+                "Atenciosamente,\n" +
+                "Equipe DevHub";
+        agendarEmailTexto(destinatario, "Seja bem vindo a DevHub", mensagem);
     }
 
 }
@@ -0,0 +1,218 @@
+package com.devhub.api.service;
+
+import com.devhub.api.domain.contratante.ContratanteRepository;
+import com.devhub.api.domain.freelancer.FreelancerRepository;
+import com.devhub.api.domain.usuario.*;
+import com.devhub.api.infra.armazenamento.ObjectStore;
+import com.devhub.api.infra.security.UsuarioAutenticado;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+/*
+ * Envio direto da foto original ao armazenamento. Cada URL emitida vira um registro em envio_original;
+ * a conclusão só confere o objeto e responde 202, e as variantes são geradas numa thread própria, como
+ * em EnvioFoto. URLs vencidas sem conclusão são varridas junto com o objeto que tenha sido enviado.
+ */
+@Slf4j
+@Service
+public class EnvioOriginalService {
+
+    @Autowired
+    private EnvioOriginalRepository repository;
+    @Autowired
+    private FotoUsuarioService fotoService;
+    @Autowired
+    private ObjectStore objectStore;
+    @Autowired
+    private FreelancerRepository freelancerRepository;
+    @Autowired
+    private ContratanteRepository contratanteRepository;
+
+    @Value("${api.foto.envio.validade:PT5M}")
+    private Duration validadeEnvio;
+    @Value("${api.foto.envio.maximo-bytes:10485760}")
+    private long maximoBytesEnvio;
+    @Value("${api.foto.envio.maximo-pendentes:5}")
+    private int maximoPendentes;
+    @Value("${api.foto.envio.threads:1}")
+    private int threads;
+    @Value("${api.foto.envio.fila:50}")
+    private int capacidadeFila;
+    @Value("${api.foto.envio.maximo-tentativas:5}")
+    private int maximoTentativas;
+    @Value("${api.foto.envio.espera-inicial:PT5S}")
+    private Duration esperaInicial;
+    @Value("${api.foto.envio.espera-maxima:PT10M}")
+    private Duration esperaMaxima;
+
+    private final Set<Long> emAndamento = ConcurrentHashMap.newKeySet();
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void iniciar() {
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidadeFila), r -> {
+                    var thread = new Thread(r, "processa-original");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executor.shutdown();
+    }
+
+    // O cliente envia a foto original direto ao armazenamento pela URL devolvida aqui
+    public EnvioFotoDTO iniciarEnvio(UsuarioAutenticado usuario, UserRole role, Long idUsuario) {
+        conferirDono(usuario, role, idUsuario);
+        boolean existe = role == UserRole.CONTRATANTE
+                ? contratanteRepository.existsById(idUsuario)
+                : freelancerRepository.existsById(idUsuario);
+        if (!existe) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Usuário não encontrado");
+        }
+        var agora = Instant.now();
+        if (repository.contarAguardando(idUsuario, role, local(agora)) >= maximoPendentes) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Há envios de foto em aberto demais");
+        }
+        var chave = prefixoOriginais(role, idUsuario) + UUID.randomUUID();
+        var expiraEm = agora.plus(validadeEnvio);
+        repository.save(new EnvioOriginal(chave, idUsuario, role, local(expiraEm)));
+        return new EnvioFotoDTO(objectStore.urlEnvio(chave, expiraEm).toString(), chave, expiraEm);
+    }
+
+    // Confere que o objeto existe e cabe no limite; as variantes são geradas depois, fora da requisição
+    public void concluirEnvio(UsuarioAutenticado usuario, UserRole role, Long idUsuario, ConclusaoEnvioFotoDTO dados) {
+        conferirDono(usuario, role, idUsuario);
+        var chave = dados.chave();
+        if (!chave.startsWith(prefixoOriginais(role, idUsuario)) || chave.contains("..")) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Chave de envio inválida");
+        }
+        var envio = repository.findByChaveAndIdUsuarioAndRoleAndStatus(chave, idUsuario, role,
+                        StatusEnvioOriginal.AGUARDANDO)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Chave de envio inválida"));
+        long tamanho = objectStore.tamanho(chave);
+        if (tamanho < 0) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY, "A foto não foi enviada");
+        }
+        if (tamanho > maximoBytesEnvio) {
+            descartar(envio);
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "A foto excede o tamanho máximo");
+        }
+        envio.receber(dados.hash());
+        agendar(repository.save(envio));
+    }
+
+    @Scheduled(fixedDelayString = "${api.foto.envio.intervalo-varredura:30000}")
+    public void reprocessar() {
+        var prontos = repository.listarRecebidos(LocalDateTime.now(), maximoTentativas,
+                PageRequest.of(0, capacidadeFila));
+        for (EnvioOriginal envio : prontos) {
+            agendar(envio);
+        }
+    }
+
+    // URLs vencidas sem conclusão: o objeto pode ter sido enviado mesmo assim, então é apagado junto
+    @Scheduled(fixedDelayString = "${api.foto.envio.intervalo-limpeza:300000}")
+    public void limparVencidos() {
+        var vencidos = repository.listarVencidos(LocalDateTime.now(), PageRequest.of(0, 500));
+        for (EnvioOriginal envio : vencidos) {
+            try {
+                descartar(envio);
+            } catch (RuntimeException e) {
+                log.warn("Falha ao apagar o envio vencido {}: {}", envio.getChave(), e.getMessage());
+            }
+        }
+    }
+
+    private void agendar(EnvioOriginal envio) {
+        if (!emAndamento.add(envio.getId())) {
+            return;
+        }
+        try {
+            executor.execute(() -> processar(envio));
+        } catch (RejectedExecutionException e) {
+            // fila cheia: o registro continua recebido e a próxima varredura tenta de novo
+            emAndamento.remove(envio.getId());
+        }
+    }
+
+    void processar(EnvioOriginal envio) {
+        try {
+            var original = objectStore.ler(envio.getChave());
+            if (original == null || !FotoUsuario.hash(original).equalsIgnoreCase(envio.getImagemHash())) {
+                log.info("Envio {} descartado: o hash não confere com a foto enviada", envio.getChave());
+                descartar(envio);
+                return;
+            }
+            // false = o usuário foi removido nesse meio tempo
+            fotoService.salvar(envio.getRole(), envio.getIdUsuario(), original);
+            descartar(envio);
+        } catch (ResponseStatusException e) {
+            if (!e.getStatusCode().is4xxClientError()) {
+                falhou(envio, e);
+                return;
+            }
+            // imagem que não decodifica ou passa das dimensões não melhora com nova tentativa
+            log.info("Envio {} descartado: {}", envio.getChave(), e.getReason());
+            descartar(envio);
+        } catch (RuntimeException e) {
+            falhou(envio, e);
+        } finally {
+            emAndamento.remove(envio.getId());
+        }
+    }
+
+    private void falhou(EnvioOriginal envio, RuntimeException e) {
+        envio.registrarFalha(String.valueOf(e.getMessage()), LocalDateTime.now().plus(espera(envio.getTentativas())));
+        log.warn("Falha ao processar {} (tentativa {}): {}", envio.getChave(), envio.getTentativas(), e.getMessage());
+        if (envio.getTentativas() >= maximoTentativas) {
+            descartar(envio);
+        } else {
+            repository.save(envio);
+        }
+    }
+
+    private void descartar(EnvioOriginal envio) {
+        objectStore.apagar(envio.getChave());
+        repository.deleteById(envio.getId());
+    }
+
+    Duration espera(int tentativasAnteriores) {
+        long fator = 1L << Math.min(tentativasAnteriores, 20);
+        var espera = esperaInicial.multipliedBy(fator);
+        return espera.compareTo(esperaMaxima) > 0 ? esperaMaxima : espera;
+    }
+
+    // a URL de envio grava no armazenamento em nome do usuário, então só ele pode pedir
+    private static void conferirDono(UsuarioAutenticado usuario, UserRole role, Long idUsuario) {
+        if (usuario == null || usuario.role() != role || !usuario.id().equals(idUsuario)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Sem permissão para alterar a foto deste usuário");
+        }
+    }
+
+    private static LocalDateTime local(Instant instante) {
+        return LocalDateTime.ofInstant(instante, ZoneId.systemDefault());
+    }
+
+    private static String prefixoOriginais(UserRole role, Long idUsuario) {
+        return "originais/" + role.getRole().toLowerCase() + "/" + idUsuario + "/";
+    }
+}
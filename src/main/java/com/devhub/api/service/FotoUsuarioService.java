@@ -0,0 +1,271 @@
+package com.devhub.api.service;
+
+import com.devhub.api.domain.contratante.ContratanteRepository;
+import com.devhub.api.domain.freelancer.FreelancerRepository;
+import com.devhub.api.domain.usuario.*;
+import com.devhub.api.infra.armazenamento.EnvioFoto;
+import com.devhub.api.infra.feed.FeedRecente;
+import com.devhub.api.infra.imagem.CacheImagens;
+import com.devhub.api.infra.imagem.ProcessadorImagem;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/*
+ * Leitura das fotos de perfil sem materializar o LONGBLOB: os metadados vêm numa consulta curta e
+ * os bytes são copiados em blocos (SUBSTRING) direto para a resposta, cada bloco usando a conexão
+ * só pelo tempo da própria consulta. O bloco padrão (1 MiB) cobre as variantes geradas numa consulta
+ * só; fotos maiores, anteriores às variantes, seguem em mais de uma. As variantes pequenas passam
+ * por CacheImagens, e quando a URL traz a versão (?v=) um acerto no cache responde sem ir ao banco.
+ */
+@Service
+public class FotoUsuarioService {
+
+    private static final int TAMANHO_CABECALHO = 12;
+    // a URL publicada nas listagens já carrega o hash (?v=), então o conteúdo dela nunca muda
+    private static final CacheControl CACHE = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private ProcessadorImagem processadorImagem;
+    @Autowired
+    private UsuarioImagemRepository usuarioImagemRepository;
+    @Autowired
+    private FreelancerRepository freelancerRepository;
+    @Autowired
+    private ContratanteRepository contratanteRepository;
+    @Autowired
+    private UploadPendenteRepository uploadPendenteRepository;
+    @Autowired
+    private EnvioFoto envioFoto;
+    @Autowired
+    private CacheImagens cacheImagens;
+    @Autowired
+    private FeedRecente feedRecente;
+
+    @Value("${api.foto.tamanho-bloco:1048576}")
+    private int tamanhoBloco;
+
+    private record MetadadosFoto(String hash, int variante, long tamanho, MediaType tipo) {
+
+        // cada variante tem conteúdo próprio, então entra na ETag junto com a versão
+        String etag() {
+            return hash + "-" + variante;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Copia {
+        void copiar(long inicio, long quantidade, OutputStream out) throws IOException;
+    }
+
+    // Retorna false se o usuário não existe. O envio ao S3 fica registrado e segue em segundo plano
+    public boolean salvar(UserRole role, Long idUsuario, byte[] original) {
+        // a decodificação e o redimensionamento acontecem antes de abrir a transação
+        var variantes = processadorImagem.gerarVariantes(original);
+        var hash = FotoUsuario.hash(original);
+        UploadPendente pendente = transactionTemplate.execute(status -> {
+            Optional<? extends Usuario> usuario = role == UserRole.CONTRATANTE
+                    ? contratanteRepository.findById(idUsuario)
+                    : freelancerRepository.findById(idUsuario);
+            if (usuario.isEmpty()) {
+                return null;
+            }
+            if (role == UserRole.CONTRATANTE) {
+                contratanteRepository.atualizarHashFoto(hash, idUsuario);
+            } else {
+                freelancerRepository.atualizarHashFoto(hash, idUsuario);
+            }
+            variantes.forEach((variante, bytes) -> usuarioImagemRepository.salvar(
+                    idUsuario, role.getRole(), variante.getTamanho(), bytes, hash));
+            uploadPendenteRepository.removerDoUsuario(idUsuario, role);
+            return uploadPendenteRepository.save(new UploadPendente(
+                    EnvioFoto.chave(role, idUsuario, usuario.get().getNome()),
+                    idUsuario, role, VarianteFoto.GRANDE.getTamanho(), hash));
+        });
+        if (pendente == null) {
+            return false;
+        }
+        cacheImagens.invalidar(role, idUsuario);
+        feedRecente.trocarFotoAutor(role, idUsuario, hash);
+        envioFoto.enviar(pendente, variantes.get(VarianteFoto.GRANDE));
+        return true;
+    }
+
+    public ResponseEntity<StreamingResponseBody> responder(UserRole role, Long idUsuario, VarianteFoto variante,
+                                                           String versao, WebRequest request) {
+        // com ?v= a chave do cache é conhecida sem consultar o banco
+        if (versao != null) {
+            var emCache = cacheImagens.buscar(CacheImagens.chave(role, idUsuario, variante.getTamanho(), versao));
+            if (emCache != null) {
+                return responder(versao + "-" + variante.getTamanho(), emCache.remaining(), tipoDe(cabecalho(emCache)),
+                        (inicio, quantidade, out) -> escrever(emCache, inicio, quantidade, out), request);
+            }
+        }
+
+        var metadados = buscarMetadados(role, idUsuario, variante);
+        if (metadados == null) {
+            return ResponseEntity.status(404).build();
+        }
+        // só entra no cache a variante pedida; fotos antigas servidas pela grande continuam em blocos
+        Copia copia = metadados.variante() == variante.getTamanho() && cacheImagens.aceita(metadados.tamanho())
+                ? (inicio, quantidade, out) -> escrever(carregar(role, idUsuario, metadados), inicio, quantidade, out)
+                : (inicio, quantidade, out) -> copiar(role, idUsuario, metadados, inicio, quantidade, out);
+        return responder(metadados.etag(), metadados.tamanho(), metadados.tipo(), copia, request);
+    }
+
+    private ResponseEntity<StreamingResponseBody> responder(String etag, long tamanho, MediaType tipo, Copia copia,
+                                                            WebRequest request) {
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(304).cacheControl(CACHE).eTag(etag).build();
+        }
+
+        long inicio = 0;
+        long fim = tamanho - 1;
+        String contentRange = null;
+        var range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && rangeValido(request.getHeader(HttpHeaders.IF_RANGE), etag)) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(range);
+            } catch (IllegalArgumentException e) {
+                ranges = List.of();
+            }
+            // vários intervalos exigiriam multipart/byteranges; nesse caso a foto inteira é enviada
+            if (ranges.size() == 1) {
+                if (tamanho == 0 || ranges.get(0).getRangeStart(tamanho) >= tamanho) {
+                    return ResponseEntity.status(416).header(HttpHeaders.CONTENT_RANGE, "bytes */" + tamanho).build();
+                }
+                inicio = ranges.get(0).getRangeStart(tamanho);
+                fim = ranges.get(0).getRangeEnd(tamanho);
+                contentRange = "bytes " + inicio + "-" + fim + "/" + tamanho;
+            }
+        }
+
+        var builder = ResponseEntity.status(contentRange == null ? 200 : 206)
+                .cacheControl(CACHE)
+                .eTag(etag)
+                .contentType(tipo)
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (contentRange != null) {
+            builder.header(HttpHeaders.CONTENT_RANGE, contentRange);
+        }
+
+        long primeiro = inicio;
+        long quantidade = fim - inicio + 1;
+        StreamingResponseBody corpo = out -> copia.copiar(primeiro, quantidade, out);
+        return builder.contentLength(quantidade).body(corpo);
+    }
+
+    // Pega a menor variante gravada que atende ao pedido (fotos antigas só têm a grande)
+    private MetadadosFoto buscarMetadados(UserRole role, Long idUsuario, VarianteFoto variante) {
+        var linhas = jdbcTemplate.query(
+                "select imagem_hash, tamanho, length(imagem), substring(imagem, 1, " + TAMANHO_CABECALHO + ")"
+                        + " from usuario_imagem where id_usuario = ? and role = ? and tamanho >= ?"
+                        + " order by tamanho limit 1",
+                (rs, i) -> new MetadadosFoto(rs.getString(1), rs.getInt(2), rs.getLong(3), tipoDe(rs.getBytes(4))),
+                idUsuario, role.getRole(), variante.getTamanho());
+        return linhas.isEmpty() ? null : linhas.get(0);
+    }
+
+    private void copiar(UserRole role, Long idUsuario, MetadadosFoto foto, long inicio, long quantidade, OutputStream out)
+            throws IOException {
+        long copiados = 0;
+        while (copiados < quantidade) {
+            int bloco = (int) Math.min(tamanhoBloco, quantidade - copiados);
+            // o hash na condição garante que todos os blocos são da mesma versão da foto
+            var bytes = jdbcTemplate.query(
+                    "select substring(imagem, ?, ?) from usuario_imagem"
+                            + " where id_usuario = ? and role = ? and tamanho = ? and imagem_hash = ?",
+                    rs -> rs.next() ? rs.getBytes(1) : null,
+                    inicio + copiados + 1, bloco, idUsuario, role.getRole(), foto.variante(), foto.hash());
+            if (bytes == null || bytes.length == 0) {
+                throw new IOException("Foto do usuário " + idUsuario + " mudou durante o envio");
+            }
+            out.write(bytes);
+            copiados += bytes.length;
+        }
+    }
+
+    // Lê a variante inteira numa consulta só e guarda no cache para as próximas requisições
+    private ByteBuffer carregar(UserRole role, Long idUsuario, MetadadosFoto foto) throws IOException {
+        var bytes = jdbcTemplate.query(
+                "select imagem from usuario_imagem where id_usuario = ? and role = ? and tamanho = ? and imagem_hash = ?",
+                rs -> rs.next() ? rs.getBytes(1) : null,
+                idUsuario, role.getRole(), foto.variante(), foto.hash());
+        if (bytes == null) {
+            throw new IOException("Foto do usuário " + idUsuario + " mudou durante o envio");
+        }
+        return cacheImagens.guardar(CacheImagens.chave(role, idUsuario, foto.variante(), foto.hash()), bytes);
+    }
+
+    private static void escrever(ByteBuffer foto, long inicio, long quantidade, OutputStream out) throws IOException {
+        var fatia = foto.duplicate().limit((int) (inicio + quantidade)).position((int) inicio);
+        var canal = Channels.newChannel(out);
+        while (fatia.hasRemaining()) {
+            canal.write(fatia);
+        }
+    }
+
+    private static byte[] cabecalho(ByteBuffer foto) {
+        var bytes = new byte[Math.min(TAMANHO_CABECALHO, foto.remaining())];
+        foto.duplicate().get(bytes);
+        return bytes;
+    }
+
+    private static boolean rangeValido(String ifRange, String etag) {
+        if (ifRange == null) {
+            return true;
+        }
+        return ifRange.equals("\"" + etag + "\"");
+    }
+
+    static MediaType tipoDe(byte[] cabecalho) {
+        if (cabecalho == null) {
+            return MediaType.APPLICATION_OCTET_STREAM;
+        }
+        if (comeca(cabecalho, 0xFF, 0xD8, 0xFF)) {
+            return MediaType.IMAGE_JPEG;
+        }
+        if (comeca(cabecalho, 0x89, 'P', 'N', 'G')) {
+            return MediaType.IMAGE_PNG;
+        }
+        if (comeca(cabecalho, 'G', 'I', 'F', '8')) {
+            return MediaType.IMAGE_GIF;
+        }
+        if (comeca(cabecalho, 'R', 'I', 'F', 'F') && cabecalho.length >= 12
+                && cabecalho[8] == 'W' && cabecalho[9] == 'E' && cabecalho[10] == 'B' && cabecalho[11] == 'P') {
+            return MediaType.parseMediaType("image/webp");
+        }
+        return MediaType.APPLICATION_OCTET_STREAM;
+    }
+
+    private static boolean comeca(byte[] bytes, int... assinatura) {
+        if (bytes.length < assinatura.length) {
+            return false;
+        }
+        for (int i = 0; i < assinatura.length; i++) {
+            if ((bytes[i] & 0xFF) != assinatura[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -1,43 +1,52 @@
 package com.devhub.api.service;
 
-import com.amazonaws.services.s3.AmazonS3;
-import com.amazonaws.services.s3.model.ObjectTagging;
-import com.amazonaws.services.s3.model.PutObjectRequest;
-import com.amazonaws.services.s3.model.PutObjectResult;
-import com.amazonaws.services.s3.model.Tag;
-import com.devhub.api.domain.avaliacao_freelancer.AvaliacaoFreelancerRepository;
+import com.devhub.api.domain.avaliacao_freelancer.AvaliacaoFreelancerAgregado;
+import com.devhub.api.domain.avaliacao_freelancer.AvaliacaoFreelancerAgregadoRepository;
 import com.devhub.api.domain.contratante.ContratanteRepository;
-import com.devhub.api.domain.contratante.dto.ContratanteValidacaoDTO;
 import com.devhub.api.domain.especialidade.Especialidade;
 import com.devhub.api.domain.especialidade.EspecialidadeDTO;
 import com.devhub.api.domain.especialidade.EspecialidadeRepository;
 import com.devhub.api.domain.freelancer.*;
 import com.devhub.api.domain.freelancer.dto.*;
+import com.devhub.api.domain.paginacao.PaginaCursorDTO;
+import com.devhub.api.domain.usuario.FotoUsuario;
 import com.devhub.api.domain.usuario.UserRole;
-import jakarta.persistence.EntityNotFoundException;
+import com.devhub.api.domain.usuario.UsuarioDiretorio;
+import com.devhub.api.domain.usuario.UsuarioDiretorioRepository;
+import com.devhub.api.domain.usuario.VarianteFoto;
+import com.devhub.api.infra.busca.IndiceBuscaFreelancer;
+import com.devhub.api.infra.busca.MetricaSimilaridade;
+import com.devhub.api.infra.busca.MotorSimilaridadeEspecialidades;
+import com.devhub.api.infra.cadastro.FiltroIdentificadores;
+import com.devhub.api.infra.cadastro.FiltroIdentificadores.Campo;
+import com.devhub.api.infra.feed.FeedRecente;
+import com.devhub.api.infra.security.HashSenhas;
+import com.devhub.api.infra.security.RevogacaoTokens;
+import com.devhub.api.infra.transacao.AposCommit;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
 public class FreelancerService {
 
+    private static final int TAMANHO_PAGINA_PADRAO = 20;
+    private static final int TAMANHO_PAGINA_MAXIMO = 100;
+
     @Autowired
     private FreelancerRepository repository;
     @Autowired
@@ -45,83 +54,96 @@ public class FreelancerService {
     @Autowired
     private ContratanteRepository contratanteRepository;
     @Autowired
-    private AvaliacaoFreelancerRepository avaliacaoRepo;
-
-    @Value("${bucketName}")
-    private String bucketName;
-    private final AmazonS3 s3;
-
-    public FreelancerService(AmazonS3 s3) {
-        this.s3 = s3;
-    }
+    private AvaliacaoFreelancerAgregadoRepository avaliacaoRepo;
+    @Autowired
+    private FotoUsuarioService fotoService;
+    @Autowired
+    private IndiceBuscaFreelancer indiceBusca;
+    @Autowired
+    private MotorSimilaridadeEspecialidades motorSimilaridade;
+    @Autowired
+    private RevogacaoTokens revogacaoTokens;
+    @Autowired
+    private UsuarioDiretorioRepository diretorioRepository;
+    @Autowired
+    private HashSenhas hashSenhas;
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+    @Autowired
+    private FiltroIdentificadores filtroIdentificadores;
+    @Autowired
+    private FeedRecente feedRecente;
+    @Autowired
+    private EmailService emailService;
 
     @Transactional
     public Freelancer cadastrarFreelancer(CreateFreelancerDTO data) {
 
-        List<FreelancerValidacaoDTO> dadosFreelancer = repository.validarDadosUnicos();
-        List<ContratanteValidacaoDTO> dadosContratante = contratanteRepository.validarDadosUnicos();
-
-        List<Object> contasCadastradas = new ArrayList<>();
-        contasCadastradas.addAll(dadosFreelancer);
-        contasCadastradas.addAll(dadosContratante);
-
-        var camposJaCadastrados = validarCamposCadastrados(contasCadastradas, data);
+        var camposJaCadastrados = validarCamposCadastrados(data);
 
         if (!camposJaCadastrados.equals("Dados já cadastrados: ")) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, camposJaCadastrados);
         }
         var freelancer = new Freelancer(data);
-        String encryptedPassword = new BCryptPasswordEncoder().encode(data.senha());
+        String encryptedPassword = hashSenhas.encode(data.senha());
 
         freelancer.setSenha(encryptedPassword);
 
         repository.save(freelancer);
+        diretorioRepository.save(new UsuarioDiretorio(freelancer));
+        filtroIdentificadores.adicionar(freelancer.getEmail(), Campo.CPF, freelancer.getCpf());
+        emailService.agendarBoasVindas(freelancer.getNome(), freelancer.getEmail());
+        // o índice só passa a enxergar o freelancer depois que o cadastro foi gravado
+        var id = freelancer.getId();
+        var nome = freelancer.getNome();
+        var funcao = freelancer.getFuncao();
+        AposCommit.executar(() -> indiceBusca.indexar(id, nome, funcao, List.of()));
         return freelancer;
     }
 
-    protected String validarCamposCadastrados(List<Object> contasCadastradas, CreateFreelancerDTO data) {
+    // O filtro descarta em memória o que certamente é novo; só os "talvez" viram consulta por índice único
+    protected String validarCamposCadastrados(CreateFreelancerDTO data) {
         String camposJaCadastrados = "Dados já cadastrados: ";
         List<String> listaCampos = new ArrayList<>();
-        for (Object conta : contasCadastradas) {
-            if (conta instanceof FreelancerValidacaoDTO f) {
-                if (f.getEmail().equalsIgnoreCase(data.email())) {
-                    listaCampos.add("E-mail");
-                }
-                if (f.getTelefone().equalsIgnoreCase(data.telefone())) {
-                    listaCampos.add("Telefone");
-                }
-                if (f.getCpf().equalsIgnoreCase(data.cpf())) {
-                    listaCampos.add("CPF");
-                }
-            } else if (conta instanceof ContratanteValidacaoDTO c) {
-                if (c.getEmail().equalsIgnoreCase(data.email())) {
-                    listaCampos.add("E-mail");
-                }
-                if (c.getTelefone().equalsIgnoreCase(data.telefone())) {
-                    listaCampos.add("Telefone");
-                }
-            }
+        if (filtroIdentificadores.talvezContenha(Campo.EMAIL, data.email())
+                && diretorioRepository.existsByEmail(UsuarioDiretorio.normalizarEmail(data.email()))) {
+            listaCampos.add("E-mail");
+        }
+        // telefone não passa pelo filtro: não há constraint entre as duas tabelas para segurar um "não" errado
+        if (repository.existsByTelefone(data.telefone()) || contratanteRepository.existsByTelefone(data.telefone())) {
+            listaCampos.add("Telefone");
+        }
+        if (filtroIdentificadores.talvezContenha(Campo.CPF, data.cpf())
+                && repository.existsByCpf(data.cpf())) {
+            listaCampos.add("CPF");
         }
         String campos = String.join(" | ", listaCampos);
         return camposJaCadastrados += campos;
     }
 
-    public List<ListaFreelancerDTO> getFreelancers() {
-        List<Freelancer> freelancers = repository.findAllByAtivoTrue();
-        List<ListaFreelancerDTO> dtos = freelancers.stream().map(f ->
-                new ListaFreelancerDTO(
-                        f.getId(),
-                        f.getNome(),
-                        f.getImagem(),
-                        f.getFuncao(),
-                        f.getEspecialidades(),
-                        f.getSenioridade(),
-                        f.getValorHora(),
-                        avaliacaoRepo.calcularMediaNotas(f),
-                        f.getDescricao(),
-                        f.getTelefone()
-                )).toList();
-        return dtos;
+    public PaginaCursorDTO<ListaFreelancerDTO> getFreelancers(Long cursor, Integer tamanho) {
+        int tamanhoPagina = limitarTamanho(tamanho);
+
+        List<FreelancerResumoDTO> resumos = repository.listarAtivosAposId(
+                cursor == null ? 0L : cursor, PageRequest.of(0, tamanhoPagina + 1));
+        boolean temProxima = resumos.size() > tamanhoPagina;
+        if (temProxima) {
+            resumos = resumos.subList(0, tamanhoPagina);
+        }
+
+        Map<Long, List<EspecialidadeDTO>> especialidades = new HashMap<>();
+        if (!resumos.isEmpty()) {
+            var ids = resumos.stream().map(FreelancerResumoDTO::id).toList();
+            for (var especialidade : especialidadeRepository.listarPorFreelancers(ids)) {
+                especialidades.computeIfAbsent(especialidade.idFreelancer(), id -> new ArrayList<>())
+                        .add(new EspecialidadeDTO(especialidade.descricao()));
+            }
+        }
+
+        List<ListaFreelancerDTO> dtos = resumos.stream().map(f ->
+                new ListaFreelancerDTO(f, especialidades.getOrDefault(f.id(), List.of()))).toList();
+        String proximoCursor = temProxima ? String.valueOf(resumos.get(resumos.size() - 1).id()) : null;
+        return new PaginaCursorDTO<>(dtos, proximoCursor);
     }
 
     public PerfilFreelancerDTO getFreelancerById(Long id) {
@@ -134,7 +156,7 @@ public class FreelancerService {
                 freelancer.getId(), freelancer.getNome(), freelancer.getEmail(), freelancer.getFuncao(),
                 freelancer.getEspecialidades(), freelancer.getValorHora(),
                 freelancer.getSenioridade(), freelancer.getDescricao(), freelancer.getTelefone(),
-                freelancer.getImagem(), avaliacaoRepo.calcularMediaNotas(freelancer)
+                FotoUsuario.url(freelancer.getRole(), freelancer.getId(), freelancer.getImagemHash(), VarianteFoto.GRANDE), notaDe(freelancer.getId())
         );
         return dto;
     }
@@ -146,6 +168,18 @@ public class FreelancerService {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND);
         }
         freelancer.atuallizarInformacoes(data);
+        var nome = freelancer.getNome();
+        var funcao = freelancer.getFuncao();
+        AposCommit.executar(() -> {
+            indiceBusca.atualizarDados(id, nome, funcao);
+            feedRecente.renomearAutor(UserRole.FREELANCER, id, nome);
+        });
+        if (data.senha() != null) {
+            freelancer.setSenha(hashSenhas.encode(data.senha()));
+            diretorioRepository.atualizarSenha(UserRole.FREELANCER, id, freelancer.getSenha());
+            revogacaoTokens.revogar(UserRole.FREELANCER, id);
+            refreshTokenService.revogarDoUsuario(UserRole.FREELANCER, id);
+        }
         return freelancer;
     }
 
@@ -156,8 +190,15 @@ public class FreelancerService {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND);
         }
         freelancer.excluir();
+        AposCommit.executar(() -> {
+            indiceBusca.remover(id);
+            motorSimilaridade.remover(id);
+        });
+        revogacaoTokens.desativar(UserRole.FREELANCER, id);
+        refreshTokenService.revogarDoUsuario(UserRole.FREELANCER, id);
     }
 
+    @Transactional
     public List<Especialidade> cadastrarEspecialidades(List<String> lista, Long id) {
         var freelancer = repository.findById(id);
         if (freelancer.isEmpty()) {
@@ -169,93 +210,59 @@ public class FreelancerService {
             especialidades.add(new Especialidade(especialidade, freelancer.get()));
         }
         especialidadeRepository.saveAll(especialidades);
+        AposCommit.executar(() -> {
+            indiceBusca.adicionarEspecialidades(id, lista);
+            motorSimilaridade.adicionarEspecialidades(id, lista);
+        });
         return especialidades;
     }
 
     public Integer atualizarFoto(MultipartFile novaFoto, Long idFreelancer) throws IOException {
-        byte[] novaFotoByte = novaFoto.getBytes();
-        int atualizados = repository.atualizarFoto(novaFotoByte, idFreelancer);
-
-        ObjectTagging tagging = new ObjectTagging(Arrays.asList(new Tag("environment", "public")));
-        Freelancer freelancer = repository.getReferenceById(idFreelancer);
-        if (freelancer == null) {
-            throw new EntityNotFoundException();
-        }
-
-        savePhotoInS3(freelancer, novaFoto, tagging);
-        int status = atualizados == 1 ? 200 : 404;
-
-        return status;
-    }
-
-    private void savePhotoInS3(Freelancer freelancer, MultipartFile photo, ObjectTagging tagging) {
-        String fileName = generateFileName(freelancer.getNome());
-        String fullPath = "freelancers/images/" + freelancer.getId() + "_" + freelancer.getNome() + "/" + fileName;
-        try {
-            uploadFile(fullPath, photo, tagging);
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        }
+        return fotoService.salvar(UserRole.FREELANCER, idFreelancer, novaFoto.getBytes()) ? 200 : 404;
     }
 
-    private String uploadFile(String fullPath, MultipartFile photo, ObjectTagging tagging) {
-        int count = 0;
-        int maxTries = 3;
-        while (true) {
-            try {
-                File multiPartFile = convertMultPartToFile(photo);
-                PutObjectRequest putObjectRequest = new PutObjectRequest(bucketName, fullPath, multiPartFile)
-                        .withTagging(tagging);
-                PutObjectResult putObjectResult = s3.putObject(putObjectRequest);
-                return putObjectResult.getContentMd5();
-            } catch (IOException e) {
-                if (++count == maxTries) throw new RuntimeException(e);
-            }
-        }
+    public List<PerfilFreelancerDTO> getFreelancersBySearch(String pesquisa, Integer limite) {
+        var ids = indiceBusca.buscar(pesquisa, limitarTamanho(limite));
+        return paraPerfis(buscarNaOrdem(ids));
     }
 
-    private File convertMultPartToFile(MultipartFile file) throws IOException {
-        File convertFile = new File(Objects.requireNonNull(file.getOriginalFilename()));
-        FileOutputStream fos = new FileOutputStream(convertFile);
-        fos.write(file.getBytes());
-        fos.close();
-        return convertFile;
+    public List<PerfilFreelancerDTO> compareFreelancers(List<EspecialidadeDTO> filters, Long compareTo,
+                                                        Integer limite, MetricaSimilaridade metrica) {
+        List<String> especialidades = filters.stream()
+                .map(EspecialidadeDTO::descricao)
+                .toList();
+        var ids = motorSimilaridade.maisSimilares(especialidades, compareTo, limitarTamanho(limite), metrica);
+        return paraPerfis(buscarNaOrdem(ids));
     }
 
-    private String generateFileName(String nome) {
-        if (nome != null) nome = nome.replaceAll("\\s+", "");
-        if (nome.isBlank()) nome = "desconhecido";
-        return nome + "_profile-photo.webp";
+    private int limitarTamanho(Integer tamanho) {
+        return tamanho == null || tamanho < 1 ? TAMANHO_PAGINA_PADRAO : Math.min(tamanho, TAMANHO_PAGINA_MAXIMO);
     }
 
-    public List<PerfilFreelancerDTO> getFreelancersBySearch(String pesquisa) {
-        List<Freelancer> freelancers = repository.getFreelancersBySearch(pesquisa);
-        List<PerfilFreelancerDTO> dtos = freelancers.stream()
+    private List<PerfilFreelancerDTO> paraPerfis(List<Freelancer> freelancers) {
+        var ids = freelancers.stream().map(Freelancer::getId).collect(Collectors.toSet());
+        Map<Long, Double> notas = avaliacaoRepo.findAllById(ids).stream()
+                .filter(a -> a.getMedia() != null)
+                .collect(Collectors.toMap(AvaliacaoFreelancerAgregado::getIdFreelancer, AvaliacaoFreelancerAgregado::getMedia));
+        return freelancers.stream()
                 .map(f -> new PerfilFreelancerDTO(
                         f.getId(), f.getNome(), f.getEmail(), f.getFuncao(),
                         f.getEspecialidades(), f.getValorHora(),
                         f.getSenioridade(), f.getDescricao(), f.getTelefone(),
-                        f.getImagem(), avaliacaoRepo.calcularMediaNotas(f)
+                        FotoUsuario.url(f.getRole(), f.getId(), f.getImagemHash(), VarianteFoto.MEDIA), notas.get(f.getId())
                 )).toList();
-        return dtos;
     }
 
-    public List<PerfilFreelancerDTO> compareFreelancers(List<EspecialidadeDTO> filters, Long compareTo) {
-        List<String> especialidades = filters.stream()
-                .map(EspecialidadeDTO::descricao)
-                .toList();
-        var freelancers = repository.compareFreelancerBySpecialties(especialidades, compareTo);
-        List<PerfilFreelancerDTO> dtos = freelancers.stream()
-                .map(f -> new PerfilFreelancerDTO(
-                        f.getId(), f.getNome(), f.getEmail(), f.getFuncao(),
-                        f.getEspecialidades(), f.getValorHora(),
-                        f.getSenioridade(), f.getDescricao(), f.getTelefone(),
-                        f.getImagem(), avaliacaoRepo.calcularMediaNotas(f)
-                )).toList();
-        return dtos;
+    private List<Freelancer> buscarNaOrdem(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Freelancer> porId = repository.findByIdIn(ids).stream()
+                .collect(Collectors.toMap(Freelancer::getId, f -> f));
+        return ids.stream().map(porId::get).filter(Objects::nonNull).toList();
     }
 
-    public byte[] getFoto(int codigo) {
-        return repository.getImagemById(codigo);
+    private Double notaDe(Long idFreelancer) {
+        return avaliacaoRepo.findById(idFreelancer).map(AvaliacaoFreelancerAgregado::getMedia).orElse(null);
     }
 }
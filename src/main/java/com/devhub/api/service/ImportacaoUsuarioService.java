@@ -0,0 +1,462 @@
+package com.devhub.api.service;
+
+import com.devhub.api.domain.contratante.ContratanteRepository;
+import com.devhub.api.domain.contratante.dto.CreateContratanteDTO;
+import com.devhub.api.domain.freelancer.FreelancerRepository;
+import com.devhub.api.domain.freelancer.dto.CreateFreelancerDTO;
+import com.devhub.api.domain.importacao.FormatoImportacao;
+import com.devhub.api.domain.importacao.RelatorioImportacaoDTO;
+import com.devhub.api.domain.importacao.ResultadoLinhaImportacaoDTO;
+import com.devhub.api.domain.usuario.UserRole;
+import com.devhub.api.domain.usuario.UsuarioDiretorio;
+import com.devhub.api.domain.usuario.UsuarioDiretorioRepository;
+import com.devhub.api.infra.busca.IndiceBuscaFreelancer;
+import com.devhub.api.infra.cadastro.FiltroIdentificadores;
+import com.devhub.api.infra.cadastro.FiltroIdentificadores.Campo;
+import com.devhub.api.infra.exception.ViolacaoIntegridade;
+import com.devhub.api.infra.importacao.LeitorImportacao;
+import com.devhub.api.infra.importacao.LinhaImportacao;
+import com.devhub.api.infra.security.HashSenhas;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
+import java.util.function.Function;
+
+/*
+ * Importação em massa de contas. O arquivo é lido em streaming e processado em lotes: duplicados dentro
+ * do arquivo são barrados por conjuntos em memória, conflitos com o banco saem de uma consulta IN por
+ * campo (só com os valores que o filtro de Bloom não descartou), as senhas são geradas em paralelo no
+ * pool do BCrypt e cada lote entra com inserts em batch JDBC numa transação própria. Um lote que viola
+ * restrição do banco é refeito linha a linha para apontar só as linhas com problema; qualquer outra falha
+ * rejeita as linhas do lote com a causa e a importação segue, então o relatório sempre volta.
+ */
+@Slf4j
+@Service
+public class ImportacaoUsuarioService {
+
+    private static final String INSERT_DIRETORIO =
+            "insert into usuario_diretorio (email, role, id_usuario, senha) values (?, ?, ?, ?)";
+
+    @Value("${api.importacao.lote:1000}")
+    private int tamanhoLote;
+
+    @Autowired
+    private LeitorImportacao leitor;
+    @Autowired
+    private FreelancerRepository freelancerRepository;
+    @Autowired
+    private ContratanteRepository contratanteRepository;
+    @Autowired
+    private UsuarioDiretorioRepository diretorioRepository;
+    @Autowired
+    private HashSenhas hashSenhas;
+    @Autowired
+    private FiltroIdentificadores filtroIdentificadores;
+    @Autowired
+    private IndiceBuscaFreelancer indiceBusca;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transacao;
+
+    @PostConstruct
+    void iniciar() {
+        transacao = new TransactionTemplate(transactionManager);
+    }
+
+    public RelatorioImportacaoDTO importarFreelancers(InputStream entrada, FormatoImportacao formato) throws IOException {
+        return importar(entrada, formato, new ContasFreelancer());
+    }
+
+    public RelatorioImportacaoDTO importarContratantes(InputStream entrada, FormatoImportacao formato) throws IOException {
+        return importar(entrada, formato, new ContasContratante());
+    }
+
+    private <T> RelatorioImportacaoDTO importar(InputStream entrada, FormatoImportacao formato, TipoConta<T> tipo) throws IOException {
+        var importacao = new Importacao<>(tipo);
+        leitor.ler(entrada, formato, tipo.classe(), importacao::receber);
+        importacao.descarregar();
+        var relatorio = new RelatorioImportacaoDTO(importacao.resultados);
+        log.info("Importação de {}: {} linhas, {} importadas, {} rejeitadas",
+                tipo.role(), relatorio.total(), relatorio.importados(), relatorio.rejeitados());
+        return relatorio;
+    }
+
+    // O que muda entre importar freelancers e contratantes
+    private interface TipoConta<T> {
+        Class<T> classe();
+
+        UserRole role();
+
+        String email(T dados);
+
+        String telefone(T dados);
+
+        String documento(T dados);
+
+        String senha(T dados);
+
+        Campo campoDocumento();
+
+        List<String> listarDocumentosExistentes(Collection<String> documentos);
+
+        String sqlInsercao();
+
+        void preencher(PreparedStatement insert, T dados, String hash) throws SQLException;
+
+        void aposGravar(T dados, Long id);
+    }
+
+    private class ContasFreelancer implements TipoConta<CreateFreelancerDTO> {
+        @Override
+        public Class<CreateFreelancerDTO> classe() {
+            return CreateFreelancerDTO.class;
+        }
+
+        @Override
+        public UserRole role() {
+            return UserRole.FREELANCER;
+        }
+
+        @Override
+        public String email(CreateFreelancerDTO dados) {
+            return dados.email();
+        }
+
+        @Override
+        public String telefone(CreateFreelancerDTO dados) {
+            return dados.telefone();
+        }
+
+        @Override
+        public String documento(CreateFreelancerDTO dados) {
+            return dados.cpf();
+        }
+
+        @Override
+        public String senha(CreateFreelancerDTO dados) {
+            return dados.senha();
+        }
+
+        @Override
+        public Campo campoDocumento() {
+            return Campo.CPF;
+        }
+
+        @Override
+        public List<String> listarDocumentosExistentes(Collection<String> cpfs) {
+            return freelancerRepository.listarCpfsExistentes(cpfs);
+        }
+
+        @Override
+        public String sqlInsercao() {
+            return """
+                insert into freelancer (nome, telefone, contratacoes, email, senha, role, ativo, cpf,
+                                        funcao, valor_hora, descricao, senioridade)
+                values (?, ?, 0, ?, ?, 'FREELANCER', 1, ?, ?, ?, ?, ?)
+                """;
+        }
+
+        @Override
+        public void preencher(PreparedStatement insert, CreateFreelancerDTO dados, String hash) throws SQLException {
+            insert.setString(1, dados.nome());
+            insert.setString(2, dados.telefone());
+            insert.setString(3, dados.email());
+            insert.setString(4, hash);
+            insert.setString(5, dados.cpf());
+            insert.setString(6, dados.funcao().name());
+            insert.setDouble(7, dados.valorHora());
+            insert.setString(8, dados.descricao());
+            insert.setString(9, dados.senioridade());
+        }
+
+        @Override
+        public void aposGravar(CreateFreelancerDTO dados, Long id) {
+            filtroIdentificadores.adicionar(dados.email(), Campo.CPF, dados.cpf());
+            indiceBusca.indexar(id, dados.nome(), dados.funcao(), List.of());
+        }
+    }
+
+    private class ContasContratante implements TipoConta<CreateContratanteDTO> {
+        @Override
+        public Class<CreateContratanteDTO> classe() {
+            return CreateContratanteDTO.class;
+        }
+
+        @Override
+        public UserRole role() {
+            return UserRole.CONTRATANTE;
+        }
+
+        @Override
+        public String email(CreateContratanteDTO dados) {
+            return dados.email();
+        }
+
+        @Override
+        public String telefone(CreateContratanteDTO dados) {
+            return dados.telefone();
+        }
+
+        @Override
+        public String documento(CreateContratanteDTO dados) {
+            return dados.cnpj();
+        }
+
+        @Override
+        public String senha(CreateContratanteDTO dados) {
+            return dados.senha();
+        }
+
+        @Override
+        public Campo campoDocumento() {
+            return Campo.CNPJ;
+        }
+
+        @Override
+        public List<String> listarDocumentosExistentes(Collection<String> cnpjs) {
+            return contratanteRepository.listarCnpjsExistentes(cnpjs);
+        }
+
+        @Override
+        public String sqlInsercao() {
+            return """
+                insert into contratante (nome, telefone, contratacoes, email, senha, role, ativo, cnpj)
+                values (?, ?, 0, ?, ?, 'CONTRATANTE', 1, ?)
+                """;
+        }
+
+        @Override
+        public void preencher(PreparedStatement insert, CreateContratanteDTO dados, String hash) throws SQLException {
+            insert.setString(1, dados.nome());
+            insert.setString(2, dados.telefone());
+            insert.setString(3, dados.email());
+            insert.setString(4, hash);
+            insert.setString(5, dados.cnpj());
+        }
+
+        @Override
+        public void aposGravar(CreateContratanteDTO dados, Long id) {
+            filtroIdentificadores.adicionar(dados.email(), Campo.CNPJ, dados.cnpj());
+        }
+    }
+
+    private class Importacao<T> {
+
+        private final TipoConta<T> tipo;
+        private final Set<String> emails = new HashSet<>();
+        private final Set<String> telefones = new HashSet<>();
+        private final Set<String> documentos = new HashSet<>();
+        private final List<LinhaImportacao<T>> pendentes = new ArrayList<>();
+        private final List<ResultadoLinhaImportacaoDTO> resultados = new ArrayList<>();
+
+        Importacao(TipoConta<T> tipo) {
+            this.tipo = tipo;
+        }
+
+        void receber(LinhaImportacao<T> linha) {
+            if (linha.erro() != null) {
+                rejeitar(linha.numero(), linha.erro());
+                return;
+            }
+            var dados = linha.dados();
+            var email = UsuarioDiretorio.normalizarEmail(tipo.email(dados));
+            if (email == null || email.isBlank()) {
+                // sem e-mail não há como entrar no diretório de login
+                rejeitar(linha.numero(), "email: não deve estar em branco");
+                return;
+            }
+            List<String> repetidos = new ArrayList<>();
+            if (emails.contains(email)) {
+                repetidos.add("E-mail");
+            }
+            if (telefones.contains(tipo.telefone(dados))) {
+                repetidos.add("Telefone");
+            }
+            if (documentos.contains(tipo.documento(dados))) {
+                repetidos.add(tipo.campoDocumento().name());
+            }
+            if (!repetidos.isEmpty()) {
+                rejeitar(linha.numero(), "Dados repetidos no arquivo: " + String.join(" | ", repetidos));
+                return;
+            }
+            emails.add(email);
+            telefones.add(tipo.telefone(dados));
+            documentos.add(tipo.documento(dados));
+            pendentes.add(linha);
+            if (pendentes.size() >= tamanhoLote) {
+                descarregar();
+            }
+        }
+
+        // Qualquer falha fica restrita ao lote: as linhas dele saem rejeitadas com a causa e a leitura segue
+        void descarregar() {
+            if (pendentes.isEmpty()) {
+                return;
+            }
+            var lote = List.copyOf(pendentes);
+            pendentes.clear();
+            List<LinhaImportacao<T>> livres;
+            List<String> hashes;
+            try {
+                livres = conferirBanco(lote);
+                if (livres.isEmpty()) {
+                    return;
+                }
+                hashes = hashSenhas.encodeTodos(livres.stream().map(l -> tipo.senha(l.dados())).toList());
+            } catch (RuntimeException e) {
+                rejeitarLote(lote, e);
+                return;
+            }
+
+            List<Long> ids;
+            try {
+                ids = transacao.execute(status -> inserir(livres, hashes));
+            } catch (DataIntegrityViolationException e) {
+                log.warn("Lote de importação de {} violou restrição do banco; gravando linha a linha", tipo.role());
+                gravarLinhaALinha(livres, hashes);
+                return;
+            } catch (RuntimeException e) {
+                rejeitarLote(livres, e);
+                return;
+            }
+            for (int i = 0; i < livres.size(); i++) {
+                concluir(livres.get(i), ids.get(i));
+            }
+        }
+
+        private void gravarLinhaALinha(List<LinhaImportacao<T>> lote, List<String> hashes) {
+            for (int i = 0; i < lote.size(); i++) {
+                var linha = lote.get(i);
+                var hash = hashes.get(i);
+                Long id;
+                try {
+                    id = transacao.execute(status -> inserir(List.of(linha), List.of(hash))).get(0);
+                } catch (DataIntegrityViolationException e) {
+                    rejeitar(linha.numero(), ViolacaoIntegridade.descrever(e));
+                    continue;
+                } catch (RuntimeException e) {
+                    rejeitar(linha.numero(), falha(e));
+                    continue;
+                }
+                concluir(linha, id);
+            }
+        }
+
+        private void rejeitarLote(List<LinhaImportacao<T>> lote, RuntimeException e) {
+            log.error("Lote de importação de {} com {} linhas não gravado", tipo.role(), lote.size(), e);
+            var erro = falha(e);
+            lote.forEach(linha -> rejeitar(linha.numero(), erro));
+        }
+
+        // Mesma mensagem do cadastro individual, mas com uma consulta IN por campo para o lote inteiro
+        private List<LinhaImportacao<T>> conferirBanco(List<LinhaImportacao<T>> lote) {
+            var emailsExistentes = existentes(lote, Campo.EMAIL, d -> UsuarioDiretorio.normalizarEmail(tipo.email(d)),
+                    diretorioRepository::listarEmailsExistentes);
+            var telefonesExistentes = existentes(lote, null, tipo::telefone, valores -> {
+                List<String> encontrados = new ArrayList<>(freelancerRepository.listarTelefonesExistentes(valores));
+                encontrados.addAll(contratanteRepository.listarTelefonesExistentes(valores));
+                return encontrados;
+            });
+            var documentosExistentes = existentes(lote, tipo.campoDocumento(), tipo::documento,
+                    tipo::listarDocumentosExistentes);
+
+            List<LinhaImportacao<T>> livres = new ArrayList<>(lote.size());
+            for (LinhaImportacao<T> linha : lote) {
+                var dados = linha.dados();
+                List<String> campos = new ArrayList<>();
+                if (emailsExistentes.contains(UsuarioDiretorio.normalizarEmail(tipo.email(dados)))) {
+                    campos.add("E-mail");
+                }
+                if (telefonesExistentes.contains(tipo.telefone(dados))) {
+                    campos.add("Telefone");
+                }
+                if (documentosExistentes.contains(tipo.documento(dados))) {
+                    campos.add(tipo.campoDocumento().name());
+                }
+                if (campos.isEmpty()) {
+                    livres.add(linha);
+                } else {
+                    rejeitar(linha.numero(), "Dados já cadastrados: " + String.join(" | ", campos));
+                }
+            }
+            return livres;
+        }
+
+        // campo null = o valor não passa pelo filtro e vai inteiro para a consulta (telefone)
+        private Set<String> existentes(List<LinhaImportacao<T>> lote, Campo campo, Function<T, String> valor,
+                                       Function<Collection<String>, List<String>> consulta) {
+            List<String> candidatos = lote.stream()
+                    .map(l -> valor.apply(l.dados()))
+                    .filter(v -> v != null && (campo == null || filtroIdentificadores.talvezContenha(campo, v)))
+                    .toList();
+            return candidatos.isEmpty() ? Set.of() : new HashSet<>(consulta.apply(candidatos));
+        }
+
+        private List<Long> inserir(List<LinhaImportacao<T>> lote, List<String> hashes) {
+            return jdbcTemplate.execute((ConnectionCallback<List<Long>>) conexao -> {
+                List<Long> ids = new ArrayList<>(lote.size());
+                try (var insert = conexao.prepareStatement(tipo.sqlInsercao(), Statement.RETURN_GENERATED_KEYS)) {
+                    for (int i = 0; i < lote.size(); i++) {
+                        tipo.preencher(insert, lote.get(i).dados(), hashes.get(i));
+                        insert.addBatch();
+                    }
+                    insert.executeBatch();
+                    try (var chaves = insert.getGeneratedKeys()) {
+                        while (chaves.next()) {
+                            ids.add(chaves.getLong(1));
+                        }
+                    }
+                }
+                if (ids.size() != lote.size()) {
+                    throw new IllegalStateException("Esperados " + lote.size() + " ids gerados, recebidos " + ids.size());
+                }
+                try (var diretorio = conexao.prepareStatement(INSERT_DIRETORIO)) {
+                    for (int i = 0; i < lote.size(); i++) {
+                        diretorio.setString(1, UsuarioDiretorio.normalizarEmail(tipo.email(lote.get(i).dados())));
+                        diretorio.setString(2, tipo.role().name());
+                        diretorio.setLong(3, ids.get(i));
+                        diretorio.setString(4, hashes.get(i));
+                        diretorio.addBatch();
+                    }
+                    diretorio.executeBatch();
+                }
+                return ids;
+            });
+        }
+
+        private void concluir(LinhaImportacao<T> linha, Long id) {
+            tipo.aposGravar(linha.dados(), id);
+            resultados.add(ResultadoLinhaImportacaoDTO.importado(linha.numero(), id));
+        }
+
+        private void rejeitar(long numero, String erro) {
+            resultados.add(ResultadoLinhaImportacaoDTO.rejeitado(numero, erro));
+        }
+    }
+
+    private static String falha(RuntimeException e) {
+        if (e instanceof ResponseStatusException status && status.getReason() != null) {
+            return "Falha ao gravar: " + status.getReason();
+        }
+        return "Falha ao gravar: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+    }
+}
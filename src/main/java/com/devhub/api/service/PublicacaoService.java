@@ -6,12 +6,17 @@ import com.devhub.api.domain.freelancer.FreelancerRepository;
 import com.devhub.api.domain.freelancer.dto.ListaFreelancerDTO;
 import com.devhub.api.domain.funcao.Funcao;
 //import com.devhub.api.domain.servico.CreateServicoDTO;
+import com.devhub.api.domain.paginacao.PaginaCursorDTO;
+import com.devhub.api.domain.publicacao.CursorPublicacao;
 import com.devhub.api.domain.publicacao.dto.DetailPublicacaoDTO;
 import com.devhub.api.domain.publicacao.dto.ListaPublicacaoDTO;
+import com.devhub.api.domain.publicacao.dto.PublicacaoResumoDTO;
 import com.devhub.api.domain.servico.Servico;
 import com.devhub.api.domain.usuario.UserRole;
 import com.devhub.api.domain.usuario.Usuario;
 import com.devhub.api.file.FilaObj;
+import com.devhub.api.infra.feed.FeedRecente;
+import com.devhub.api.infra.transacao.AposCommit;
 import com.devhub.api.domain.contratante.ContratanteRepository;
 import com.devhub.api.domain.publicacao.dto.CreatePublicacaoDTO;
 import com.devhub.api.domain.publicacao.Publicacao;
@@ -19,6 +24,7 @@ import com.devhub.api.domain.publicacao.PublicacaoRepository;
 import com.devhub.api.file.PilhaObj;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
@@ -32,17 +38,24 @@ import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 @Service
 public class PublicacaoService {
 
+    private static final int TAMANHO_PAGINA_PADRAO = 20;
+    private static final int TAMANHO_PAGINA_MAXIMO = 100;
+
     private PublicacaoRepository repository;
     @Autowired
     private ContratanteRepository contratanteRepository;
     @Autowired
     private FreelancerRepository freelancerRepository;
+    @Autowired
+    private FeedRecente feedRecente;
     private FilaObj<Publicacao> fila;
     private PilhaObj<String> pilha = new PilhaObj<>(15);
     public PublicacaoService(PublicacaoRepository repository) {
@@ -71,40 +84,78 @@ public class PublicacaoService {
 
         var publicacao = new Publicacao(data);
         repository.save(publicacao);
+        var item = paraFeed(publicacao);
+        AposCommit.executar(() -> feedRecente.adicionar(item));
 
         return publicacao;
     }
 
-    public List<ListaPublicacaoDTO> mostrarPublicacoes() {
-//        var publicacoes = repository.findAllByOrderByCreatedAtDesc();
-//        List<ListaPublicacaoDTO> todasAsPublis = new ArrayList<>();
-//        for (int i = 0; i < publicacoes.size(); i++){
-//            Long idUsuario = publicacoes.get(i).getId_usuario();
-//            ListaPublicacaoDTO consultaDaVez;
-//            if (publicacoes.get(i).getRole().equals("CONTRATANTE")){
-//                consultaDaVez = repository.findByContratante(idUsuario).get(0); // Pega o primeiro elemento da lista
-//            }else{
-//                consultaDaVez = repository.findByFreelancer(idUsuario).get(0); // Pega o primeiro elemento da lista
-//            }
-//            todasAsPublis.add(consultaDaVez);
-//        }
-//        System.out.println(todasAsPublis);
-//        return todasAsPublis;
-
-            return repository.findAllPublicacoes();
-
+    private ListaPublicacaoDTO paraFeed(Publicacao publicacao) {
+        Optional<? extends Usuario> autor = Optional.empty();
+        if (publicacao.getId_usuario() != null) {
+            autor = UserRole.CONTRATANTE.getRole().equals(publicacao.getRole())
+                    ? contratanteRepository.findById(publicacao.getId_usuario())
+                    : freelancerRepository.findById(publicacao.getId_usuario());
+        }
+        return autor.<ListaPublicacaoDTO>map(usuario -> new ListaPublicacaoDTO(usuario, publicacao))
+                .orElseGet(() -> new ListaPublicacaoDTO(publicacao.getId(), null, null, publicacao.getDescricao(),
+                        publicacao.getId_usuario(), publicacao.getCreatedAt(), publicacao.getRole()));
     }
 
-    public List<Publicacao> mostrarPublicacoesByid(Long id) {
-        var contratante = contratanteRepository.findById(id);
+    public PaginaCursorDTO<ListaPublicacaoDTO> mostrarPublicacoes(String cursor, Integer tamanho) {
+        int tamanhoPagina = limitarTamanho(tamanho);
+        var posicao = CursorPublicacao.decodificar(cursor);
+        // a primeira página sai da memória; as seguintes, e qualquer página que a memória não cubra, do keyset
+        List<ListaPublicacaoDTO> publicacoes = posicao == null ? feedRecente.recentes(tamanhoPagina + 1) : null;
+        if (publicacoes == null) {
+            var pagina = PageRequest.of(0, tamanhoPagina + 1);
+            List<PublicacaoResumoDTO> resumos = posicao == null
+                    ? repository.listarFeed(pagina)
+                    : repository.listarFeedAntesDe(posicao.createdAt(), posicao.id(), pagina);
+            publicacoes = resumos.stream().map(ListaPublicacaoDTO::new).toList();
+        }
+        return paginar(publicacoes, tamanhoPagina);
+    }
 
-        if (contratante.isEmpty()) {
+    public PaginaCursorDTO<ListaPublicacaoDTO> mostrarPublicacoesDoAutor(String role, Long id, String cursor, Integer tamanho) {
+        UserRole roleAutor;
+        try {
+            roleAutor = UserRole.valueOf(role.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            // o segmento da URL não volta na mensagem
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Role inválida");
+        }
+        Optional<? extends Usuario> autor = roleAutor == UserRole.CONTRATANTE
+                ? contratanteRepository.findById(id)
+                : freelancerRepository.findById(id);
+        if (autor.isEmpty()) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND,
-                    "Não foi possível encontrar um contratante com ID: " + id);
+                    "Não foi possível encontrar um " + roleAutor.getRole().toLowerCase(Locale.ROOT) + " com ID: " + id);
         }
 
-        var publicacoes = repository.findAll();
-        return publicacoes;
+        int tamanhoPagina = limitarTamanho(tamanho);
+        var posicao = CursorPublicacao.decodificar(cursor);
+        var pagina = PageRequest.of(0, tamanhoPagina + 1);
+        // o autor é o mesmo em todas as linhas, então a consulta não junta com a tabela de usuários
+        List<Publicacao> publicacoes = posicao == null
+                ? repository.listarDoAutor(roleAutor.getRole(), id, pagina)
+                : repository.listarDoAutorAntesDe(roleAutor.getRole(), id, posicao.createdAt(), posicao.id(), pagina);
+        var dtos = publicacoes.stream().map(p -> new ListaPublicacaoDTO(autor.get(), p)).toList();
+        return paginar(dtos, tamanhoPagina);
+    }
+
+    // recebe até tamanhoPagina + 1 itens; o excedente só indica que há próxima página
+    private static PaginaCursorDTO<ListaPublicacaoDTO> paginar(List<ListaPublicacaoDTO> publicacoes, int tamanhoPagina) {
+        if (publicacoes.size() <= tamanhoPagina) {
+            return new PaginaCursorDTO<>(publicacoes, null);
+        }
+        publicacoes = publicacoes.subList(0, tamanhoPagina);
+        var ultima = publicacoes.get(publicacoes.size() - 1);
+        return new PaginaCursorDTO<>(publicacoes, new CursorPublicacao(ultima.getCreatedAt(), ultima.id()).codificar());
+    }
+
+    private int limitarTamanho(Integer tamanho) {
+        return tamanho == null || tamanho < 1 ? TAMANHO_PAGINA_PADRAO : Math.min(tamanho, TAMANHO_PAGINA_MAXIMO);
     }
 
     @Transactional
@@ -114,6 +165,7 @@ public class PublicacaoService {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND);
         }
         repository.delete(publicacao.get());
+        AposCommit.executar(() -> feedRecente.remover(id));
     }
 
 //    public void enfileirarPublicacoes(List<CreatePublicacaoDTO> publicacaoDTOS, Long id) {
@@ -0,0 +1,108 @@
+package com.devhub.api.service;
+
+import com.devhub.api.domain.contratante.ContratanteRepository;
+import com.devhub.api.domain.freelancer.FreelancerRepository;
+import com.devhub.api.domain.usuario.RefreshToken;
+import com.devhub.api.domain.usuario.RefreshTokenRepository;
+import com.devhub.api.domain.usuario.UserRole;
+import com.devhub.api.domain.usuario.Usuario;
+import com.devhub.api.infra.security.TokenRenovadoDTO;
+import com.devhub.api.infra.security.TokenService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+/*
+ * Renovação de sessão sem BCrypt: o refresh token é procurado pelo hash (índice único) e trocado
+ * por um novo JWT e um novo refresh token. Sem @Transactional de propósito: a remoção da família
+ * num reuso precisa ficar gravada mesmo com a requisição terminando em 401.
+ */
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+    private static final SecureRandom ALEATORIO = new SecureRandom();
+
+    @Autowired
+    private RefreshTokenRepository repository;
+    @Autowired
+    private FreelancerRepository freelancerRepository;
+    @Autowired
+    private ContratanteRepository contratanteRepository;
+    @Autowired
+    private TokenService tokenService;
+
+    @Value("${api.security.refresh.validade:P30D}")
+    private Duration validade;
+
+    public String emitir(Usuario usuario) {
+        return emitir(usuario.getId(), usuario.getRole(), UUID.randomUUID().toString());
+    }
+
+    public TokenRenovadoDTO renovar(String refreshToken) {
+        var atual = repository.findByTokenHash(hash(refreshToken));
+        var agora = LocalDateTime.now();
+        if (atual == null || atual.getExpiraEm().isBefore(agora)) {
+            throw invalido();
+        }
+        if (atual.getUsadoEm() != null || repository.marcarUsado(atual.getId(), agora) == 0) {
+            repository.removerFamilia(atual.getFamilia());
+            log.warn("Refresh token reutilizado para {} {}; sessão revogada", atual.getRole(), atual.getIdUsuario());
+            throw invalido();
+        }
+
+        Optional<? extends Usuario> usuario = atual.getRole() == UserRole.CONTRATANTE
+                ? contratanteRepository.findById(atual.getIdUsuario())
+                : freelancerRepository.findById(atual.getIdUsuario());
+        if (usuario.isEmpty()) {
+            throw invalido();
+        }
+        return new TokenRenovadoDTO(tokenService.gerarToken(usuario.get()),
+                emitir(atual.getIdUsuario(), atual.getRole(), atual.getFamilia()));
+    }
+
+    public void revogarDoUsuario(UserRole role, Long idUsuario) {
+        repository.removerDoUsuario(idUsuario, role);
+    }
+
+    @Scheduled(fixedDelayString = "${api.security.refresh.intervalo-limpeza:3600000}")
+    public void removerExpirados() {
+        repository.removerExpirados(LocalDateTime.now());
+    }
+
+    private String emitir(Long idUsuario, UserRole role, String familia) {
+        var bytes = new byte[32];
+        ALEATORIO.nextBytes(bytes);
+        var token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        repository.save(new RefreshToken(hash(token), familia, idUsuario, role, LocalDateTime.now().plus(validade)));
+        return token;
+    }
+
+    static String hash(String token) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static ResponseStatusException invalido() {
+        return new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Refresh token inválido ou expirado");
+    }
+}
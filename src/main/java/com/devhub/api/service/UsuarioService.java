@@ -1,11 +1,13 @@
 package com.devhub.api.service;
 
-import com.devhub.api.domain.usuario.AutenticacaoData;
-import com.devhub.api.domain.usuario.Usuario;
+import com.devhub.api.domain.contratante.ContratanteRepository;
+import com.devhub.api.domain.freelancer.FreelancerRepository;
+import com.devhub.api.domain.usuario.*;
 import com.devhub.api.infra.security.TokenJWTData;
 import com.devhub.api.infra.security.TokenService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.stereotype.Service;
 
@@ -15,13 +17,27 @@ public class UsuarioService {
     private AuthenticationManager authenticationManager;
     @Autowired
     private TokenService jwtTokenProvider;
+    @Autowired
+    private FreelancerRepository freelancerRepository;
+    @Autowired
+    private ContratanteRepository contratanteRepository;
+    @Autowired
+    private RefreshTokenService refreshTokenService;
 
     public TokenJWTData login(AutenticacaoData loginRequest) {
         var usernamePassword = new UsernamePasswordAuthenticationToken(loginRequest.email(),loginRequest.senha());
         var auth = this.authenticationManager.authenticate(usernamePassword);
-        var token = jwtTokenProvider.gerarToken((Usuario) auth.getPrincipal());
-        var dadosUser = (Usuario) auth.getPrincipal();
+        var conta = (UsuarioDiretorio) auth.getPrincipal();
+        // a senha já foi conferida pelo diretório; a conta completa vem pela chave primária
+        Usuario dadosUser = (conta.getRole() == UserRole.CONTRATANTE
+                ? contratanteRepository.findById(conta.getIdUsuario())
+                : freelancerRepository.findById(conta.getIdUsuario()))
+                .map(Usuario.class::cast)
+                .orElseThrow(() -> new BadCredentialsException("E-mail e/ou senha inválidos"));
+        var token = jwtTokenProvider.gerarToken(dadosUser);
 
-        return new TokenJWTData(token, dadosUser.getId(), dadosUser.getNome(), dadosUser.getEmail(),dadosUser.getRole(), dadosUser.getImagem());
+        return new TokenJWTData(token, dadosUser.getId(), dadosUser.getNome(), dadosUser.getEmail(),dadosUser.getRole(),
+                FotoUsuario.url(dadosUser.getRole(), dadosUser.getId(), dadosUser.getImagemHash(), VarianteFoto.PEQUENA),
+                refreshTokenService.emitir(dadosUser));
     }
 }
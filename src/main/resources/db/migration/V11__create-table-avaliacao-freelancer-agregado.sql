@@ -0,0 +1,24 @@
+create table avaliacao_freelancer_agregado (
+    fk_freelancer bigint primary key,
+    quantidade bigint not null default 0,
+    soma double not null default 0,
+    nota_1 bigint not null default 0,
+    nota_2 bigint not null default 0,
+    nota_3 bigint not null default 0,
+    nota_4 bigint not null default 0,
+    nota_5 bigint not null default 0,
+    foreign key (fk_freelancer) references freelancer(id)
+);
+
+insert into avaliacao_freelancer_agregado (fk_freelancer, quantidade, soma, nota_1, nota_2, nota_3, nota_4, nota_5)
+select
+    fk_avaliado,
+    count(*),
+    sum(nota),
+    sum(case when floor(nota + 0.5) <= 1 then 1 else 0 end),
+    sum(case when floor(nota + 0.5) = 2 then 1 else 0 end),
+    sum(case when floor(nota + 0.5) = 3 then 1 else 0 end),
+    sum(case when floor(nota + 0.5) = 4 then 1 else 0 end),
+    sum(case when floor(nota + 0.5) >= 5 then 1 else 0 end)
+from avaliacao_freelancer
+group by fk_avaliado;
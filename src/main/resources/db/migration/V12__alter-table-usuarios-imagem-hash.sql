@@ -0,0 +1,5 @@
+alter table freelancer add column imagem_hash varchar(64);
+alter table contratante add column imagem_hash varchar(64);
+
+update freelancer set imagem_hash = sha2(imagem, 256) where imagem is not null;
+update contratante set imagem_hash = sha2(imagem, 256) where imagem is not null;
@@ -0,0 +1,16 @@
+create table usuario_imagem (
+    id_usuario bigint not null,
+    role varchar(11) not null,
+    imagem longblob not null,
+    imagem_hash varchar(64) not null,
+    primary key (id_usuario, role)
+);
+
+insert into usuario_imagem (id_usuario, role, imagem, imagem_hash)
+select id, 'FREELANCER', imagem, imagem_hash from freelancer where imagem is not null;
+
+insert into usuario_imagem (id_usuario, role, imagem, imagem_hash)
+select id, 'CONTRATANTE', imagem, imagem_hash from contratante where imagem is not null;
+
+alter table freelancer drop column imagem;
+alter table contratante drop column imagem;
@@ -0,0 +1,4 @@
+-- as fotos já existentes ficam como a variante grande; as menores passam a existir no próximo envio
+alter table usuario_imagem add column tamanho int not null default 1024;
+alter table usuario_imagem drop primary key;
+alter table usuario_imagem add primary key (id_usuario, role, tamanho);
@@ -0,0 +1,13 @@
+create table upload_pendente (
+    id bigint primary key auto_increment,
+    chave varchar(255) not null,
+    id_usuario bigint not null,
+    role varchar(11) not null,
+    tamanho int not null,
+    imagem_hash varchar(64) not null,
+    tentativas int not null default 0,
+    proxima_tentativa datetime not null,
+    ultimo_erro varchar(500),
+    index idx_upload_pendente_proxima (proxima_tentativa),
+    index idx_upload_pendente_usuario (id_usuario, role)
+);
@@ -0,0 +1,16 @@
+create table usuario_diretorio (
+    id bigint primary key auto_increment,
+    email varchar(45) not null,
+    role varchar(11) not null,
+    id_usuario bigint not null,
+    senha varchar(255) not null,
+    constraint uk_usuario_diretorio_email unique (email),
+    constraint uk_usuario_diretorio_usuario unique (role, id_usuario)
+);
+
+-- e-mails repetidos entre as duas tabelas ficam com a primeira conta encontrada
+insert ignore into usuario_diretorio (email, role, id_usuario, senha)
+select lower(email), 'FREELANCER', id, senha from freelancer order by id;
+
+insert ignore into usuario_diretorio (email, role, id_usuario, senha)
+select lower(email), 'CONTRATANTE', id, senha from contratante order by id;
@@ -0,0 +1,14 @@
+create table refresh_token (
+    id bigint primary key auto_increment,
+    token_hash varchar(64) not null,
+    familia varchar(36) not null,
+    id_usuario bigint not null,
+    role varchar(11) not null,
+    criado_em datetime not null,
+    expira_em datetime not null,
+    usado_em datetime,
+    constraint uk_refresh_token_hash unique (token_hash),
+    index idx_refresh_token_familia (familia),
+    index idx_refresh_token_usuario (id_usuario, role),
+    index idx_refresh_token_expira (expira_em)
+);
@@ -0,0 +1,14 @@
+create table email_pendente (
+    id bigint primary key auto_increment,
+    destinatario varchar(255) not null,
+    assunto varchar(255) not null,
+    corpo text not null,
+    status varchar(9) not null,
+    tentativas int not null default 0,
+    criado_em datetime not null,
+    proxima_tentativa datetime not null,
+    enviado_em datetime,
+    ultimo_erro varchar(500),
+    index idx_email_pendente_fila (status, proxima_tentativa),
+    index idx_email_pendente_enviado (enviado_em)
+);
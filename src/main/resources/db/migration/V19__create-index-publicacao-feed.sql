@@ -0,0 +1,2 @@
+-- o feed lê em ordem (created_at, id) decrescente a partir de um cursor, então para no limite da página
+create index idx_publicacao_feed on publicacao (created_at, id);
@@ -0,0 +1,2 @@
+-- linha do tempo por autor; o InnoDB acrescenta o id ao fim do índice, que serve de desempate no keyset
+create index idx_publicacao_autor on publicacao (role, id_usuario, created_at);
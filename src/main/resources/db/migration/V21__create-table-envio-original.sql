@@ -0,0 +1,17 @@
+-- cada URL de envio direto emitida; a linha some quando a foto é processada ou a URL vence sem conclusão
+create table envio_original (
+    id bigint primary key auto_increment,
+    chave varchar(255) not null,
+    id_usuario bigint not null,
+    role varchar(11) not null,
+    status varchar(10) not null,
+    imagem_hash varchar(64),
+    expira_em datetime not null,
+    tentativas int not null default 0,
+    proxima_tentativa datetime,
+    ultimo_erro varchar(500),
+    constraint uk_envio_original_chave unique (chave),
+    index idx_envio_original_usuario (id_usuario, role, status),
+    index idx_envio_original_fila (status, proxima_tentativa),
+    index idx_envio_original_expira (status, expira_em)
+);
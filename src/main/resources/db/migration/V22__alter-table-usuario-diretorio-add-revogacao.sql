@@ -0,0 +1,9 @@
+-- conta ativa e instante da última revogação dos tokens, lidos pelo login e pela validação do JWT
+alter table usuario_diretorio add column ativo tinyint not null default 1;
+alter table usuario_diretorio add column revogado_em datetime;
+
+update usuario_diretorio set ativo = 0
+where role = 'FREELANCER' and id_usuario in (select id from freelancer where ativo = 0);
+
+update usuario_diretorio set ativo = 0
+where role = 'CONTRATANTE' and id_usuario in (select id from contratante where ativo = 0);
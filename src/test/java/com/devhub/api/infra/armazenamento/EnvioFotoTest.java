@@ -0,0 +1,97 @@
+package com.devhub.api.infra.armazenamento;
+
+import com.devhub.api.domain.usuario.UploadPendente;
+import com.devhub.api.domain.usuario.UploadPendenteRepository;
+import com.devhub.api.domain.usuario.UserRole;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class EnvioFotoTest {
+
+    @TempDir
+    Path diretorio;
+
+    private EnvioFoto envio;
+    private UploadPendenteRepository repository;
+    private UploadPendente pendente;
+
+    @BeforeEach
+    void setUp() {
+        envio = new EnvioFoto();
+        repository = mock(UploadPendenteRepository.class);
+        when(repository.existsById(1L)).thenReturn(true);
+        ReflectionTestUtils.setField(envio, "repository", repository);
+        ReflectionTestUtils.setField(envio, "objectStore",
+                new ObjectStoreLocal(diretorio.toString(), "segredo", "http://localhost:8080"));
+        ReflectionTestUtils.setField(envio, "maximoTentativas", 8);
+        ReflectionTestUtils.setField(envio, "esperaInicial", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(envio, "esperaMaxima", Duration.ofMinutes(30));
+
+        pendente = new UploadPendente(EnvioFoto.chave(UserRole.FREELANCER, 1L, "John Doe"),
+                1L, UserRole.FREELANCER, 1024, "abc");
+        ReflectionTestUtils.setField(pendente, "id", 1L);
+    }
+
+    @Test
+    @DisplayName("Enviar a foto e apagar o registro pendente")
+    void enviarEApagarPendente() throws IOException {
+        envio.tentar(pendente, new byte[]{1, 2, 3});
+
+        Path arquivo = diretorio.resolve("freelancers/images/1_John Doe/JohnDoe_profile-photo.jpg");
+        assertArrayEquals(new byte[]{1, 2, 3}, Files.readAllBytes(arquivo));
+        verify(repository).deleteById(1L);
+    }
+
+    @Test
+    @DisplayName("Reagendar com espera exponencial quando o armazenamento falha")
+    void reagendarQuandoFalha() {
+        var objectStore = mock(ObjectStore.class);
+        doThrow(new IllegalStateException("fora do ar")).when(objectStore).gravar(anyString(), any(), anyString());
+        ReflectionTestUtils.setField(envio, "objectStore", objectStore);
+
+        envio.tentar(pendente, new byte[]{1});
+
+        verify(repository, never()).deleteById(anyLong());
+        verify(repository).registrarFalha(eq(1L), argThat(proxima ->
+                proxima.isAfter(LocalDateTime.now().plusSeconds(3))), eq("fora do ar"));
+        assertEquals(Duration.ofSeconds(40), envio.espera(3));
+        assertEquals(Duration.ofMinutes(30), envio.espera(15));
+    }
+
+    @Test
+    @DisplayName("Apagar o registro quando a última tentativa falha")
+    void abandonarNaUltimaTentativa() {
+        var objectStore = mock(ObjectStore.class);
+        doThrow(new IllegalStateException("fora do ar")).when(objectStore).gravar(anyString(), any(), anyString());
+        ReflectionTestUtils.setField(envio, "objectStore", objectStore);
+        ReflectionTestUtils.setField(pendente, "tentativas", 7);
+
+        envio.tentar(pendente, new byte[]{1});
+
+        verify(repository).deleteById(1L);
+        verify(repository, never()).registrarFalha(anyLong(), any(), anyString());
+    }
+
+    @Test
+    @DisplayName("Não enviar registro substituído por uma foto mais nova")
+    void ignorarPendenteSubstituido() {
+        when(repository.existsById(1L)).thenReturn(false);
+
+        envio.tentar(pendente, new byte[]{1});
+
+        assertFalse(Files.exists(diretorio.resolve("freelancers")));
+    }
+}
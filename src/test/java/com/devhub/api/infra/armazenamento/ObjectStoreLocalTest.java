@@ -0,0 +1,61 @@
+package com.devhub.api.infra.armazenamento;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ObjectStoreLocalTest {
+
+    @TempDir
+    Path diretorio;
+
+    private ObjectStoreLocal objectStore;
+
+    @BeforeEach
+    void setUp() {
+        objectStore = new ObjectStoreLocal(diretorio.toString(), "segredo", "http://localhost:8080");
+    }
+
+    @Test
+    @DisplayName("Gerar URL de envio assinada que só vale para a mesma chave e dentro do prazo")
+    void urlDeEnvioAssinada() throws URISyntaxException {
+        var chave = "originais/freelancer/1/abc";
+        var url = objectStore.urlEnvio(chave, Instant.now().plusSeconds(60));
+        var parametros = UriComponentsBuilder.fromUri(url.toURI()).build().getQueryParams();
+        long expira = Long.parseLong(parametros.getFirst("expira"));
+        String assinatura = parametros.getFirst("assinatura");
+
+        assertEquals("/armazenamento/" + chave, url.getPath());
+        assertTrue(objectStore.assinaturaValida(chave, expira, assinatura));
+        assertFalse(objectStore.assinaturaValida("originais/freelancer/2/abc", expira, assinatura));
+        assertFalse(objectStore.assinaturaValida(chave, expira + 1, assinatura));
+        assertFalse(objectStore.assinaturaValida(chave, Instant.now().getEpochSecond() - 1, assinatura));
+    }
+
+    @Test
+    @DisplayName("Gravar, medir, ler e apagar objetos")
+    void gravarELer() {
+        objectStore.gravar("originais/contratante/1/abc", new byte[]{1, 2, 3}, "image/png");
+
+        assertEquals(3, objectStore.tamanho("originais/contratante/1/abc"));
+        assertArrayEquals(new byte[]{1, 2, 3}, objectStore.ler("originais/contratante/1/abc"));
+
+        objectStore.apagar("originais/contratante/1/abc");
+        assertEquals(-1, objectStore.tamanho("originais/contratante/1/abc"));
+        assertNull(objectStore.ler("originais/contratante/1/abc"));
+    }
+
+    @Test
+    @DisplayName("Recusar chaves que saem do diretório do armazenamento local")
+    void recusarChaveForaDoDiretorio() {
+        assertThrows(IllegalArgumentException.class, () -> objectStore.gravar("../fora.jpg", new byte[]{1}, "image/jpeg"));
+    }
+}
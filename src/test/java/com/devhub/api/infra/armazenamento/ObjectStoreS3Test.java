@@ -0,0 +1,105 @@
+package com.devhub.api.infra.armazenamento;
+
+import com.amazonaws.HttpMethod;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.net.URL;
+import java.time.Instant;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ObjectStoreS3Test {
+
+    private static final String CHAVE = "freelancers/images/1_John Doe/JohnDoe_profile-photo.jpg";
+
+    private ObjectStoreS3 objectStore;
+    private AmazonS3 s3;
+
+    @BeforeEach
+    void setUp() {
+        s3 = mock(AmazonS3.class);
+        objectStore = new ObjectStoreS3();
+        ReflectionTestUtils.setField(objectStore, "s3", s3);
+        ReflectionTestUtils.setField(objectStore, "bucketName", "devhub");
+    }
+
+    private static AmazonS3Exception erro(int status) {
+        var erro = new AmazonS3Exception("erro " + status);
+        erro.setStatusCode(status);
+        return erro;
+    }
+
+    @Test
+    @DisplayName("Gravar com tamanho, content type e a tag pública")
+    void gravar() throws Exception {
+        objectStore.gravar(CHAVE, new byte[]{1, 2, 3}, "image/jpeg");
+
+        var captor = ArgumentCaptor.forClass(PutObjectRequest.class);
+        verify(s3).putObject(captor.capture());
+        var request = captor.getValue();
+        assertEquals("devhub", request.getBucketName());
+        assertEquals(CHAVE, request.getKey());
+        assertEquals(3, request.getMetadata().getContentLength());
+        assertEquals("image/jpeg", request.getMetadata().getContentType());
+        assertArrayEquals(new byte[]{1, 2, 3}, request.getInputStream().readAllBytes());
+        var tag = request.getTagging().getTagSet().get(0);
+        assertEquals("environment", tag.getKey());
+        assertEquals("public", tag.getValue());
+    }
+
+    @Test
+    @DisplayName("Ler os bytes do objeto e devolver null quando ele não existe")
+    void ler() {
+        var objeto = new S3Object();
+        objeto.setObjectContent(new ByteArrayInputStream(new byte[]{4, 5}));
+        when(s3.getObject("devhub", CHAVE)).thenReturn(objeto);
+        when(s3.getObject("devhub", "ausente")).thenThrow(erro(404));
+        when(s3.getObject("devhub", "proibido")).thenThrow(erro(403));
+
+        assertArrayEquals(new byte[]{4, 5}, objectStore.ler(CHAVE));
+        assertNull(objectStore.ler("ausente"));
+        assertThrows(AmazonS3Exception.class, () -> objectStore.ler("proibido"));
+    }
+
+    @Test
+    @DisplayName("Tamanho vem dos metadados e é -1 quando o objeto não existe")
+    void tamanho() {
+        var metadata = new ObjectMetadata();
+        metadata.setContentLength(2048);
+        when(s3.getObjectMetadata("devhub", CHAVE)).thenReturn(metadata);
+        when(s3.getObjectMetadata("devhub", "ausente")).thenThrow(erro(404));
+        when(s3.getObjectMetadata("devhub", "proibido")).thenThrow(erro(403));
+
+        assertEquals(2048, objectStore.tamanho(CHAVE));
+        assertEquals(-1, objectStore.tamanho("ausente"));
+        assertThrows(AmazonS3Exception.class, () -> objectStore.tamanho("proibido"));
+    }
+
+    @Test
+    @DisplayName("URL de envio assinada para PUT com a validade pedida")
+    void urlEnvio() throws Exception {
+        var url = new URL("https://devhub.s3.amazonaws.com/originais/freelancer/1/abc?X-Amz-Signature=x");
+        when(s3.generatePresignedUrl(any(GeneratePresignedUrlRequest.class))).thenReturn(url);
+        var expiraEm = Instant.now().plusSeconds(300);
+
+        assertEquals(url, objectStore.urlEnvio("originais/freelancer/1/abc", expiraEm));
+
+        var captor = ArgumentCaptor.forClass(GeneratePresignedUrlRequest.class);
+        verify(s3).generatePresignedUrl(captor.capture());
+        var request = captor.getValue();
+        assertEquals(HttpMethod.PUT, request.getMethod());
+        assertEquals("devhub", request.getBucketName());
+        assertEquals("originais/freelancer/1/abc", request.getKey());
+        assertEquals(Date.from(expiraEm), request.getExpiration());
+    }
+}
@@ -0,0 +1,36 @@
+package com.devhub.api.infra.busca;
+
+import com.devhub.api.domain.especialidade.EspecialidadesEnum;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DicionarioEspecialidadesTest {
+
+    private final DicionarioEspecialidades dicionario = new DicionarioEspecialidades();
+
+    @Test
+    @DisplayName("Prefixos vêm antes dos infixos, ambos em ordem alfabética")
+    void prefixoAntesDeInfixo() {
+        assertEquals(List.of("Java", "JavaScript"), dicionario.pesquisar("JAVA"));
+        assertEquals(List.of("Express.js", "Node.js", "Vue.js"), dicionario.pesquisar(".js"));
+        assertEquals(List.of("Scala", "JavaScript", "Shell Script", "TypeScript"), dicionario.pesquisar("sc"));
+    }
+
+    @Test
+    @DisplayName("Ignorar acentos e aceitar o nome da constante do enum")
+    void ignorarAcentos() {
+        assertEquals(List.of("Metodologias Ágeis"), dicionario.pesquisar("ageis"));
+        assertEquals(List.of("C#"), dicionario.pesquisar("c_sharp"));
+    }
+
+    @Test
+    @DisplayName("Termo vazio retorna todas as especialidades")
+    void termoVazio() {
+        assertEquals(EspecialidadesEnum.values().length, dicionario.pesquisar("  ").size());
+        assertTrue(dicionario.pesquisar("cobol").isEmpty());
+    }
+}
@@ -0,0 +1,61 @@
+package com.devhub.api.infra.busca;
+
+import com.devhub.api.domain.funcao.Funcao;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndiceBuscaFreelancerTest {
+
+    private IndiceBuscaFreelancer indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndiceBuscaFreelancer();
+        indice.indexar(1L, "John Doe", Funcao.DESENVOLVEDOR_BACKEND, List.of("Java", "SpringBoot"));
+        indice.indexar(2L, "Maria Java", Funcao.WEB_DESIGNER, List.of("Photoshop"));
+        indice.indexar(3L, "Ana", Funcao.DESENVOLVEDOR_FULLSTACK, List.of("JavaScript", "Java", "Node.js"));
+    }
+
+    @Test
+    @DisplayName("Buscar por prefixo retorna freelancers sem duplicados e ordenados pela relevância")
+    void buscarPorPrefixo() {
+        var ids = indice.buscar("jav", 10);
+
+        assertEquals(List.of(1L, 3L, 2L), ids);
+    }
+
+    @Test
+    @DisplayName("Buscar ignora acentos e caixa e exige todos os termos")
+    void buscarComVariosTermos() {
+        assertEquals(List.of(1L), indice.buscar("DESENVOLVÉDOR back", 10));
+        assertEquals(List.of(3L), indice.buscar("node.js", 10));
+        assertTrue(indice.buscar("python", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Atualizações e exclusões refletem no índice")
+    void atualizarERemover() {
+        indice.adicionarEspecialidades(2L, List.of("Python"));
+        assertEquals(List.of(2L), indice.buscar("pyth", 10));
+
+        indice.atualizarDados(2L, "Maria", Funcao.QUALITY_ASSURANCE);
+        assertEquals(List.of(2L), indice.buscar("python", 10));
+        assertEquals(List.of(1L, 3L), indice.buscar("jav", 10));
+
+        indice.remover(1L);
+        assertEquals(List.of(3L), indice.buscar("java", 10));
+        assertEquals(2, indice.tamanho());
+    }
+
+    @Test
+    @DisplayName("Buscar respeita o limite")
+    void buscarRespeitaLimite() {
+        assertEquals(List.of(1L), indice.buscar("java", 1));
+        assertTrue(indice.buscar("   ", 10).isEmpty());
+    }
+}
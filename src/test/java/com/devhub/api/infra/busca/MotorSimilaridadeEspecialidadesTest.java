@@ -0,0 +1,51 @@
+package com.devhub.api.infra.busca;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MotorSimilaridadeEspecialidadesTest {
+
+    private MotorSimilaridadeEspecialidades motor;
+
+    @BeforeEach
+    void setUp() {
+        motor = new MotorSimilaridadeEspecialidades();
+        motor.adicionarEspecialidades(1L, List.of("Java", "SpringBoot", "SQL"));
+        motor.adicionarEspecialidades(2L, List.of("java", "Python"));
+        motor.adicionarEspecialidades(3L, List.of("JavaScript", "React", "Node.js", "Vue.js"));
+        motor.adicionarEspecialidades(4L, List.of("Java", "Springboot"));
+    }
+
+    @Test
+    @DisplayName("Ranquear por Jaccard retorna os mais parecidos primeiro")
+    void ranquearPorJaccard() {
+        var ids = motor.maisSimilares(List.of("Java", "SpringBoot"), 0L, 10, MetricaSimilaridade.JACCARD);
+
+        assertEquals(List.of(4L, 1L, 2L), ids);
+    }
+
+    @Test
+    @DisplayName("Ranquear por sobreposição e respeitar o top-K e o freelancer comparado")
+    void ranquearPorSobreposicao() {
+        var ids = motor.maisSimilares(List.of("Java", "SpringBoot"), 4L, 2, MetricaSimilaridade.SOBREPOSICAO);
+
+        assertEquals(List.of(1L, 2L), ids);
+    }
+
+    @Test
+    @DisplayName("Remover freelancer e ignorar especialidades desconhecidas")
+    void removerEIgnorarDesconhecidas() {
+        motor.remover(1L);
+        motor.adicionarEspecialidades(5L, List.of("Cobol"));
+
+        assertEquals(3, motor.tamanho());
+        assertEquals(List.of(4L, 2L), motor.maisSimilares(List.of("JAVA", "spring boot", "springboot"), null, 10,
+                MetricaSimilaridade.JACCARD));
+        assertTrue(motor.maisSimilares(List.of("Cobol"), null, 10, MetricaSimilaridade.JACCARD).isEmpty());
+    }
+}
@@ -0,0 +1,89 @@
+package com.devhub.api.infra.cadastro;
+
+import com.devhub.api.domain.contratante.ContratanteRepository;
+import com.devhub.api.domain.freelancer.FreelancerRepository;
+import com.devhub.api.domain.usuario.IdentificadoresUsuarioDTO;
+import com.devhub.api.infra.cadastro.FiltroIdentificadores.Campo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class FiltroIdentificadoresTest {
+
+    private FiltroIdentificadores filtro;
+    private FreelancerRepository freelancerRepository;
+    private ContratanteRepository contratanteRepository;
+
+    @BeforeEach
+    void setUp() {
+        freelancerRepository = mock(FreelancerRepository.class);
+        contratanteRepository = mock(ContratanteRepository.class);
+        filtro = new FiltroIdentificadores();
+        ReflectionTestUtils.setField(filtro, "capacidade", 1000L);
+        ReflectionTestUtils.setField(filtro, "taxaFalsosPositivos", 0.01);
+        ReflectionTestUtils.setField(filtro, "tamanhoLote", 2);
+        ReflectionTestUtils.setField(filtro, "freelancerRepository", freelancerRepository);
+        ReflectionTestUtils.setField(filtro, "contratanteRepository", contratanteRepository);
+        filtro.iniciar();
+    }
+
+    @Test
+    @DisplayName("Responder talvez para tudo antes da carga inicial")
+    void antesDaCarga() {
+        assertTrue(filtro.talvezContenha(Campo.EMAIL, "qualquer@example.com"));
+    }
+
+    @Test
+    @DisplayName("Encontrar os identificadores carregados e os adicionados depois, com e-mail e máscara normalizados")
+    void carregarEAdicionar() {
+        when(freelancerRepository.listarIdentificadores(eq(0L), any())).thenReturn(List.of(
+                new IdentificadoresUsuarioDTO(1L, "John.Doe@Example.com", "110.127.530-85"),
+                new IdentificadoresUsuarioDTO(4L, "maria@example.com", "52998224725")));
+        when(freelancerRepository.listarIdentificadores(eq(4L), any())).thenReturn(List.of(
+                new IdentificadoresUsuarioDTO(9L, "ana@example.com", "39053344705")));
+        when(contratanteRepository.listarIdentificadores(eq(0L), any())).thenReturn(List.of(
+                new IdentificadoresUsuarioDTO(1L, "empresa@example.com", "12345678000199")));
+        filtro.carregar();
+        filtro.adicionar(Campo.EMAIL, "novo@example.com");
+
+        assertTrue(filtro.talvezContenha(Campo.EMAIL, " john.doe@example.com "));
+        assertTrue(filtro.talvezContenha(Campo.CPF, "11012753085"));
+        // o segundo lote começa depois do último id do primeiro; lote incompleto encerra a carga
+        assertTrue(filtro.talvezContenha(Campo.CPF, "390.533.447-05"));
+        verify(freelancerRepository, never()).listarIdentificadores(eq(9L), any());
+        assertTrue(filtro.talvezContenha(Campo.CNPJ, "12.345.678/0001-99"));
+        assertTrue(filtro.talvezContenha(Campo.EMAIL, "novo@example.com"));
+        // o mesmo valor em outro campo não conta
+        assertFalse(filtro.talvezContenha(Campo.CNPJ, "11012753085"));
+        assertFalse(filtro.talvezContenha(Campo.EMAIL, null));
+    }
+
+    @Test
+    @DisplayName("Manter a taxa de falsos positivos perto da configurada")
+    void taxaDeFalsosPositivos() {
+        when(freelancerRepository.listarIdentificadores(anyLong(), any())).thenReturn(List.of());
+        when(contratanteRepository.listarIdentificadores(anyLong(), any())).thenReturn(List.of());
+        filtro.carregar();
+        for (int i = 0; i < 1000; i++) {
+            filtro.adicionar(Campo.EMAIL, "usuario" + i + "@example.com");
+        }
+
+        int falsosPositivos = 0;
+        for (int i = 1000; i < 11000; i++) {
+            if (filtro.talvezContenha(Campo.EMAIL, "usuario" + i + "@example.com")) {
+                falsosPositivos++;
+            }
+        }
+        assertTrue(falsosPositivos < 300, "falsos positivos: " + falsosPositivos);
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(filtro.talvezContenha(Campo.EMAIL, "usuario" + i + "@example.com"));
+        }
+    }
+}
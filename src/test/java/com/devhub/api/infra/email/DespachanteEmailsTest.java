@@ -0,0 +1,196 @@
+package com.devhub.api.infra.email;
+
+import com.devhub.api.domain.email.EmailPendente;
+import com.devhub.api.domain.email.EmailPendenteRepository;
+import com.devhub.api.domain.email.StatusEmail;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class DespachanteEmailsTest {
+
+    private ServidorSmtpLocal smtp;
+    private EmailPendenteRepository repository;
+    private DespachanteEmails despachante;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        smtp = new ServidorSmtpLocal();
+        var mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(smtp.porta());
+
+        repository = mock(EmailPendenteRepository.class);
+        despachante = new DespachanteEmails();
+        ReflectionTestUtils.setField(despachante, "repository", repository);
+        ReflectionTestUtils.setField(despachante, "mailSender", mailSender);
+        var transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        ReflectionTestUtils.setField(despachante, "transactionTemplate", new TransactionTemplate(transactionManager));
+        ReflectionTestUtils.setField(despachante, "reserva", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(despachante, "remetente", "devhub@example.com");
+        ReflectionTestUtils.setField(despachante, "tamanhoLote", 50);
+        ReflectionTestUtils.setField(despachante, "tentativasMaximas", 2);
+        ReflectionTestUtils.setField(despachante, "esperaInicial", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(despachante, "esperaMaxima", Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        smtp.encerrar();
+    }
+
+    @Test
+    @DisplayName("Enviar o lote numa única conexão SMTP e reagendar só a mensagem recusada")
+    void enviarLote() {
+        var primeiro = new EmailPendente("a@example.com", "Assunto", "Corpo A");
+        var recusado = new EmailPendente("recusado@example.com", "Assunto", "Corpo R");
+        var segundo = new EmailPendente("b@example.com", "Assunto", "Corpo B");
+        when(repository.listarProntos(any(), any())).thenReturn(List.of(primeiro, recusado, segundo));
+
+        despachante.despachar();
+
+        assertEquals(1, smtp.conexoes.get());
+        assertEquals(List.of("a@example.com", "b@example.com"), smtp.destinatarios);
+        assertEquals(StatusEmail.ENVIADO, primeiro.getStatus());
+        assertEquals(StatusEmail.ENVIADO, segundo.getStatus());
+        assertEquals(StatusEmail.PENDENTE, recusado.getStatus());
+        assertEquals(1, recusado.getTentativas());
+        assertNotNull(recusado.getUltimoErro());
+        assertTrue(recusado.getProximaTentativa().isAfter(LocalDateTime.now().plusSeconds(25)));
+        verify(repository).save(primeiro);
+        verify(repository).save(recusado);
+        verify(repository).save(segundo);
+
+        var metricas = despachante.metricas();
+        assertEquals(2, metricas.enviados());
+        assertEquals(1, metricas.falhas());
+        assertEquals(1, metricas.lotes());
+    }
+
+    @Test
+    @DisplayName("Reservar o lote antes de enviar e seguir gravando os demais se um resultado falhar")
+    void reservarLote() {
+        var primeiro = new EmailPendente("a@example.com", "Assunto", "Corpo A");
+        var segundo = new EmailPendente("b@example.com", "Assunto", "Corpo B");
+        when(repository.listarProntos(any(), any())).thenReturn(List.of(primeiro, segundo));
+
+        var reservados = despachante.reservar();
+
+        assertEquals(StatusEmail.EM_ENVIO, primeiro.getStatus());
+        assertTrue(primeiro.getProximaTentativa().isAfter(LocalDateTime.now().plusMinutes(4)));
+
+        when(repository.save(primeiro)).thenThrow(new IllegalStateException("conexão perdida"));
+        despachante.enviar(reservados);
+
+        verify(repository).save(segundo);
+        assertEquals(StatusEmail.ENVIADO, segundo.getStatus());
+        assertEquals(2, smtp.destinatarios.size());
+    }
+
+    @Test
+    @DisplayName("Com o SMTP fora, reagendar com espera exponencial e descartar após as tentativas máximas")
+    void smtpFora() throws IOException {
+        smtp.encerrar();
+        var email = new EmailPendente("a@example.com", "Assunto", "Corpo");
+        when(repository.listarProntos(any(), any())).thenReturn(List.of(email));
+
+        despachante.despachar();
+        assertEquals(StatusEmail.PENDENTE, email.getStatus());
+        assertEquals(1, email.getTentativas());
+
+        despachante.despachar();
+        assertEquals(StatusEmail.DESCARTADO, email.getStatus());
+        assertEquals(1, despachante.metricas().descartados());
+
+        assertEquals(Duration.ofSeconds(30), despachante.espera(1));
+        assertEquals(Duration.ofSeconds(60), despachante.espera(2));
+        assertEquals(Duration.ofHours(1), despachante.espera(10));
+    }
+
+    // SMTP mínimo em processo: aceita tudo, menos destinatários com "recusado" no endereço
+    private static class ServidorSmtpLocal {
+
+        final AtomicInteger conexoes = new AtomicInteger();
+        final List<String> destinatarios = new CopyOnWriteArrayList<>();
+        private final ServerSocket servidor;
+
+        ServidorSmtpLocal() throws IOException {
+            servidor = new ServerSocket(0);
+            var thread = new Thread(this::aceitar, "smtp-local");
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        int porta() {
+            return servidor.getLocalPort();
+        }
+
+        void encerrar() throws IOException {
+            servidor.close();
+        }
+
+        private void aceitar() {
+            while (!servidor.isClosed()) {
+                try (Socket socket = servidor.accept()) {
+                    conexoes.incrementAndGet();
+                    atender(socket);
+                } catch (IOException e) {
+                    // servidor encerrado
+                }
+            }
+        }
+
+        private void atender(Socket socket) throws IOException {
+            var entrada = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            var saida = new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII), true);
+            responder(saida, "220 localhost ESMTP");
+            String destinatario = null;
+            String linha;
+            while ((linha = entrada.readLine()) != null) {
+                var comando = linha.toUpperCase();
+                if (comando.startsWith("RCPT TO:")) {
+                    destinatario = linha.substring(linha.indexOf('<') + 1, linha.indexOf('>'));
+                    responder(saida, destinatario.contains("recusado") ? "550 caixa inexistente" : "250 OK");
+                } else if (comando.equals("DATA")) {
+                    responder(saida, "354 termine com .");
+                    while (!".".equals(entrada.readLine())) {
+                        // corpo da mensagem
+                    }
+                    destinatarios.add(destinatario);
+                    responder(saida, "250 OK");
+                } else if (comando.equals("QUIT")) {
+                    responder(saida, "221 tchau");
+                    return;
+                } else {
+                    responder(saida, "250 OK");
+                }
+            }
+        }
+
+        private static void responder(PrintWriter saida, String resposta) {
+            saida.print(resposta + "\r\n");
+            saida.flush();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.devhub.api.infra.exception;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ViolacaoIntegridadeTest {
+
+    @Test
+    @DisplayName("Chave duplicada do MySQL e do H2 aponta o campo em conflito")
+    void chaveDuplicada() {
+        var mysql = violacao(new SQLIntegrityConstraintViolationException(
+                "Duplicate entry '11987654321' for key 'freelancer.telefone'", "23000", 1062));
+        var diretorio = violacao(new SQLIntegrityConstraintViolationException(
+                "Duplicate entry 'a@b.com' for key 'usuario_diretorio.uk_usuario_diretorio_email'", "23000", 1062));
+        var h2 = violacao(new SQLException(
+                "Unique index or primary key violation: \"PUBLIC.CONSTRAINT_INDEX_8 ON PUBLIC.FREELANCER(CPF NULLS FIRST) VALUES ( /* 1 */ '1' )\"",
+                "23505", 23505));
+
+        assertTrue(ViolacaoIntegridade.chaveDuplicada(mysql));
+        assertEquals("Dados já cadastrados: Telefone", ViolacaoIntegridade.descrever(mysql));
+        assertEquals("Dados já cadastrados: E-mail", ViolacaoIntegridade.descrever(diretorio));
+        assertEquals("Dados já cadastrados: CPF", ViolacaoIntegridade.descrever(h2));
+    }
+
+    @Test
+    @DisplayName("NOT NULL, valor longo e chave estrangeira não são tratados como duplicidade")
+    void outrasViolacoes() {
+        var nula = violacao(new SQLIntegrityConstraintViolationException("Column 'nome' cannot be null", "23000", 1048));
+        var longa = violacao(new SQLException("Data truncation: Data too long for column 'telefone' at row 1", "22001", 1406));
+        var estrangeira = violacao(new SQLIntegrityConstraintViolationException(
+                "Cannot add or update a child row: a foreign key constraint fails", "23000", 1452));
+
+        assertFalse(ViolacaoIntegridade.chaveDuplicada(nula));
+        assertFalse(ViolacaoIntegridade.chaveDuplicada(longa));
+        assertFalse(ViolacaoIntegridade.chaveDuplicada(estrangeira));
+        assertEquals("nome: não deve ser nulo", ViolacaoIntegridade.descrever(nula));
+        assertEquals("telefone: valor maior que o permitido", ViolacaoIntegridade.descrever(longa));
+        assertTrue(ViolacaoIntegridade.descrever(estrangeira).contains("foreign key constraint fails"));
+
+        var resposta = new ErrorTreatment().tratarErroIntegridade(estrangeira);
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, resposta.getStatusCode());
+    }
+
+    private static DataIntegrityViolationException violacao(SQLException causa) {
+        return new DataIntegrityViolationException("could not execute statement", causa);
+    }
+}
@@ -0,0 +1,109 @@
+package com.devhub.api.infra.feed;
+
+import com.devhub.api.domain.publicacao.PublicacaoRepository;
+import com.devhub.api.domain.publicacao.dto.ListaPublicacaoDTO;
+import com.devhub.api.domain.publicacao.dto.PublicacaoResumoDTO;
+import com.devhub.api.domain.usuario.UserRole;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class FeedRecenteTest {
+
+    private static final LocalDateTime AGORA = LocalDateTime.of(2024, 5, 1, 10, 0);
+
+    private PublicacaoRepository repository;
+    private FeedRecente feed;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(PublicacaoRepository.class);
+        feed = new FeedRecente();
+        ReflectionTestUtils.setField(feed, "repository", repository);
+        ReflectionTestUtils.setField(feed, "capacidade", 3);
+    }
+
+    @Test
+    @DisplayName("Antes da carga, ou sem itens suficientes na memória, a leitura volta ao banco")
+    void semCobertura() {
+        assertNull(feed.recentes(2));
+
+        carregar(5, 4, 3);
+        assertEquals(List.of(5L, 4L), ids(feed.recentes(2)));
+        assertNull(feed.recentes(4));
+
+        feed.remover(4L);
+        feed.remover(5L);
+        assertNull(feed.recentes(2));
+    }
+
+    @Test
+    @DisplayName("Com todas as publicações na memória, servir páginas menores que o pedido")
+    void completo() {
+        carregar(2, 1);
+        assertEquals(List.of(2L, 1L), ids(feed.recentes(21)));
+
+        feed.adicionar(publicacao(3, AGORA, "FREELANCER", 7L));
+        feed.adicionar(publicacao(3, AGORA, "FREELANCER", 7L));
+        feed.adicionar(publicacao(9, AGORA, "ADMIN", 7L));
+        assertEquals(List.of(3L, 2L, 1L), ids(feed.recentes(21)));
+
+        // passou da capacidade: a mais antiga sai e a memória deixa de cobrir tudo
+        feed.adicionar(publicacao(4, AGORA, "FREELANCER", 7L));
+        assertEquals(List.of(4L, 3L, 2L), ids(feed.recentes(3)));
+        assertNull(feed.recentes(21));
+    }
+
+    @Test
+    @DisplayName("Manter a ordem (createdAt, id) decrescente e refletir mudanças do autor")
+    void ordemEAutor() {
+        carregar(5, 3);
+        feed.adicionar(publicacao(4, AGORA.minusMinutes(5), "CONTRATANTE", 8L));
+
+        assertEquals(List.of(5L, 3L, 4L), ids(feed.recentes(3)));
+
+        feed.renomearAutor(UserRole.CONTRATANTE, 8L, "Novo nome");
+        feed.trocarFotoAutor(UserRole.CONTRATANTE, 8L, "abc");
+        var alterada = feed.recentes(3).get(2);
+        assertEquals("Novo nome", alterada.nome());
+        assertEquals("/contratantes/foto/8?tamanho=64&v=abc", alterada.urlImagem());
+        assertEquals("Autor 7", feed.recentes(3).get(0).nome());
+    }
+
+    @Test
+    @DisplayName("A recarga periódica traz o que foi gravado por outras instâncias")
+    void recarregar() {
+        carregar(3, 2, 1);
+        feed.adicionar(publicacao(4, AGORA, "FREELANCER", 7L));
+
+        // outra instância apagou a 4 e publicou a 5
+        carregar(5, 3, 2);
+
+        assertEquals(List.of(5L, 3L, 2L), ids(feed.recentes(3)));
+    }
+
+    private void carregar(long... ids) {
+        var resumos = LongStream.of(ids)
+                .mapToObj(id -> new PublicacaoResumoDTO(id, "Autor 7", null, "Publicação " + id, 7L, AGORA, "FREELANCER"))
+                .toList();
+        when(repository.listarFeed(any())).thenReturn(resumos);
+        feed.carregar();
+    }
+
+    private static ListaPublicacaoDTO publicacao(long id, LocalDateTime createdAt, String role, Long autor) {
+        return new ListaPublicacaoDTO(id, "Autor " + autor, null, "Publicação " + id, autor, createdAt, role);
+    }
+
+    private static List<Long> ids(List<ListaPublicacaoDTO> publicacoes) {
+        return publicacoes.stream().map(ListaPublicacaoDTO::id).toList();
+    }
+}
@@ -0,0 +1,78 @@
+package com.devhub.api.infra.imagem;
+
+import com.devhub.api.domain.usuario.UserRole;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheImagensTest {
+
+    @TempDir
+    Path diretorio;
+
+    private CacheImagens cache;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        cache = new CacheImagens();
+        ReflectionTestUtils.setField(cache, "orcamentoMemoria", 10L);
+        ReflectionTestUtils.setField(cache, "orcamentoDisco", 100L);
+        ReflectionTestUtils.setField(cache, "maximoEntrada", 10L);
+        ReflectionTestUtils.setField(cache, "diretorio", diretorio.toString());
+        cache.iniciar();
+    }
+
+    @Test
+    @DisplayName("Rebaixar para o disco o que sai da memória e promover de volta na leitura")
+    void rebaixarEPromover() {
+        var primeira = CacheImagens.chave(UserRole.FREELANCER, 1L, 64, "aa");
+        var segunda = CacheImagens.chave(UserRole.FREELANCER, 2L, 64, "bb");
+        cache.guardar(primeira, new byte[]{1, 2, 3, 4, 5, 6});
+        cache.guardar(segunda, new byte[]{7, 8, 9, 10, 11, 12});
+
+        assertTrue(Files.exists(diretorio.resolve(primeira)));
+        assertArrayEquals(new byte[]{1, 2, 3, 4, 5, 6}, bytes(cache.buscar(primeira)));
+        assertArrayEquals(new byte[]{7, 8, 9, 10, 11, 12}, bytes(cache.buscar(segunda)));
+        assertNull(cache.buscar(CacheImagens.chave(UserRole.FREELANCER, 3L, 64, "cc")));
+    }
+
+    @Test
+    @DisplayName("Invalidar remove todas as versões do usuário nos dois níveis")
+    void invalidar() {
+        var antiga = CacheImagens.chave(UserRole.CONTRATANTE, 1L, 64, "aa");
+        var atual = CacheImagens.chave(UserRole.CONTRATANTE, 1L, 256, "bb");
+        var outro = CacheImagens.chave(UserRole.CONTRATANTE, 10L, 64, "cc");
+        cache.guardar(antiga, new byte[]{1, 2, 3, 4, 5, 6});
+        cache.guardar(atual, new byte[]{1, 2, 3});
+        cache.guardar(outro, new byte[]{1, 2, 3});
+
+        cache.invalidar(UserRole.CONTRATANTE, 1L);
+
+        assertNull(cache.buscar(antiga));
+        assertNull(cache.buscar(atual));
+        assertFalse(Files.exists(diretorio.resolve(antiga)));
+        assertNotNull(cache.buscar(outro));
+    }
+
+    @Test
+    @DisplayName("Não aceitar entradas acima do limite")
+    void limiteDeEntrada() {
+        assertTrue(cache.aceita(10));
+        assertFalse(cache.aceita(11));
+    }
+
+    private static byte[] bytes(ByteBuffer buffer) {
+        var bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,65 @@
+package com.devhub.api.infra.imagem;
+
+import com.devhub.api.domain.usuario.VarianteFoto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProcessadorImagemTest {
+
+    private ProcessadorImagem processador;
+
+    @BeforeEach
+    void setUp() {
+        processador = new ProcessadorImagem();
+        ReflectionTestUtils.setField(processador, "qualidade", 0.8f);
+        ReflectionTestUtils.setField(processador, "maximoPixels", 40_000_000L);
+    }
+
+    @Test
+    @DisplayName("Gerar as variantes em JPEG mantendo a proporção")
+    void gerarVariantes() throws IOException {
+        var variantes = processador.gerarVariantes(png(2000, 1000));
+
+        assertEquals(VarianteFoto.values().length, variantes.size());
+        var grande = ImageIO.read(new ByteArrayInputStream(variantes.get(VarianteFoto.GRANDE)));
+        var pequena = ImageIO.read(new ByteArrayInputStream(variantes.get(VarianteFoto.PEQUENA)));
+        assertEquals(1024, grande.getWidth());
+        assertEquals(512, grande.getHeight());
+        assertEquals(64, pequena.getWidth());
+        assertEquals(32, pequena.getHeight());
+        assertEquals((byte) 0xFF, variantes.get(VarianteFoto.MEDIA)[0]);
+        assertEquals((byte) 0xD8, variantes.get(VarianteFoto.MEDIA)[1]);
+    }
+
+    @Test
+    @DisplayName("Não ampliar fotos menores que a variante")
+    void naoAmpliar() throws IOException {
+        var variantes = processador.gerarVariantes(png(100, 50));
+
+        var grande = ImageIO.read(new ByteArrayInputStream(variantes.get(VarianteFoto.GRANDE)));
+        assertEquals(100, grande.getWidth());
+    }
+
+    @Test
+    @DisplayName("Recusar conteúdo que não é imagem")
+    void recusarNaoImagem() {
+        assertThrows(ResponseStatusException.class, () -> processador.gerarVariantes("texto".getBytes()));
+    }
+
+    private static byte[] png(int largura, int altura) throws IOException {
+        var saida = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(largura, altura, BufferedImage.TYPE_INT_ARGB), "png", saida);
+        return saida.toByteArray();
+    }
+}
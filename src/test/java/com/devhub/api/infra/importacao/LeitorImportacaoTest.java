@@ -0,0 +1,84 @@
+package com.devhub.api.infra.importacao;
+
+import com.devhub.api.domain.contratante.dto.CreateContratanteDTO;
+import com.devhub.api.domain.freelancer.dto.CreateFreelancerDTO;
+import com.devhub.api.domain.funcao.Funcao;
+import com.devhub.api.domain.importacao.FormatoImportacao;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeitorImportacaoTest {
+
+    private LeitorImportacao leitor;
+
+    @BeforeEach
+    void setUp() {
+        leitor = new LeitorImportacao();
+        ReflectionTestUtils.setField(leitor, "objectMapper",
+                new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES));
+        ReflectionTestUtils.setField(leitor, "validator", Validation.buildDefaultValidatorFactory().getValidator());
+    }
+
+    @Test
+    @DisplayName("Ler CSV com aspas, separador e quebra de linha dentro do campo")
+    void lerCsv() throws IOException {
+        var csv = """
+                nome,cpf,telefone,email,senha,funcao,valorHora,descricao,senioridade
+                "Doe, John",11012753085,11987654321,john.doe@example.com,123456,DESENVOLVEDOR_BACKEND,100.5,"Java e ""Spring""
+                há 5 anos",Senior
+                Jane,11012753085,11987654322,jane@example.com,123456,DESENVOLVEDOR_BACKEND,abc,Front,Junior
+                Sem colunas,1
+                """;
+
+        var linhas = ler(csv, FormatoImportacao.CSV, CreateFreelancerDTO.class);
+
+        assertEquals(3, linhas.size());
+        var john = linhas.get(0).dados();
+        assertEquals("Doe, John", john.nome());
+        assertEquals(Funcao.DESENVOLVEDOR_BACKEND, john.funcao());
+        assertEquals(100.5, john.valorHora());
+        assertEquals("Java e \"Spring\"\nhá 5 anos", john.descricao());
+        assertEquals("valorHora: valor inválido", linhas.get(1).erro());
+        assertEquals(3, linhas.get(2).numero());
+        assertEquals("Esperadas 9 colunas, encontradas 2", linhas.get(2).erro());
+    }
+
+    @Test
+    @DisplayName("Ler NDJSON aplicando as validações do cadastro")
+    void lerNdjson() throws IOException {
+        var ndjson = """
+                {"nome":"Empresa","cnpj":"11222333000181","telefone":"11987654321","email":"empresa@example.com","senha":"123"}
+
+                {"nome":"Outra","cnpj":"123","telefone":"119","email":"outra@example.com","senha":"123"}
+                {"nome":
+                """;
+
+        var linhas = ler(ndjson, FormatoImportacao.NDJSON, CreateContratanteDTO.class);
+
+        assertEquals(3, linhas.size());
+        assertEquals("Empresa", linhas.get(0).dados().nome());
+        assertNull(linhas.get(1).dados());
+        assertTrue(linhas.get(1).erro().startsWith("cnpj: "));
+        assertTrue(linhas.get(1).erro().contains(" | telefone: "));
+        assertEquals("Registro em formato inválido", linhas.get(2).erro());
+    }
+
+    private <T> List<LinhaImportacao<T>> ler(String conteudo, FormatoImportacao formato, Class<T> tipo) throws IOException {
+        List<LinhaImportacao<T>> linhas = new ArrayList<>();
+        leitor.ler(new ByteArrayInputStream(conteudo.getBytes(StandardCharsets.UTF_8)), formato, tipo, linhas::add);
+        return linhas;
+    }
+}
@@ -0,0 +1,86 @@
+package com.devhub.api.infra.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashSenhasTest {
+
+    private HashSenhas hashSenhas;
+
+    @BeforeEach
+    void setUp() {
+        hashSenhas = new HashSenhas();
+        ReflectionTestUtils.setField(hashSenhas, "custo", 5);
+        ReflectionTestUtils.setField(hashSenhas, "threads", 1);
+        ReflectionTestUtils.setField(hashSenhas, "capacidadeFila", 1);
+        ReflectionTestUtils.setField(hashSenhas, "esperaMaxima", Duration.ofSeconds(5));
+        hashSenhas.iniciar();
+    }
+
+    @AfterEach
+    void tearDown() {
+        hashSenhas.encerrar();
+    }
+
+    @Test
+    @DisplayName("Gerar e conferir hashes no pool e pedir rehash de custo menor")
+    void gerarEConferir() {
+        var hash = hashSenhas.encode("123456");
+
+        assertTrue(hashSenhas.matches("123456", hash));
+        assertFalse(hashSenhas.matches("654321", hash));
+        assertFalse(hashSenhas.upgradeEncoding(hash));
+        assertTrue(hashSenhas.upgradeEncoding(new BCryptPasswordEncoder(4).encode("123456")));
+    }
+
+    @Test
+    @DisplayName("Gerar hashes em lote na ordem das senhas mesmo com a fila menor que o lote")
+    void gerarEmLote() {
+        var senhas = List.of("a1", "b2", "c3", "d4", "e5");
+
+        var hashes = hashSenhas.encodeTodos(senhas);
+
+        assertEquals(senhas.size(), hashes.size());
+        for (int i = 0; i < senhas.size(); i++) {
+            assertTrue(hashSenhas.matches(senhas.get(i), hashes.get(i)));
+        }
+    }
+
+    @Test
+    @DisplayName("Responder 503 na hora quando o pool e a fila estão cheios")
+    void recusarQuandoCheio() throws InterruptedException {
+        var liberar = new CountDownLatch(1);
+        var ocupados = new CountDownLatch(1);
+        var externo = Executors.newFixedThreadPool(2);
+        try {
+            // uma tarefa presa na thread do pool e outra ocupando a única vaga da fila
+            externo.submit(() -> hashSenhas.executar(() -> {
+                ocupados.countDown();
+                return liberar.await(5, TimeUnit.SECONDS);
+            }));
+            ocupados.await();
+            externo.submit(() -> hashSenhas.executar(() -> true));
+            Thread.sleep(100);
+
+            var erro = assertThrows(ResponseStatusException.class, () -> hashSenhas.encode("123456"));
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE, erro.getStatusCode());
+        } finally {
+            liberar.countDown();
+            externo.shutdown();
+        }
+    }
+}
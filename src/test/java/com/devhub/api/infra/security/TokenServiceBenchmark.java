@@ -0,0 +1,69 @@
+package com.devhub.api.infra.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.auth0.jwt.interfaces.JWTVerifier;
+import com.devhub.api.domain.usuario.UsuarioDiretorioRepository;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Vazão da validação do bearer token: como era (Algorithm e JWTVerifier montados a cada chamada),
+ * com o verificador reutilizado (primeira requisição de um token) e com o cache de tokens verificados.
+ * Roda com: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=TokenServiceBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenServiceBenchmark {
+
+    private static final String SEGREDO = "segredo-benchmark";
+
+    private TokenService tokenService;
+    private JWTVerifier verificador;
+    private String token;
+
+    @Setup
+    public void preparar() {
+        // a situação da conta fica no cache de RevogacaoTokens; o repositório só é lido na primeira vez
+        var revogacao = new RevogacaoTokens();
+        ReflectionTestUtils.setField(revogacao, "repository", Mockito.mock(UsuarioDiretorioRepository.class));
+        ReflectionTestUtils.setField(revogacao, "validadeCache", Duration.ofMinutes(30));
+        ReflectionTestUtils.setField(revogacao, "maximoCache", 10_000);
+        tokenService = new TokenService();
+        ReflectionTestUtils.setField(tokenService, "secret", SEGREDO);
+        ReflectionTestUtils.setField(tokenService, "maximoCache", 10_000);
+        ReflectionTestUtils.setField(tokenService, "revogacao", revogacao);
+        tokenService.iniciar();
+
+        verificador = JWT.require(Algorithm.HMAC256(SEGREDO)).withIssuer("DevHub").build();
+        token = JWT.create().withIssuer("DevHub").withSubject("john.doe@example.com")
+                .withClaim("id", 7L).withClaim("role", "FREELANCER")
+                .withIssuedAt(Instant.now()).withExpiresAt(Instant.now().plus(Duration.ofHours(3)))
+                .sign(Algorithm.HMAC256(SEGREDO));
+    }
+
+    @Benchmark
+    public DecodedJWT antesVerificadorPorChamada() {
+        return JWT.require(Algorithm.HMAC256(SEGREDO)).withIssuer("DevHub").build().verify(token);
+    }
+
+    @Benchmark
+    public DecodedJWT verificadorReutilizado() {
+        return verificador.verify(token);
+    }
+
+    @Benchmark
+    public UsuarioAutenticado validarComCache() {
+        return tokenService.validar(token);
+    }
+}
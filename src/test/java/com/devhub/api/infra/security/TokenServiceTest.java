@@ -0,0 +1,181 @@
+package com.devhub.api.infra.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.devhub.api.domain.freelancer.Freelancer;
+import com.devhub.api.domain.freelancer.dto.CreateFreelancerDTO;
+import com.devhub.api.domain.funcao.Funcao;
+import com.devhub.api.domain.usuario.UserRole;
+import com.devhub.api.domain.usuario.UsuarioDiretorio;
+import com.devhub.api.domain.usuario.UsuarioDiretorioRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TokenServiceTest {
+
+    private TokenService tokenService;
+    private RevogacaoTokens revogacao;
+    private UsuarioDiretorioRepository diretorioRepository;
+    private UsuarioDiretorio conta;
+    private Freelancer freelancer;
+
+    @BeforeEach
+    void setUp() {
+        diretorioRepository = mock(UsuarioDiretorioRepository.class);
+        revogacao = new RevogacaoTokens();
+        ReflectionTestUtils.setField(revogacao, "repository", diretorioRepository);
+        ReflectionTestUtils.setField(revogacao, "validadeCache", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(revogacao, "maximoCache", 100);
+        tokenService = new TokenService();
+        ReflectionTestUtils.setField(tokenService, "secret", "segredo");
+        ReflectionTestUtils.setField(tokenService, "revogacao", revogacao);
+        ReflectionTestUtils.setField(tokenService, "maximoCache", 2);
+        tokenService.iniciar();
+
+        freelancer = new Freelancer(new CreateFreelancerDTO("John Doe", "11012753085", "11987654321",
+                "john.doe@example.com", "123456", Funcao.DESENVOLVEDOR_BACKEND, 100.0, "Lorem ipsum", "Senior"));
+        ReflectionTestUtils.setField(freelancer, "id", 7L);
+        conta = new UsuarioDiretorio(freelancer);
+        when(diretorioRepository.findByRoleAndIdUsuario(UserRole.FREELANCER, 7L)).thenReturn(Optional.of(conta));
+    }
+
+    // o que o update de revogar/desativar gravaria no diretório
+    private void gravarRevogacao(boolean ativo) {
+        ReflectionTestUtils.setField(conta, "revogadoEm", LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
+        ReflectionTestUtils.setField(conta, "ativo", ativo);
+    }
+
+    private String token(String email, Instant expiraEm) {
+        return JWT.create().withIssuer("DevHub").withSubject(email)
+                .withClaim("id", 7L).withClaim("role", "FREELANCER")
+                .withIssuedAt(Instant.now().minusSeconds(60)).withExpiresAt(expiraEm)
+                .sign(Algorithm.HMAC256("segredo"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> verificados() {
+        return (Map<String, Object>) ReflectionTestUtils.getField(tokenService, "verificados");
+    }
+
+    // entrada como o cache teria guardado, mas com a expiração escolhida pelo teste
+    private void guardarNoCache(String token, UsuarioAutenticado usuario, Instant expiraEm) throws Exception {
+        var tipo = Class.forName(TokenService.class.getName() + "$TokenVerificado");
+        var construtor = tipo.getDeclaredConstructor(UsuarioAutenticado.class, Instant.class, Instant.class);
+        construtor.setAccessible(true);
+        verificados().put(token, construtor.newInstance(usuario, Instant.now().minusSeconds(60), expiraEm));
+    }
+
+    @Test
+    @DisplayName("Montar o usuário autenticado só com as claims do token")
+    void validarPelasClaims() {
+        var usuario = tokenService.validar(tokenService.gerarToken(freelancer));
+
+        assertEquals(new UsuarioAutenticado(7L, UserRole.FREELANCER, "john.doe@example.com"), usuario);
+        assertEquals("ROLE_FREELANCER", usuario.getAuthorities().iterator().next().getAuthority());
+    }
+
+    @Test
+    @DisplayName("Recusar tokens emitidos antes da revogação")
+    void recusarTokenRevogado() {
+        var antigo = JWT.create().withIssuer("DevHub").withSubject("john.doe@example.com")
+                .withClaim("id", 7L).withClaim("role", "FREELANCER")
+                .withIssuedAt(Instant.now().minusSeconds(60)).withExpiresAt(Instant.now().plusSeconds(60))
+                .sign(Algorithm.HMAC256("segredo"));
+
+        gravarRevogacao(true);
+        revogacao.revogar(UserRole.FREELANCER, 7L);
+
+        verify(diretorioRepository).revogar(eq(UserRole.FREELANCER), eq(7L), any());
+        assertThrows(RuntimeException.class, () -> tokenService.validar(antigo));
+        assertNotNull(tokenService.validar(tokenService.gerarToken(freelancer)));
+    }
+
+    @Test
+    @DisplayName("Revogação vale também para tokens que já estão no cache de verificados")
+    void revogarTokenEmCache() {
+        var antigo = JWT.create().withIssuer("DevHub").withSubject("john.doe@example.com")
+                .withClaim("id", 7L).withClaim("role", "FREELANCER")
+                .withIssuedAt(Instant.now().minusSeconds(60)).withExpiresAt(Instant.now().plusSeconds(60))
+                .sign(Algorithm.HMAC256("segredo"));
+        assertEquals(7L, tokenService.validar(antigo).id());
+        assertEquals(7L, tokenService.validar(antigo).id());
+        // a situação da conta também fica em cache: uma consulta ao diretório para as duas validações
+        verify(diretorioRepository, times(1)).findByRoleAndIdUsuario(UserRole.FREELANCER, 7L);
+
+        gravarRevogacao(true);
+        revogacao.revogar(UserRole.FREELANCER, 7L);
+
+        assertThrows(RuntimeException.class, () -> tokenService.validar(antigo));
+    }
+
+    @Test
+    @DisplayName("Conta desativada perde todos os tokens e não consegue login")
+    void recusarContaDesativada() {
+        gravarRevogacao(false);
+        revogacao.desativar(UserRole.FREELANCER, 7L);
+
+        verify(diretorioRepository).desativar(eq(UserRole.FREELANCER), eq(7L), any());
+        assertFalse(conta.isEnabled());
+        assertThrows(RuntimeException.class, () -> tokenService.validar(tokenService.gerarToken(freelancer)));
+    }
+
+    @Test
+    @DisplayName("Recusar tokens sem as claims de id e role")
+    void recusarTokenSemClaims() {
+        var semClaims = JWT.create().withIssuer("DevHub").withSubject("john.doe@example.com")
+                .withExpiresAt(Instant.now().plusSeconds(60))
+                .sign(Algorithm.HMAC256("segredo"));
+
+        assertThrows(RuntimeException.class, () -> tokenService.validar(semClaims));
+    }
+
+    @Test
+    @DisplayName("Entrada vencida no cache é verificada de novo em vez de servida")
+    void reverificarEntradaVencida() throws Exception {
+        var valido = token("john.doe@example.com", Instant.now().plusSeconds(60));
+        var outro = new UsuarioAutenticado(8L, UserRole.CONTRATANTE, "outro@example.com");
+        guardarNoCache(valido, outro, Instant.now().minusSeconds(1));
+
+        assertEquals(7L, tokenService.validar(valido).id());
+
+        var vencido = token("john.doe@example.com", Instant.now().minusSeconds(1));
+        guardarNoCache(vencido, outro, Instant.now().minusSeconds(1));
+
+        assertThrows(RuntimeException.class, () -> tokenService.validar(vencido));
+        assertFalse(verificados().containsKey(vencido));
+    }
+
+    @Test
+    @DisplayName("Cache cheio descarta primeiro os vencidos e só então recomeça do zero")
+    void limparCacheCheio() throws Exception {
+        var primeiro = token("primeiro@example.com", Instant.now().plusSeconds(60));
+        var segundo = token("segundo@example.com", Instant.now().plusSeconds(60));
+        var terceiro = token("terceiro@example.com", Instant.now().plusSeconds(60));
+        guardarNoCache("vencido", new UsuarioAutenticado(7L, UserRole.FREELANCER, "x@example.com"),
+                Instant.now().minusSeconds(1));
+        tokenService.validar(primeiro);
+
+        // cheio (máximo 2) com um vencido: sai só o vencido
+        tokenService.validar(segundo);
+        assertEquals(Set.of(primeiro, segundo), verificados().keySet());
+
+        // cheio só com válidos: recomeça do zero
+        tokenService.validar(terceiro);
+        assertEquals(Set.of(terceiro), verificados().keySet());
+    }
+}
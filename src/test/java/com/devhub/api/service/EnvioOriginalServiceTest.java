@@ -0,0 +1,209 @@
+package com.devhub.api.service;
+
+import com.devhub.api.domain.contratante.ContratanteRepository;
+import com.devhub.api.domain.freelancer.FreelancerRepository;
+import com.devhub.api.domain.usuario.*;
+import com.devhub.api.infra.armazenamento.ObjectStoreLocal;
+import com.devhub.api.infra.security.UsuarioAutenticado;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class EnvioOriginalServiceTest {
+
+    private static final String CHAVE = "originais/freelancer/1/abc";
+    private static final byte[] FOTO = {1, 2, 3, 4};
+    private static final UsuarioAutenticado DONO = new UsuarioAutenticado(1L, UserRole.FREELANCER, "dono@devhub.com");
+
+    @TempDir
+    Path diretorio;
+
+    private EnvioOriginalService servico;
+    private EnvioOriginalRepository repository;
+    private FotoUsuarioService fotoService;
+    private ObjectStoreLocal objectStore;
+    private EnvioOriginal envio;
+
+    @BeforeEach
+    void setUp() {
+        servico = new EnvioOriginalService();
+        repository = mock(EnvioOriginalRepository.class);
+        fotoService = mock(FotoUsuarioService.class);
+        objectStore = new ObjectStoreLocal(diretorio.toString(), "segredo", "http://localhost:8080");
+        var freelancerRepository = mock(FreelancerRepository.class);
+        when(freelancerRepository.existsById(1L)).thenReturn(true);
+        ReflectionTestUtils.setField(servico, "repository", repository);
+        ReflectionTestUtils.setField(servico, "fotoService", fotoService);
+        ReflectionTestUtils.setField(servico, "objectStore", objectStore);
+        ReflectionTestUtils.setField(servico, "freelancerRepository", freelancerRepository);
+        ReflectionTestUtils.setField(servico, "contratanteRepository", mock(ContratanteRepository.class));
+        ReflectionTestUtils.setField(servico, "validadeEnvio", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(servico, "maximoBytesEnvio", 10L);
+        ReflectionTestUtils.setField(servico, "maximoPendentes", 2);
+        ReflectionTestUtils.setField(servico, "threads", 1);
+        ReflectionTestUtils.setField(servico, "capacidadeFila", 10);
+        ReflectionTestUtils.setField(servico, "maximoTentativas", 3);
+        ReflectionTestUtils.setField(servico, "esperaInicial", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(servico, "esperaMaxima", Duration.ofMinutes(10));
+        servico.iniciar();
+
+        envio = new EnvioOriginal(CHAVE, 1L, UserRole.FREELANCER, LocalDateTime.now().plusMinutes(5));
+        ReflectionTestUtils.setField(envio, "id", 7L);
+        when(repository.findByChaveAndIdUsuarioAndRoleAndStatus(CHAVE, 1L, UserRole.FREELANCER,
+                StatusEnvioOriginal.AGUARDANDO)).thenReturn(Optional.of(envio));
+        when(repository.save(any())).thenAnswer(i -> i.getArgument(0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        servico.encerrar();
+    }
+
+    @Test
+    @DisplayName("Registrar a chave emitida e limitar os envios em aberto por usuário")
+    void iniciarEnvio() {
+        var dto = servico.iniciarEnvio(DONO, UserRole.FREELANCER, 1L);
+
+        assertTrue(dto.chave().startsWith("originais/freelancer/1/"));
+        verify(repository).save(argThat(e -> e.getChave().equals(dto.chave())
+                && e.getStatus() == StatusEnvioOriginal.AGUARDANDO));
+
+        when(repository.contarAguardando(eq(1L), eq(UserRole.FREELANCER), any())).thenReturn(2L);
+        var erro = assertThrows(ResponseStatusException.class, () -> servico.iniciarEnvio(DONO, UserRole.FREELANCER, 1L));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, erro.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Recusar envio pedido por outro usuário ou sem autenticação")
+    void recusarOutroUsuario() {
+        var outro = new UsuarioAutenticado(2L, UserRole.FREELANCER, "outro@devhub.com");
+        var contratante = new UsuarioAutenticado(1L, UserRole.CONTRATANTE, "contratante@devhub.com");
+        var dados = new ConclusaoEnvioFotoDTO(CHAVE, FotoUsuario.hash(FOTO));
+
+        for (var usuario : new UsuarioAutenticado[]{outro, contratante, null}) {
+            var erro = assertThrows(ResponseStatusException.class,
+                    () -> servico.iniciarEnvio(usuario, UserRole.FREELANCER, 1L));
+            assertEquals(HttpStatus.FORBIDDEN, erro.getStatusCode());
+            erro = assertThrows(ResponseStatusException.class,
+                    () -> servico.concluirEnvio(usuario, UserRole.FREELANCER, 1L, dados));
+            assertEquals(HttpStatus.FORBIDDEN, erro.getStatusCode());
+        }
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Recusar chave fora do prefixo do usuário ou que não foi emitida")
+    void recusarChaveDeOutroUsuario() {
+        var erro = assertThrows(ResponseStatusException.class, () -> servico.concluirEnvio(DONO, UserRole.FREELANCER, 1L,
+                new ConclusaoEnvioFotoDTO("originais/freelancer/2/abc", FotoUsuario.hash(FOTO))));
+        assertEquals(HttpStatus.BAD_REQUEST, erro.getStatusCode());
+
+        erro = assertThrows(ResponseStatusException.class, () -> servico.concluirEnvio(DONO, UserRole.FREELANCER, 1L,
+                new ConclusaoEnvioFotoDTO("originais/freelancer/1/../2/abc", FotoUsuario.hash(FOTO))));
+        assertEquals(HttpStatus.BAD_REQUEST, erro.getStatusCode());
+
+        erro = assertThrows(ResponseStatusException.class, () -> servico.concluirEnvio(DONO, UserRole.FREELANCER, 1L,
+                new ConclusaoEnvioFotoDTO("originais/freelancer/1/outra", FotoUsuario.hash(FOTO))));
+        assertEquals(HttpStatus.BAD_REQUEST, erro.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Responder 422 quando o objeto não foi enviado")
+    void objetoAusente() {
+        var erro = assertThrows(ResponseStatusException.class, () -> servico.concluirEnvio(DONO, UserRole.FREELANCER, 1L,
+                new ConclusaoEnvioFotoDTO(CHAVE, FotoUsuario.hash(FOTO))));
+
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, erro.getStatusCode());
+        verify(repository, never()).deleteById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Responder 413 e descartar o objeto maior que o limite")
+    void objetoGrandeDemais() {
+        objectStore.gravar(CHAVE, new byte[11], "image/jpeg");
+
+        var erro = assertThrows(ResponseStatusException.class, () -> servico.concluirEnvio(DONO, UserRole.FREELANCER, 1L,
+                new ConclusaoEnvioFotoDTO(CHAVE, "qualquer")));
+
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, erro.getStatusCode());
+        assertEquals(-1, objectStore.tamanho(CHAVE));
+        verify(repository).deleteById(7L);
+    }
+
+    @Test
+    @DisplayName("Gerar a foto em segundo plano e apagar a original depois")
+    void processarEmSegundoPlano() {
+        objectStore.gravar(CHAVE, FOTO, "image/jpeg");
+
+        servico.concluirEnvio(DONO, UserRole.FREELANCER, 1L, new ConclusaoEnvioFotoDTO(CHAVE, FotoUsuario.hash(FOTO)));
+
+        assertEquals(StatusEnvioOriginal.RECEBIDO, envio.getStatus());
+        verify(fotoService, timeout(2000)).salvar(UserRole.FREELANCER, 1L, FOTO);
+        verify(repository, timeout(2000)).deleteById(7L);
+        assertEquals(-1, objectStore.tamanho(CHAVE));
+    }
+
+    @Test
+    @DisplayName("Descartar sem gravar a foto quando o hash não confere")
+    void hashDivergente() {
+        objectStore.gravar(CHAVE, FOTO, "image/jpeg");
+        envio.receber("outro-hash");
+
+        servico.processar(envio);
+
+        verify(fotoService, never()).salvar(any(), any(), any());
+        verify(repository).deleteById(7L);
+        assertEquals(-1, objectStore.tamanho(CHAVE));
+    }
+
+    @Test
+    @DisplayName("Reagendar falhas transitórias e desistir de imagens inválidas")
+    void falhas() {
+        objectStore.gravar(CHAVE, FOTO, "image/jpeg");
+        envio.receber(FotoUsuario.hash(FOTO));
+        when(fotoService.salvar(any(), any(), any())).thenThrow(new IllegalStateException("banco fora do ar"));
+
+        servico.processar(envio);
+
+        assertEquals(1, envio.getTentativas());
+        assertEquals("banco fora do ar", envio.getUltimoErro());
+        verify(repository, never()).deleteById(anyLong());
+        assertEquals(FOTO.length, objectStore.tamanho(CHAVE));
+
+        reset(fotoService);
+        when(fotoService.salvar(any(), any(), any()))
+                .thenThrow(new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "Formato não suportado"));
+
+        servico.processar(envio);
+
+        verify(repository).deleteById(7L);
+        assertEquals(-1, objectStore.tamanho(CHAVE));
+    }
+
+    @Test
+    @DisplayName("Apagar o objeto das chaves que venceram sem conclusão")
+    void limparVencidos() {
+        objectStore.gravar(CHAVE, FOTO, "image/jpeg");
+        when(repository.listarVencidos(any(), any())).thenReturn(List.of(envio));
+
+        servico.limparVencidos();
+
+        verify(repository).deleteById(7L);
+        assertEquals(-1, objectStore.tamanho(CHAVE));
+    }
+}
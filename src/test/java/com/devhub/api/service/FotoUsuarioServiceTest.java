@@ -0,0 +1,176 @@
+package com.devhub.api.service;
+
+import com.devhub.api.domain.usuario.UserRole;
+import com.devhub.api.domain.usuario.VarianteFoto;
+import com.devhub.api.infra.imagem.CacheImagens;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class FotoUsuarioServiceTest {
+
+    private static final int TAMANHO = 300;
+
+    private FotoUsuarioService service;
+    private JdbcTemplate jdbcTemplate;
+    private byte[] foto;
+    // (início 1-based, quantidade) de cada SUBSTRING enviado ao banco
+    private final List<long[]> blocos = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        foto = new byte[TAMANHO];
+        for (int i = 0; i < TAMANHO; i++) {
+            foto[i] = (byte) i;
+        }
+        foto[0] = (byte) 0xFF;
+        foto[1] = (byte) 0xD8;
+        foto[2] = (byte) 0xFF;
+
+        jdbcTemplate = mock(JdbcTemplate.class);
+        var metadados = mock(ResultSet.class);
+        when(metadados.getString(1)).thenReturn("abc");
+        when(metadados.getInt(2)).thenReturn(VarianteFoto.MEDIA.getTamanho());
+        when(metadados.getLong(3)).thenReturn((long) TAMANHO);
+        when(metadados.getBytes(4)).thenReturn(Arrays.copyOf(foto, 12));
+        when(jdbcTemplate.query(startsWith("select imagem_hash"), any(RowMapper.class), any(Object[].class)))
+                .thenAnswer(i -> List.of(i.<RowMapper<?>>getArgument(1).mapRow(metadados, 0)));
+        when(jdbcTemplate.query(startsWith("select substring"), any(ResultSetExtractor.class), any(Object[].class)))
+                .thenAnswer(i -> {
+                    long inicio = ((Number) i.getArgument(2)).longValue();
+                    int quantidade = ((Number) i.getArgument(3)).intValue();
+                    blocos.add(new long[]{inicio, quantidade});
+                    var resultado = mock(ResultSet.class);
+                    when(resultado.next()).thenReturn(true);
+                    when(resultado.getBytes(1)).thenReturn(Arrays.copyOfRange(foto, (int) inicio - 1,
+                            (int) Math.min(TAMANHO, inicio - 1 + quantidade)));
+                    return i.<ResultSetExtractor<?>>getArgument(1).extractData(resultado);
+                });
+
+        service = new FotoUsuarioService();
+        ReflectionTestUtils.setField(service, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(service, "cacheImagens", mock(CacheImagens.class));
+        ReflectionTestUtils.setField(service, "tamanhoBloco", 1 << 20);
+    }
+
+    @Test
+    @DisplayName("Identificar o Content-Type pelos primeiros bytes da foto")
+    void identificarTipoPelaAssinatura() {
+        assertEquals(MediaType.IMAGE_JPEG, FotoUsuarioService.tipoDe(new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, 0x00}));
+        assertEquals(MediaType.IMAGE_PNG, FotoUsuarioService.tipoDe(new byte[]{(byte) 0x89, 'P', 'N', 'G', 0x0D}));
+        assertEquals(MediaType.parseMediaType("image/webp"),
+                FotoUsuarioService.tipoDe(new byte[]{'R', 'I', 'F', 'F', 1, 2, 3, 4, 'W', 'E', 'B', 'P'}));
+        assertEquals(MediaType.APPLICATION_OCTET_STREAM, FotoUsuarioService.tipoDe(new byte[]{1, 2}));
+    }
+
+    @Test
+    @DisplayName("Responder a foto inteira numa consulta só quando cabe no bloco")
+    void fotoInteira() throws IOException {
+        var resposta = responder(new MockHttpServletRequest());
+
+        assertEquals(200, resposta.getStatusCode().value());
+        assertEquals(MediaType.IMAGE_JPEG, resposta.getHeaders().getContentType());
+        assertEquals("\"abc-256\"", resposta.getHeaders().getETag());
+        assertArrayEquals(foto, corpo(resposta));
+        assertEquals(1, blocos.size());
+    }
+
+    @Test
+    @DisplayName("Responder 206 com Content-Range para um intervalo fechado")
+    void intervaloFechado() throws IOException {
+        var resposta = responder(comRange("bytes=10-19"));
+
+        assertEquals(206, resposta.getStatusCode().value());
+        assertEquals("bytes 10-19/300", resposta.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+        assertEquals(10, resposta.getHeaders().getContentLength());
+        assertArrayEquals(Arrays.copyOfRange(foto, 10, 20), corpo(resposta));
+    }
+
+    @Test
+    @DisplayName("Intervalo aberto e sufixo vão até o último byte")
+    void intervaloAberto() throws IOException {
+        var aberto = responder(comRange("bytes=290-"));
+        assertEquals("bytes 290-299/300", aberto.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+        assertArrayEquals(Arrays.copyOfRange(foto, 290, 300), corpo(aberto));
+
+        var sufixo = responder(comRange("bytes=-5"));
+        assertEquals("bytes 295-299/300", sufixo.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+        assertArrayEquals(Arrays.copyOfRange(foto, 295, 300), corpo(sufixo));
+    }
+
+    @Test
+    @DisplayName("Responder 416 para intervalo que começa depois do fim")
+    void intervaloForaDaFoto() {
+        var resposta = responder(comRange("bytes=300-"));
+
+        assertEquals(416, resposta.getStatusCode().value());
+        assertEquals("bytes */300", resposta.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+        assertTrue(blocos.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Responder 304 sem ler os bytes quando o If-None-Match confere")
+    void naoModificada() {
+        var request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"abc-256\"");
+
+        var resposta = responder(request);
+
+        assertEquals(304, resposta.getStatusCode().value());
+        assertNull(resposta.getBody());
+        assertTrue(blocos.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Copiar em blocos sem pular nem repetir bytes na fronteira do SUBSTRING")
+    void fronteiraDosBlocos() throws IOException {
+        ReflectionTestUtils.setField(service, "tamanhoBloco", 100);
+
+        var resposta = responder(comRange("bytes=50-250"));
+
+        assertArrayEquals(Arrays.copyOfRange(foto, 50, 251), corpo(resposta));
+        assertEquals(3, blocos.size());
+        assertArrayEquals(new long[]{51, 100}, blocos.get(0));
+        assertArrayEquals(new long[]{151, 100}, blocos.get(1));
+        assertArrayEquals(new long[]{251, 1}, blocos.get(2));
+    }
+
+    private ResponseEntity<StreamingResponseBody> responder(MockHttpServletRequest request) {
+        return service.responder(UserRole.FREELANCER, 7L, VarianteFoto.MEDIA, null,
+                new ServletWebRequest(request, new MockHttpServletResponse()));
+    }
+
+    private static MockHttpServletRequest comRange(String range) {
+        var request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.RANGE, range);
+        return request;
+    }
+
+    private static byte[] corpo(ResponseEntity<StreamingResponseBody> resposta) throws IOException {
+        var out = new ByteArrayOutputStream();
+        resposta.getBody().writeTo(out);
+        return out.toByteArray();
+    }
+}
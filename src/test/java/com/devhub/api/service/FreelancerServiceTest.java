@@ -3,14 +3,21 @@ package com.devhub.api.service;
 import com.amazonaws.services.s3.AmazonS3;
 import com.devhub.api.domain.avaliacao_freelancer.AvaliacaoFreelancerRepository;
 import com.devhub.api.domain.contratante.ContratanteRepository;
-import com.devhub.api.domain.contratante.dto.ContratanteValidacaoDTO;
-import com.devhub.api.domain.especialidade.Especialidade;
+import com.devhub.api.domain.email.EmailPendente;
+import com.devhub.api.domain.email.EmailPendenteRepository;
+import com.devhub.api.domain.especialidade.EspecialidadeFreelancerDTO;
+import com.devhub.api.domain.especialidade.EspecialidadeRepository;
 import com.devhub.api.domain.freelancer.Freelancer;
 import com.devhub.api.domain.freelancer.FreelancerRepository;
 import com.devhub.api.domain.freelancer.dto.CreateFreelancerDTO;
-import com.devhub.api.domain.freelancer.dto.FreelancerValidacaoDTO;
+import com.devhub.api.domain.freelancer.dto.FreelancerResumoDTO;
 import com.devhub.api.domain.freelancer.dto.UpdateFreelancerDTO;
 import com.devhub.api.domain.funcao.Funcao;
+import com.devhub.api.domain.usuario.UsuarioDiretorio;
+import com.devhub.api.domain.usuario.UsuarioDiretorioRepository;
+import com.devhub.api.infra.busca.IndiceBuscaFreelancer;
+import com.devhub.api.infra.busca.MotorSimilaridadeEspecialidades;
+import com.devhub.api.infra.cadastro.FiltroIdentificadores;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -18,6 +25,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
@@ -30,6 +38,8 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @SpringBootTest(classes = com.devhub.api.Application.class, webEnvironment = SpringBootTest.WebEnvironment.NONE)
@@ -44,7 +54,19 @@ public class FreelancerServiceTest {
     @MockBean
     private ContratanteRepository contratanteRepo;
     @MockBean
+    private EspecialidadeRepository especialidadeRepo;
+    @MockBean
     private AmazonS3 s3;
+    @MockBean
+    private IndiceBuscaFreelancer indiceBusca;
+    @MockBean
+    private MotorSimilaridadeEspecialidades motorSimilaridade;
+    @MockBean
+    private UsuarioDiretorioRepository diretorioRepo;
+    @MockBean
+    private FiltroIdentificadores filtroIdentificadores;
+    @MockBean
+    private EmailPendenteRepository emailRepo;
 
     private CreateFreelancerDTO createFreelancerMock;
     private Freelancer freelancerMock;
@@ -73,17 +95,18 @@ public class FreelancerServiceTest {
     void cadastrarFreelancer() {
         CreateFreelancerDTO data = this.createFreelancerMock;
 
-        List<FreelancerValidacaoDTO> dadosFreelancer = new ArrayList<>();
-        List<ContratanteValidacaoDTO> dadosContratante = new ArrayList<>();
-
-        when(freelancerRepo.validarDadosUnicos()).thenReturn(dadosFreelancer);
-        when(contratanteRepo.validarDadosUnicos()).thenReturn(dadosContratante);
-
         var response = service.cadastrarFreelancer(data);
 
-        verify(freelancerRepo, times(1)).validarDadosUnicos();
-        verify(contratanteRepo, times(1)).validarDadosUnicos();
+        // o filtro respondeu "não" para tudo: só o telefone, que não passa por ele, vai ao banco
+        verify(diretorioRepo, never()).existsByEmail(any());
+        verify(freelancerRepo, times(1)).existsByTelefone("11987654321");
+        verify(contratanteRepo, times(1)).existsByTelefone("11987654321");
+        verify(freelancerRepo, never()).existsByCpf(any());
+        verify(filtroIdentificadores, times(1)).adicionar("john.doe@example.com",
+                FiltroIdentificadores.Campo.CPF, "11012753085");
         verify(freelancerRepo, times(1)).save(any(Freelancer.class));
+        verify(diretorioRepo, times(1)).save(any(UsuarioDiretorio.class));
+        verify(emailRepo, times(1)).save(any(EmailPendente.class));
 
         assertNotNull(response);
         assertTrue(new BCryptPasswordEncoder().matches("123456", response.getSenha()));
@@ -94,18 +117,13 @@ public class FreelancerServiceTest {
     void cadastrarFreelancerJaCadastrado() {
         CreateFreelancerDTO data = this.createFreelancerMock;
 
-        List<FreelancerValidacaoDTO> dadosFreelancer = new ArrayList<>();
-        dadosFreelancer.add(new FreelancerValidacaoDTO("john.doe@example.com", "11012753085", "11987654321"));
-
-        List<ContratanteValidacaoDTO> dadosContratante = new ArrayList<>();
-
-        when(freelancerRepo.validarDadosUnicos()).thenReturn(dadosFreelancer);
-        when(contratanteRepo.validarDadosUnicos()).thenReturn(dadosContratante);
+        when(filtroIdentificadores.talvezContenha(any(), any())).thenReturn(true);
+        when(diretorioRepo.existsByEmail("john.doe@example.com")).thenReturn(true);
+        when(freelancerRepo.existsByTelefone("11987654321")).thenReturn(true);
+        when(freelancerRepo.existsByCpf("11012753085")).thenReturn(true);
 
         var response = assertThrows(ResponseStatusException.class, () -> service.cadastrarFreelancer(data));
 
-        verify(freelancerRepo, times(1)).validarDadosUnicos();
-        verify(contratanteRepo, times(1)).validarDadosUnicos();
         verify(freelancerRepo, times(0)).save(any(Freelancer.class));
 
         assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
@@ -115,42 +133,58 @@ public class FreelancerServiceTest {
     @Test
     @DisplayName("Mostrar freelancers com lista populada")
     void mostrarFreelancersListaPopulada() {
-        Freelancer freelancer1 = freelancerMock;
-        freelancer1.setId(1L);
-        freelancer1.setEspecialidades(Arrays.asList(new Especialidade("Java", freelancer1), new Especialidade("Spring", freelancer1)));
-        freelancer1.setSenioridade("Senior");
-        freelancer1.setValorHora(100.0);
-
-        Freelancer freelancer2 = freelancerMock;
-        freelancer2.setId(2L);
-        freelancer2.setNome("Freelancer 2");
-        freelancer2.setFuncao(Funcao.WEB_DESIGNER);
-        freelancer2.setEspecialidades(Arrays.asList(new Especialidade("Photoshop", freelancer2), new Especialidade("Illustrator", freelancer2)));
-        freelancer2.setSenioridade("Junior");
-        freelancer2.setValorHora(80.0);
+        FreelancerResumoDTO freelancer1 = new FreelancerResumoDTO(1L, "John Doe", "a1b2", Funcao.DESENVOLVEDOR_BACKEND,
+                "Senior", 100.0, 4.5, "Lorem ipsum", "11987654321");
+        FreelancerResumoDTO freelancer2 = new FreelancerResumoDTO(2L, "Freelancer 2", null, Funcao.WEB_DESIGNER,
+                "Junior", 80.0, null, "Lorem ipsum", "11987654322");
+
+        when(freelancerRepo.listarAtivosAposId(eq(0L), any(Pageable.class)))
+                .thenReturn(Arrays.asList(freelancer1, freelancer2));
+        when(especialidadeRepo.listarPorFreelancers(anyCollection())).thenReturn(Arrays.asList(
+                new EspecialidadeFreelancerDTO(1L, "Java"),
+                new EspecialidadeFreelancerDTO(1L, "Spring"),
+                new EspecialidadeFreelancerDTO(2L, "Photoshop")));
+
+        var response = service.getFreelancers(null, null);
+
+        verify(freelancerRepo, times(1)).listarAtivosAposId(eq(0L), any(Pageable.class));
+        verify(especialidadeRepo, times(1)).listarPorFreelancers(anyCollection());
+        assertNotNull(response);
+        assertEquals(2, response.conteudo().size());
+        assertEquals(2, response.conteudo().get(0).especialidades().size());
+        assertEquals("/freelancers/foto/1?tamanho=256&v=a1b2", response.conteudo().get(0).urlImagem());
+        assertNull(response.conteudo().get(1).urlImagem());
+        assertNull(response.proximoCursor());
+    }
 
-        List<Freelancer> freelancers = Arrays.asList(freelancer1, freelancer2);
+    @Test
+    @DisplayName("Mostrar freelancers com próxima página")
+    void mostrarFreelancersComProximaPagina() {
+        FreelancerResumoDTO freelancer1 = new FreelancerResumoDTO(5L, "John Doe", null, Funcao.DESENVOLVEDOR_BACKEND,
+                "Senior", 100.0, null, "Lorem ipsum", "11987654321");
+        FreelancerResumoDTO freelancer2 = new FreelancerResumoDTO(7L, "Freelancer 2", null, Funcao.WEB_DESIGNER,
+                "Junior", 80.0, null, "Lorem ipsum", "11987654322");
 
-        when(freelancerRepo.findAllByAtivoTrue()).thenReturn(freelancers);
+        when(freelancerRepo.listarAtivosAposId(eq(3L), any(Pageable.class)))
+                .thenReturn(Arrays.asList(freelancer1, freelancer2));
 
-        var response = service.getFreelancers();
+        var response = service.getFreelancers(3L, 1);
 
-        verify(freelancerRepo, times(1)).findAllByAtivoTrue();
-        assertNotNull(response);
-        assertEquals(2, response.size());
+        assertEquals(1, response.conteudo().size());
+        assertEquals("5", response.proximoCursor());
     }
 
     @Test
     @DisplayName("Mostrar freelancers com lista vazia")
     void mostrarFreelancersListaVazia() {
-        List<Freelancer> freelancers = new ArrayList<>();
-        when(freelancerRepo.findAllByAtivoTrue()).thenReturn(freelancers);
+        when(freelancerRepo.listarAtivosAposId(eq(0L), any(Pageable.class))).thenReturn(new ArrayList<>());
 
-        var response = service.getFreelancers();
+        var response = service.getFreelancers(null, null);
 
-        verify(freelancerRepo, times(1)).findAllByAtivoTrue();
+        verify(freelancerRepo, times(1)).listarAtivosAposId(eq(0L), any(Pageable.class));
+        verify(especialidadeRepo, times(0)).listarPorFreelancers(anyCollection());
         assertNotNull(response);
-        assertEquals(0, response.size());
+        assertEquals(0, response.conteudo().size());
     }
 
     @Test
@@ -0,0 +1,161 @@
+package com.devhub.api.service;
+
+import com.devhub.api.domain.contratante.ContratanteRepository;
+import com.devhub.api.domain.freelancer.FreelancerRepository;
+import com.devhub.api.domain.importacao.FormatoImportacao;
+import com.devhub.api.domain.importacao.RelatorioImportacaoDTO;
+import com.devhub.api.domain.importacao.ResultadoLinhaImportacaoDTO;
+import com.devhub.api.domain.usuario.UsuarioDiretorioRepository;
+import com.devhub.api.infra.busca.IndiceBuscaFreelancer;
+import com.devhub.api.infra.cadastro.FiltroIdentificadores;
+import com.devhub.api.infra.importacao.LeitorImportacao;
+import com.devhub.api.infra.security.HashSenhas;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ImportacaoUsuarioServiceTest {
+
+    private ImportacaoUsuarioService service;
+    private ContratanteRepository contratanteRepository;
+    private UsuarioDiretorioRepository diretorioRepository;
+    private HashSenhas hashSenhas;
+    private FiltroIdentificadores filtroIdentificadores;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        var leitor = new LeitorImportacao();
+        ReflectionTestUtils.setField(leitor, "objectMapper",
+                new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES));
+        ReflectionTestUtils.setField(leitor, "validator", Validation.buildDefaultValidatorFactory().getValidator());
+
+        contratanteRepository = mock(ContratanteRepository.class);
+        diretorioRepository = mock(UsuarioDiretorioRepository.class);
+        hashSenhas = mock(HashSenhas.class);
+        filtroIdentificadores = mock(FiltroIdentificadores.class);
+        jdbcTemplate = mock(JdbcTemplate.class);
+        var transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(filtroIdentificadores.talvezContenha(any(), any())).thenReturn(true);
+        when(hashSenhas.encodeTodos(anyList())).thenAnswer(i -> ((List<?>) i.getArgument(0)).stream()
+                .map(senha -> "hash-" + senha).toList());
+
+        service = new ImportacaoUsuarioService();
+        ReflectionTestUtils.setField(service, "tamanhoLote", 1000);
+        ReflectionTestUtils.setField(service, "leitor", leitor);
+        ReflectionTestUtils.setField(service, "freelancerRepository", mock(FreelancerRepository.class));
+        ReflectionTestUtils.setField(service, "contratanteRepository", contratanteRepository);
+        ReflectionTestUtils.setField(service, "diretorioRepository", diretorioRepository);
+        ReflectionTestUtils.setField(service, "hashSenhas", hashSenhas);
+        ReflectionTestUtils.setField(service, "filtroIdentificadores", filtroIdentificadores);
+        ReflectionTestUtils.setField(service, "indiceBusca", mock(IndiceBuscaFreelancer.class));
+        ReflectionTestUtils.setField(service, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(service, "transacao", new TransactionTemplate(transactionManager));
+    }
+
+    @Test
+    @DisplayName("Rejeitar repetidos no arquivo e já cadastrados no banco, gravando o resto num único batch")
+    void importarComConflitos() throws IOException {
+        when(contratanteRepository.listarTelefonesExistentes(anyCollection())).thenReturn(List.of("11900000003"));
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn(List.of(10L, 11L));
+
+        var relatorio = importar(
+                contratante("A", "11222333000181", "11900000001", "a@example.com"),
+                contratante("B", "11444777000161", "11900000002", "A@example.com"),
+                contratante("C", "60701190000104", "11900000003", "c@example.com"),
+                contratante("D", "33000167000101", "11900000004", "d@example.com"));
+
+        assertEquals(4, relatorio.total());
+        assertEquals(2, relatorio.importados());
+        assertEquals(ResultadoLinhaImportacaoDTO.importado(1, 10L), relatorio.linhas().get(0));
+        assertEquals("Dados repetidos no arquivo: E-mail", relatorio.linhas().get(1).erro());
+        assertEquals("Dados já cadastrados: Telefone", relatorio.linhas().get(2).erro());
+        assertEquals(ResultadoLinhaImportacaoDTO.importado(4, 11L), relatorio.linhas().get(3));
+        verify(jdbcTemplate, times(1)).execute(any(ConnectionCallback.class));
+        verify(filtroIdentificadores).adicionar(eq("d@example.com"), any(), eq("33000167000101"));
+    }
+
+    @Test
+    @DisplayName("Lote que viola restrição do banco é refeito linha a linha com a causa de cada rejeição")
+    void refazerLinhaALinha() throws IOException {
+        when(jdbcTemplate.execute(any(ConnectionCallback.class)))
+                .thenThrow(violacao("Duplicate entry 'b@example.com' for key 'usuario_diretorio.uk_usuario_diretorio_email'", "23000", 1062))
+                .thenReturn(List.of(20L))
+                .thenThrow(violacao("Duplicate entry 'b@example.com' for key 'usuario_diretorio.uk_usuario_diretorio_email'", "23000", 1062))
+                .thenThrow(violacao("Data truncation: Data too long for column 'nome' at row 1", "22001", 1406));
+
+        var relatorio = importar(
+                contratante("A", "11222333000181", "11900000001", "a@example.com"),
+                contratante("B", "11444777000161", "11900000002", "b@example.com"),
+                contratante("C".repeat(90), "60701190000104", "11900000003", "c@example.com"));
+
+        assertEquals(1, relatorio.importados());
+        assertEquals(ResultadoLinhaImportacaoDTO.importado(1, 20L), relatorio.linhas().get(0));
+        assertEquals("Dados já cadastrados: E-mail", relatorio.linhas().get(1).erro());
+        assertEquals("nome: valor maior que o permitido", relatorio.linhas().get(2).erro());
+    }
+
+    @Test
+    @DisplayName("Outras falhas rejeitam só o lote em que ocorreram e o relatório ainda volta")
+    void falhaNoLote() throws IOException {
+        ReflectionTestUtils.setField(service, "tamanhoLote", 1);
+        when(hashSenhas.encodeTodos(anyList()))
+                .thenThrow(new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Servidor ocupado"))
+                .thenReturn(List.of("hash"));
+        when(jdbcTemplate.execute(any(ConnectionCallback.class)))
+                .thenThrow(new IllegalStateException("Esperados 1 ids gerados, recebidos 0"))
+                .thenReturn(List.of(30L));
+
+        var relatorio = importar(
+                contratante("A", "11222333000181", "11900000001", "a@example.com"),
+                contratante("B", "11444777000161", "11900000002", "b@example.com"),
+                contratante("C", "60701190000104", "11900000003", "c@example.com"));
+
+        assertEquals(3, relatorio.total());
+        assertEquals("Falha ao gravar: Servidor ocupado", relatorio.linhas().get(0).erro());
+        assertEquals("Falha ao gravar: Esperados 1 ids gerados, recebidos 0", relatorio.linhas().get(1).erro());
+        assertEquals(ResultadoLinhaImportacaoDTO.importado(3, 30L), relatorio.linhas().get(2));
+    }
+
+    private RelatorioImportacaoDTO importar(String... linhas) throws IOException {
+        var ndjson = String.join("\n", linhas);
+        return service.importarContratantes(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)),
+                FormatoImportacao.NDJSON);
+    }
+
+    private static String contratante(String nome, String cnpj, String telefone, String email) {
+        return """
+                {"nome":"%s","cnpj":"%s","telefone":"%s","email":"%s","senha":"123"}""".formatted(nome, cnpj, telefone, email);
+    }
+
+    private static DataIntegrityViolationException violacao(String mensagem, String estado, int codigo) {
+        var causa = codigo == 1406
+                ? new SQLException(mensagem, estado, codigo)
+                : new SQLIntegrityConstraintViolationException(mensagem, estado, codigo);
+        return new DataIntegrityViolationException("could not execute statement", causa);
+    }
+}
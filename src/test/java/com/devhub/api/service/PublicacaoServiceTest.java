@@ -0,0 +1,205 @@
+package com.devhub.api.service;
+
+import com.devhub.api.domain.contratante.ContratanteRepository;
+import com.devhub.api.domain.freelancer.Freelancer;
+import com.devhub.api.domain.freelancer.FreelancerRepository;
+import com.devhub.api.domain.publicacao.CursorPublicacao;
+import com.devhub.api.domain.publicacao.Publicacao;
+import com.devhub.api.domain.publicacao.PublicacaoRepository;
+import com.devhub.api.domain.publicacao.dto.ListaPublicacaoDTO;
+import com.devhub.api.domain.publicacao.dto.PublicacaoResumoDTO;
+import com.devhub.api.domain.usuario.UserRole;
+import com.devhub.api.infra.feed.FeedRecente;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class PublicacaoServiceTest {
+
+    private static final LocalDateTime AGORA = LocalDateTime.of(2024, 5, 1, 10, 0);
+
+    private PublicacaoService service;
+    private PublicacaoRepository repository;
+    private FeedRecente feedRecente;
+    private FreelancerRepository freelancerRepository;
+    private ContratanteRepository contratanteRepository;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(PublicacaoRepository.class);
+        feedRecente = mock(FeedRecente.class);
+        // sem carga a memória não cobre nada e a leitura vai ao banco
+        when(feedRecente.recentes(anyInt())).thenReturn(null);
+        freelancerRepository = mock(FreelancerRepository.class);
+        contratanteRepository = mock(ContratanteRepository.class);
+        service = new PublicacaoService(repository);
+        ReflectionTestUtils.setField(service, "feedRecente", feedRecente);
+        ReflectionTestUtils.setField(service, "freelancerRepository", freelancerRepository);
+        ReflectionTestUtils.setField(service, "contratanteRepository", contratanteRepository);
+    }
+
+    @Test
+    @DisplayName("Codificar e decodificar o cursor sem perder a posição")
+    void cursorIdaEVolta() {
+        var comNanos = new CursorPublicacao(LocalDateTime.of(2024, 5, 1, 10, 0, 0, 123_000_000), 42L);
+        var semSegundos = new CursorPublicacao(AGORA, 7L);
+
+        assertEquals(comNanos, CursorPublicacao.decodificar(comNanos.codificar()));
+        assertEquals(semSegundos, CursorPublicacao.decodificar(semSegundos.codificar()));
+        assertNull(CursorPublicacao.decodificar(null));
+        assertNull(CursorPublicacao.decodificar(" "));
+    }
+
+    @Test
+    @DisplayName("Responder 400 para cursor malformado")
+    void cursorMalformado() {
+        for (String cursor : List.of("abc", "2024-05-01T10:00_x", "2024-13-01T10:00_1", "_1")) {
+            var erro = assertThrows(ResponseStatusException.class, () -> service.mostrarPublicacoes(cursor, null));
+            assertEquals(HttpStatus.BAD_REQUEST, erro.getStatusCode(), cursor);
+        }
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("Usar 20 quando o tamanho falta ou é inválido e limitar a 100, sempre pedindo uma linha a mais")
+    void limitarTamanho() {
+        service.mostrarPublicacoes(null, null);
+        service.mostrarPublicacoes(null, 0);
+        service.mostrarPublicacoes(null, 500);
+        service.mostrarPublicacoes(null, 5);
+
+        verify(repository, times(2)).listarFeed(PageRequest.of(0, 21));
+        verify(repository).listarFeed(PageRequest.of(0, 101));
+        verify(repository).listarFeed(PageRequest.of(0, 6));
+        verify(feedRecente, times(2)).recentes(21);
+    }
+
+    @Test
+    @DisplayName("Percorrer primeira, próxima e última página pelo keyset")
+    void percorrerPaginas() {
+        when(repository.listarFeed(PageRequest.of(0, 3))).thenReturn(resumos(9, 8, 7));
+
+        var primeira = service.mostrarPublicacoes(null, 2);
+
+        // a linha extra só indica que há mais; não vai na resposta
+        assertEquals(List.of(9L, 8L), ids(primeira.conteudo()));
+        var cursor = CursorPublicacao.decodificar(primeira.proximoCursor());
+        assertEquals(new CursorPublicacao(AGORA.minusMinutes(8), 8L), cursor);
+
+        when(repository.listarFeedAntesDe(cursor.createdAt(), cursor.id(), PageRequest.of(0, 3)))
+                .thenReturn(resumos(7, 6, 5));
+        var segunda = service.mostrarPublicacoes(primeira.proximoCursor(), 2);
+        assertEquals(List.of(7L, 6L), ids(segunda.conteudo()));
+        assertNotNull(segunda.proximoCursor());
+
+        var posicao = CursorPublicacao.decodificar(segunda.proximoCursor());
+        when(repository.listarFeedAntesDe(posicao.createdAt(), posicao.id(), PageRequest.of(0, 3)))
+                .thenReturn(resumos(5));
+        var ultima = service.mostrarPublicacoes(segunda.proximoCursor(), 2);
+        assertEquals(List.of(5L), ids(ultima.conteudo()));
+        assertNull(ultima.proximoCursor());
+        // com cursor a memória não é consultada
+        verify(feedRecente, times(1)).recentes(anyInt());
+    }
+
+    @Test
+    @DisplayName("Servir a primeira página da memória sem ir ao banco")
+    void primeiraPaginaDaMemoria() {
+        var emMemoria = resumos(9, 8, 7).stream().map(ListaPublicacaoDTO::new).toList();
+        when(feedRecente.recentes(3)).thenReturn(emMemoria);
+
+        var pagina = service.mostrarPublicacoes(null, 2);
+
+        assertEquals(List.of(9L, 8L), ids(pagina.conteudo()));
+        assertEquals(new CursorPublicacao(AGORA.minusMinutes(8), 8L).codificar(), pagina.proximoCursor());
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("Responder 400 para role desconhecida sem repetir o valor recebido")
+    void roleDesconhecida() {
+        for (String role : List.of("admin", "<script>", "")) {
+            var erro = assertThrows(ResponseStatusException.class,
+                    () -> service.mostrarPublicacoesDoAutor(role, 7L, null, null));
+            assertEquals(HttpStatus.BAD_REQUEST, erro.getStatusCode());
+            assertEquals("Role inválida", erro.getReason());
+        }
+        verifyNoInteractions(repository, freelancerRepository, contratanteRepository);
+    }
+
+    @Test
+    @DisplayName("Responder 404 quando o autor não existe, com a role já normalizada")
+    void autorDesconhecido() {
+        when(contratanteRepository.findById(7L)).thenReturn(Optional.empty());
+
+        var erro = assertThrows(ResponseStatusException.class,
+                () -> service.mostrarPublicacoesDoAutor("ContraTante", 7L, null, null));
+
+        assertEquals(HttpStatus.NOT_FOUND, erro.getStatusCode());
+        assertEquals("Não foi possível encontrar um contratante com ID: 7", erro.getReason());
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("Paginar a linha do tempo do autor com o keyset por autor")
+    void paginarDoAutor() {
+        var freelancer = new Freelancer();
+        freelancer.setId(7L);
+        freelancer.setNome("John Doe");
+        freelancer.setRole(UserRole.FREELANCER);
+        when(freelancerRepository.findById(7L)).thenReturn(Optional.of(freelancer));
+        when(repository.listarDoAutor("FREELANCER", 7L, PageRequest.of(0, 3))).thenReturn(publicacoes(1, 2, 3));
+
+        var primeira = service.mostrarPublicacoesDoAutor("freelancer", 7L, null, 2);
+
+        assertEquals(List.of(1L, 2L), ids(primeira.conteudo()));
+        assertEquals("John Doe", primeira.conteudo().get(0).nome());
+        var cursor = CursorPublicacao.decodificar(primeira.proximoCursor());
+        assertEquals(new CursorPublicacao(AGORA.minusMinutes(2), 2L), cursor);
+
+        when(repository.listarDoAutorAntesDe("FREELANCER", 7L, cursor.createdAt(), cursor.id(), PageRequest.of(0, 3)))
+                .thenReturn(publicacoes(3));
+        var ultima = service.mostrarPublicacoesDoAutor("FREELANCER", 7L, primeira.proximoCursor(), 2);
+
+        assertEquals(List.of(3L), ids(ultima.conteudo()));
+        assertNull(ultima.proximoCursor());
+        verifyNoInteractions(feedRecente);
+    }
+
+    private static List<Publicacao> publicacoes(long... ids) {
+        return LongStream.of(ids).mapToObj(id -> {
+            var publicacao = new Publicacao();
+            publicacao.setId(id);
+            publicacao.setDescricao("Publicação " + id);
+            publicacao.setRole("FREELANCER");
+            publicacao.setId_usuario(7L);
+            publicacao.setCreatedAt(AGORA.minusMinutes(id));
+            return publicacao;
+        }).toList();
+    }
+
+    // cada publicação i foi criada i minutos antes de AGORA, então ids maiores são mais antigos aqui
+    private static List<PublicacaoResumoDTO> resumos(long... ids) {
+        return LongStream.of(ids)
+                .mapToObj(id -> new PublicacaoResumoDTO(id, "Autor", null, "Publicação " + id, 7L,
+                        AGORA.minusMinutes(id), "FREELANCER"))
+                .toList();
+    }
+
+    private static List<Long> ids(List<ListaPublicacaoDTO> publicacoes) {
+        return publicacoes.stream().map(ListaPublicacaoDTO::id).toList();
+    }
+}
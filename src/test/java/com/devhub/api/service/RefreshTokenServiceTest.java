@@ -0,0 +1,103 @@
+package com.devhub.api.service;
+
+import com.devhub.api.domain.contratante.ContratanteRepository;
+import com.devhub.api.domain.freelancer.Freelancer;
+import com.devhub.api.domain.freelancer.FreelancerRepository;
+import com.devhub.api.domain.freelancer.dto.CreateFreelancerDTO;
+import com.devhub.api.domain.funcao.Funcao;
+import com.devhub.api.domain.usuario.RefreshToken;
+import com.devhub.api.domain.usuario.RefreshTokenRepository;
+import com.devhub.api.domain.usuario.UserRole;
+import com.devhub.api.infra.security.TokenService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RefreshTokenServiceTest {
+
+    private RefreshTokenService service;
+    private RefreshTokenRepository repository;
+    private FreelancerRepository freelancerRepository;
+    private TokenService tokenService;
+    private Freelancer freelancer;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(RefreshTokenRepository.class);
+        freelancerRepository = mock(FreelancerRepository.class);
+        tokenService = mock(TokenService.class);
+        service = new RefreshTokenService();
+        ReflectionTestUtils.setField(service, "repository", repository);
+        ReflectionTestUtils.setField(service, "freelancerRepository", freelancerRepository);
+        ReflectionTestUtils.setField(service, "contratanteRepository", mock(ContratanteRepository.class));
+        ReflectionTestUtils.setField(service, "tokenService", tokenService);
+        ReflectionTestUtils.setField(service, "validade", Duration.ofDays(30));
+
+        freelancer = new Freelancer(new CreateFreelancerDTO("John Doe", "11012753085", "11987654321",
+                "john.doe@example.com", "123456", Funcao.DESENVOLVEDOR_BACKEND, 100.0, "Lorem ipsum", "Senior"));
+        ReflectionTestUtils.setField(freelancer, "id", 7L);
+    }
+
+    @Test
+    @DisplayName("Guardar só o hash do refresh token emitido")
+    void emitirGuardandoHash() {
+        var token = service.emitir(freelancer);
+
+        var salvo = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(repository).save(salvo.capture());
+        assertEquals(RefreshTokenService.hash(token), salvo.getValue().getTokenHash());
+        assertNotEquals(token, salvo.getValue().getTokenHash());
+        assertEquals(7L, salvo.getValue().getIdUsuario());
+    }
+
+    @Test
+    @DisplayName("Trocar o refresh token por um novo na mesma família")
+    void renovarComRotacao() {
+        var atual = salvo("familia", null);
+        when(repository.findByTokenHash(RefreshTokenService.hash("abc"))).thenReturn(atual);
+        when(repository.marcarUsado(eq(1L), any())).thenReturn(1);
+        when(freelancerRepository.findById(7L)).thenReturn(Optional.of(freelancer));
+        when(tokenService.gerarToken(freelancer)).thenReturn("jwt");
+
+        var renovado = service.renovar("abc");
+
+        assertEquals("jwt", renovado.token());
+        assertNotEquals("abc", renovado.refreshToken());
+        var novo = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(repository).save(novo.capture());
+        assertEquals("familia", novo.getValue().getFamilia());
+        verify(repository, never()).removerFamilia(any());
+    }
+
+    @Test
+    @DisplayName("Derrubar a família inteira quando um refresh token usado volta")
+    void detectarReuso() {
+        when(repository.findByTokenHash(RefreshTokenService.hash("abc")))
+                .thenReturn(salvo("familia", LocalDateTime.now().minusMinutes(1)));
+
+        var erro = assertThrows(ResponseStatusException.class, () -> service.renovar("abc"));
+
+        assertEquals(HttpStatus.UNAUTHORIZED, erro.getStatusCode());
+        verify(repository).removerFamilia("familia");
+        verify(tokenService, never()).gerarToken(any());
+    }
+
+    private static RefreshToken salvo(String familia, LocalDateTime usadoEm) {
+        var token = new RefreshToken("hash", familia, 7L, UserRole.FREELANCER, LocalDateTime.now().plusDays(1));
+        ReflectionTestUtils.setField(token, "id", 1L);
+        ReflectionTestUtils.setField(token, "usadoEm", usadoEm);
+        return token;
+    }
+}